@@ -94,6 +94,7 @@ public class ClientApp extends Application {
         System.out.println("\n📋 Before starting the client:");
         System.out.println("  1. Start the server first: Run ServerMain");
         System.out.println("  2. Make sure RMI registry is running on port 1099");
+        System.out.println("     (or start both with -Dbank.transport=nio to use the NIO transport on port 1100)");
         System.out.println("─────────────────────────────────────");
     }
 
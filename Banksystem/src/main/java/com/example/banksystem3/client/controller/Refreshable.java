@@ -0,0 +1,9 @@
+package com.example.banksystem3.client.controller;
+
+/**
+ * A controller whose view {@link com.example.banksystem3.client.utils.ViewManager} keeps (or
+ * preloads) and shows again; {@link #refresh()} is called each time the kept view is shown.
+ */
+public interface Refreshable {
+    void refresh();
+}
@@ -1,14 +1,13 @@
 package com.example.banksystem3.client.controller.admin;
 
 import com.example.banksystem3.client.controller.Navigable;
+import com.example.banksystem3.client.rmi.AsyncBankService;
 import com.example.banksystem3.client.rmi.RMIClient;
 import com.example.banksystem3.client.session.SessionManager;
 import com.example.banksystem3.client.utils.AlertUtil;
 import com.example.banksystem3.client.utils.ViewManager;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
-import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Label;
 import javafx.scene.layout.StackPane;
@@ -21,6 +20,7 @@ import java.util.logging.Logger;
 
 public class AdminDashboardController implements Initializable {
     private static final Logger logger = Logger.getLogger(AdminDashboardController.class.getName());
+    private final AsyncBankService sessionCalls = new AsyncBankService(); // never cancelled
 
     @FXML private Label welcomeLabel;
     @FXML private StackPane contentPane;
@@ -29,10 +29,6 @@ public class AdminDashboardController implements Initializable {
     public void initialize(URL location, ResourceBundle resources) {
         logger.info("AdminDashboardController initialized.");
 
-        if (!RMIClient.getInstance().isConnected()) {
-            AlertUtil.showError("Connection Error", "Failed to connect to RMI server.");
-        }
-
         String username = SessionManager.getInstance().getUsername();
         if (username != null && !username.isEmpty()) {
             welcomeLabel.setText("Welcome, Admin " + username + "!");
@@ -40,13 +36,19 @@ public class AdminDashboardController implements Initializable {
             welcomeLabel.setText("Welcome, Administrator!");
         }
 
+        // This view may be preloaded off the FX thread, so alerts and the default view wait until shown
+        ViewManager.runWhenShown(contentPane, this::showInitialView);
+    }
+
+    private void showInitialView() {
+        if (!RMIClient.getInstance().isConnected()) {
+            AlertUtil.showError("Connection Error", "Failed to connect to RMI server.");
+        }
         try {
             loadDefaultDashboard();
         } catch (IOException e) {
             logger.log(Level.SEVERE, "Failed to load initial dashboard view", e);
-            javafx.application.Platform.runLater(() -> 
-                AlertUtil.showError("Dashboard Load Error", "Failed to load initial dashboard view: " + e.getMessage())
-            );
+            AlertUtil.showError("Dashboard Load Error", "Failed to load initial dashboard view: " + e.getMessage());
         }
     }
 
@@ -113,11 +115,22 @@ public class AdminDashboardController implements Initializable {
     @FXML
     private void handleLogout() {
         if (AlertUtil.showConfirmation("Logout", "Are you sure you want to logout?")) {
+            closeServerSession();
             SessionManager.getInstance().logout();
+            ViewManager.clearCache();
             navigateToLogin();
         }
     }
 
+    // Ends the token on the server too, rather than leaving it to expire after the idle timeout
+    private void closeServerSession() {
+        String token = SessionManager.getInstance().getSessionToken();
+        if (token != null) {
+            sessionCalls.submit(service -> service.closeSession(token), closed -> { },
+                    e -> logger.log(Level.WARNING, "Failed to close the server session", e));
+        }
+    }
+
     @FXML
     private void handleExit() {
         if (AlertUtil.showConfirmation("Exit", "Are you sure you want to exit?")) {
@@ -141,18 +154,13 @@ public class AdminDashboardController implements Initializable {
 
     private void loadView(String fxmlPath) throws IOException {
         try {
-            URL fxmlUrl = getClass().getResource(fxmlPath);
-            if (fxmlUrl == null) {
-                throw new IOException("Cannot find FXML file at path: " + fxmlPath);
-            }
-            FXMLLoader loader = new FXMLLoader(fxmlUrl);
-            Parent view = loader.load();
+            ViewManager.LoadedView view = ViewManager.getView(fxmlPath);
 
-            if (loader.getController() instanceof Navigable) {
-                ((Navigable) loader.getController()).setParentController(this);
+            if (view.getController() instanceof Navigable) {
+                ((Navigable) view.getController()).setParentController(this);
             }
 
-            contentPane.getChildren().setAll(view);
+            contentPane.getChildren().setAll(view.getRoot());
             logger.info("Successfully loaded view: " + fxmlPath);
 
         } catch (IOException e) {
@@ -0,0 +1,205 @@
+package com.example.banksystem3.client.controller.admin;
+
+import com.example.banksystem3.client.controller.Navigable;
+import com.example.banksystem3.client.rmi.AsyncBankService;
+import com.example.banksystem3.shared.Account;
+import com.example.banksystem3.shared.BankService;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.event.ActionEvent;
+import javafx.fxml.FXML;
+import javafx.scene.control.Alert;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableRow;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TextField;
+import javafx.scene.control.cell.PropertyValueFactory;
+
+public class ManageAccountController implements Navigable {
+
+    private static final int PAGE_SIZE = 100;
+
+    @FXML private TableView<Account> accountTable;
+    @FXML private TableColumn<Account, String> colAccountNumber;
+    @FXML private TableColumn<Account, String> colAccountType;
+    @FXML private TableColumn<Account, Double> colBalance;
+    @FXML private TableColumn<Account, String> colStatus;
+
+    @FXML private TextField accountNumberField;
+    @FXML private TextField accountTypeField;
+    @FXML private TextField balanceField;
+    @FXML private TextField statusField;
+
+    private final ObservableList<Account> accountList = FXCollections.observableArrayList();
+    private final AsyncBankService calls = new AsyncBankService();
+    // Updates and closures are never cancelled, so their outcome is reported after the view is left
+    private final AsyncBankService updates = new AsyncBankService();
+    private String nextCursor;
+    private boolean loadingPage;
+    private AdminDashboardController parentController;
+
+    public void initialize() {
+        setupTableColumns();
+        calls.cancelOnDetach(accountTable);
+        loadAccounts();
+
+        accountTable.getSelectionModel().selectedItemProperty().addListener((obs, oldSelection, newSelection) -> {
+            if (newSelection != null) {
+                populateAccountDetails(newSelection);
+            } else {
+                clearForm();
+            }
+        });
+    }
+
+    private void setupTableColumns() {
+        colAccountNumber.setCellValueFactory(new PropertyValueFactory<>("accountNumber"));
+        colAccountType.setCellValueFactory(new PropertyValueFactory<>("type"));
+        colBalance.setCellValueFactory(new PropertyValueFactory<>("balance"));
+        colStatus.setCellValueFactory(new PropertyValueFactory<>("status"));
+
+        // Rows arrive a page at a time as the table is scrolled, so sorting would only order the
+        // pages fetched so far
+        for (TableColumn<Account, ?> column : accountTable.getColumns()) {
+            column.setSortable(false);
+        }
+        accountTable.setRowFactory(table -> new TableRow<>() {
+            @Override
+            protected void updateItem(Account account, boolean empty) {
+                super.updateItem(account, empty);
+                if (!empty && getIndex() == accountList.size() - 1) {
+                    loadNextPage();
+                }
+            }
+        });
+        accountTable.setItems(accountList);
+    }
+
+    // Only the first page; the rest follow from loadNextPage as the last row comes into view
+    private void loadAccounts() {
+        calls.cancelAll(); // pages of the listing shown before are no longer wanted
+        accountList.clear();
+        nextCursor = null;
+        loadingPage = false;
+        loadPage(null);
+    }
+
+    private void loadNextPage() {
+        if (nextCursor != null && !loadingPage) {
+            loadPage(nextCursor);
+        }
+    }
+
+    private void loadPage(String cursor) {
+        loadingPage = true;
+        calls.submit(service -> service.getAccountsPage(null, null, cursor, PAGE_SIZE),
+                page -> {
+                    loadingPage = false;
+                    nextCursor = page.getNextCursor();
+                    accountList.addAll(page.getItems());
+                },
+                e -> {
+                    loadingPage = false;
+                    showError("Failed to load accounts: " + e.getMessage());
+                });
+    }
+
+    @FXML
+    private void handleAddAccount() {
+        showError("Add Account functionality is not implemented in this view.");
+    }
+
+    @FXML
+    private void handleUpdateAccount() {
+        Account selectedAccount = accountTable.getSelectionModel().getSelectedItem();
+        if (selectedAccount == null) {
+            showError("Please select an account to update.");
+            return;
+        }
+
+        try {
+            selectedAccount.setType(Account.AccountType.valueOf(accountTypeField.getText()));
+            selectedAccount.setBalance(Double.parseDouble(balanceField.getText()));
+            selectedAccount.setStatus(statusField.getText());
+        } catch (Exception e) {
+            showError("Failed to update account: " + e.getMessage());
+            return;
+        }
+        updates.submit(service -> service.updateAccount(selectedAccount),
+                updated -> loadAccounts(),
+                e -> showError("Failed to update account: " + e.getMessage()));
+    }
+
+    @FXML
+    private void handleCloseAccount() {
+        Account selectedAccount = accountTable.getSelectionModel().getSelectedItem();
+        if (selectedAccount == null) {
+            showError("Please select an account to close.");
+            return;
+        }
+
+        Alert confirmation = new Alert(Alert.AlertType.CONFIRMATION);
+        confirmation.setTitle("Confirm Account Closure");
+        confirmation.setHeaderText("Close Account #" + selectedAccount.getAccountNumber());
+        confirmation.setContentText("Are you sure you want to close this account?");
+        confirmation.showAndWait().ifPresent(response -> {
+            if (response == ButtonType.OK) {
+                updates.submit(service -> service.closeAccount(selectedAccount.getAccountId()),
+                        closed -> loadAccounts(),
+                        e -> showError("Failed to close account: " + e.getMessage()));
+            }
+        });
+    }
+
+    @FXML
+    private void handleDeleteAccount() {
+        handleCloseAccount();
+    }
+
+    private void populateAccountDetails(Account account) {
+        accountNumberField.setText(account.getAccountNumber());
+        accountTypeField.setText(account.getType().toString());
+        balanceField.setText(String.valueOf(account.getBalance()));
+        statusField.setText(account.getStatus());
+    }
+
+    private void clearForm() {
+        accountNumberField.clear();
+        accountTypeField.clear();
+        balanceField.clear();
+        statusField.clear();
+    }
+
+    private void showError(String message) {
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle("Error");
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
+
+    @Override
+    public void setParentController(AdminDashboardController parentController) {
+        this.parentController = parentController;
+    }
+
+    @FXML
+    private void handleBack() {
+        if (parentController != null) {
+            parentController.showDefaultDashboardView();
+        }
+    }
+
+    @FXML
+    private void handleRefresh(ActionEvent event) {
+        loadAccounts();
+    }
+
+    @FXML
+    private void handleGenerateAccountNumber(ActionEvent event) {
+        calls.submit(BankService::generateAccountNumber,
+                accountNumberField::setText,
+                e -> showError("Failed to generate account number: " + e.getMessage()));
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.banksystem3.client.controller.admin;
+
+import com.example.banksystem3.client.controller.Navigable;
+import com.example.banksystem3.client.rmi.AsyncBankService;
+import com.example.banksystem3.client.rmi.RMIClient;
+import com.example.banksystem3.client.utils.AlertUtil;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.fxml.FXML;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextArea;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class ViewLogsController implements Navigable {
+
+    private static final int PAGE_SIZE = 200;
+
+    @FXML private ListView<String> logsListView;
+    @FXML private TextArea logDetailsArea;
+    @FXML private ComboBox<String> logLevelCombo;
+    @FXML private Label totalLogsLabel;
+    @FXML private Label infoLogsLabel;
+    @FXML private Label warnLogsLabel;
+    @FXML private Label errorLogsLabel;
+
+    private ObservableList<String> logsList;
+    private final AsyncBankService calls = new AsyncBankService();
+    private String filter = "ALL";
+    private String nextCursor;
+    private boolean loadingPage;
+    private AdminDashboardController adminDashboardController;
+
+    @FXML
+    public void initialize() {
+        logsList = FXCollections.observableArrayList();
+        logsListView.setItems(logsList);
+        logsListView.setCellFactory(list -> new ListCell<>() {
+            @Override
+            protected void updateItem(String entry, boolean empty) {
+                super.updateItem(entry, empty);
+                setText(empty ? null : entry);
+                if (!empty && getIndex() == logsList.size() - 1) {
+                    loadNextPage();
+                }
+            }
+        });
+
+        if (!RMIClient.getInstance().isConnected()) {
+            AlertUtil.showError("Connection Error", "Cannot load logs. Not connected to server.");
+            return;
+        }
+
+        logLevelCombo.setItems(FXCollections.observableArrayList("ALL", "INFO", "WARN", "ERROR", "TRANSACTION"));
+        logLevelCombo.setValue("ALL");
+        logLevelCombo.valueProperty().addListener((obs, oldVal, newVal) -> filterLogs(newVal));
+
+        calls.cancelOnDetach(logsListView);
+        loadLogs(null);
+
+        logsListView.getSelectionModel().selectedItemProperty().addListener((obs, oldVal, newVal) -> {
+            if (newVal != null) {
+                logDetailsArea.setText(newVal);
+            }
+        });
+    }
+
+    // Fetches the newest page of the current filter; older pages follow from loadNextPage as the
+    // last entry comes into view. onLoaded runs once that first page is shown.
+    private void loadLogs(Runnable onLoaded) {
+        calls.cancelAll(); // pages of the listing shown before are no longer wanted
+        logsList.clear();
+        logDetailsArea.clear();
+        nextCursor = null;
+        loadingPage = false;
+        loadPage(null, onLoaded);
+    }
+
+    private void loadNextPage() {
+        if (nextCursor != null && !loadingPage) {
+            loadPage(nextCursor, null);
+        }
+    }
+
+    private void loadPage(String cursor, Runnable onLoaded) {
+        // Levels are filtered by the server; transactions are picked out here from each page
+        String level = filter.equals("ALL") || filter.equals("TRANSACTION") ? null : filter;
+        loadingPage = true;
+        calls.submit(service -> service.getSystemLogsPage(level, null, cursor, PAGE_SIZE),
+                page -> {
+                    loadingPage = false;
+                    nextCursor = page.getNextCursor();
+                    List<String> entries = page.getItems();
+                    if (filter.equals("TRANSACTION")) {
+                        entries = entries.stream()
+                                .filter(log -> log.contains("Deposit") || log.contains("Withdrawal") || log.contains("Transfer"))
+                                .collect(Collectors.toList());
+                    }
+                    boolean first = logsList.isEmpty();
+                    logsList.addAll(entries);
+                    updateStatistics(logsList);
+                    if (first && !logsList.isEmpty()) {
+                        logsListView.getSelectionModel().select(0);
+                        logDetailsArea.setText(logsList.get(0));
+                    }
+                    // No row was added to bring the last one into view, so keep going
+                    if (entries.isEmpty()) {
+                        loadNextPage();
+                    }
+                    if (onLoaded != null) {
+                        onLoaded.run();
+                    }
+                },
+                e -> {
+                    loadingPage = false;
+                    AlertUtil.showError("Error", "Failed to load logs: " + e.getMessage());
+                });
+    }
+
+    private void filterLogs(String level) {
+        filter = level != null ? level : "ALL";
+        loadLogs(null);
+    }
+
+    // Counts the entries fetched so far; "+" marks a total with older entries still on the server
+    private void updateStatistics(List<String> logs) {
+        long infoCount = logs.stream().filter(log -> log.contains("[INFO]")).count();
+        long warnCount = logs.stream().filter(log -> log.contains("[WARN]")).count();
+        long errorCount = logs.stream().filter(log -> log.contains("[ERROR]")).count();
+
+        if (totalLogsLabel != null) totalLogsLabel.setText(logs.size() + (nextCursor != null ? "+" : ""));
+        if (infoLogsLabel != null) infoLogsLabel.setText(String.valueOf(infoCount));
+        if (warnLogsLabel != null) warnLogsLabel.setText(String.valueOf(warnCount));
+        if (errorLogsLabel != null) errorLogsLabel.setText(String.valueOf(errorCount));
+    }
+
+    @FXML
+    private void handleRefresh() {
+        loadLogs(() -> AlertUtil.showInfo("Refreshed", "Logs refreshed successfully."));
+    }
+
+    @FXML
+    private void handleClearLogs() {
+        logDetailsArea.clear();
+    }
+
+    @FXML
+    private void handleBack() throws IOException {
+        if (adminDashboardController != null) {
+            adminDashboardController.showDefaultDashboardView();
+        }
+    }
+
+    @FXML
+    private void handleExport() {
+        AlertUtil.showInfo("Export", "Export feature coming soon!");
+    }
+
+    @Override
+    public void setParentController(AdminDashboardController adminDashboardController) {
+        this.adminDashboardController = adminDashboardController;
+    }
+}
@@ -1,19 +1,19 @@
 package com.example.banksystem3.client.controller.customer;
 
 import com.example.banksystem3.client.controller.Navigable;
-import com.example.banksystem3.client.rmi.RMIClient;
+import com.example.banksystem3.client.controller.Refreshable;
+import com.example.banksystem3.client.rmi.AccountCache;
+import com.example.banksystem3.client.rmi.AsyncBankService;
 import com.example.banksystem3.client.session.SessionManager;
 import com.example.banksystem3.client.utils.AlertUtil;
-import com.example.banksystem3.client.utils.ValidationUtil;
 import com.example.banksystem3.shared.Account;
+import com.example.banksystem3.shared.ValidationUtil;
 import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.util.StringConverter;
 
-import java.util.List;
-
-public class BillPaymentController implements Navigable {
+public class BillPaymentController implements Navigable, Refreshable {
 
     @FXML private ComboBox<Account> accountCombo;
     @FXML private ComboBox<String> billerCombo;
@@ -22,27 +22,29 @@ public class BillPaymentController implements Navigable {
     @FXML private Label referenceLabel;
 
     private CustomerDashboardController parentController;
+    private final AsyncBankService calls = new AsyncBankService();
+    private final AsyncBankService postings = new AsyncBankService(); // never cancelled, so the outcome is always shown
 
     @FXML
     public void initialize() {
         billerCombo.setItems(FXCollections.observableArrayList("Ethio Telecom", "EEU (Electric)", "AAWSA (Water)"));
         billerCombo.getSelectionModel().selectFirst();
+        calls.cancelOnDetach(accountCombo);
         loadAccounts();
     }
 
     private void loadAccounts() {
-        try {
-            String userId = SessionManager.getInstance().getCurrentUser().getUserId();
-            List<Account> accounts = RMIClient.getInstance().getBankService().getCustomerAccounts(userId);
-            accountCombo.setItems(FXCollections.observableArrayList(accounts));
-            accountCombo.setConverter(new StringConverter<Account>() {
-                @Override public String toString(Account a) { return a == null ? "" : a.getAccountNumber(); }
-                @Override public Account fromString(String s) { return null; }
-            });
-            if (!accounts.isEmpty()) accountCombo.getSelectionModel().selectFirst();
-        } catch (Exception e) {
-            AlertUtil.showError("Error", "Failed to load accounts.");
-        }
+        String userId = SessionManager.getInstance().getCurrentUser().getUserId();
+        accountCombo.setConverter(new StringConverter<Account>() {
+            @Override public String toString(Account a) { return a == null ? "" : a.getAccountNumber(); }
+            @Override public Account fromString(String s) { return null; }
+        });
+        calls.submit(service -> AccountCache.getInstance().getCustomerAccounts(userId),
+                accounts -> {
+                    accountCombo.setItems(FXCollections.observableArrayList(accounts));
+                    if (!accounts.isEmpty()) accountCombo.getSelectionModel().selectFirst();
+                },
+                e -> AlertUtil.showError("Error", "Failed to load accounts."));
     }
 
     @FXML
@@ -55,23 +57,26 @@ public class BillPaymentController implements Navigable {
             return;
         }
         double amount = Double.parseDouble(amountField.getText());
+        String biller = billerCombo.getValue();
+        String reference = referenceField.getText();
 
-        try {
-            boolean success = RMIClient.getInstance().getBankService().payBill(
-                    from.getAccountId(),
-                    billerCombo.getValue(),
-                    referenceField.getText(),
-                    amount
-            );
-            if (success) {
-                AlertUtil.showSuccess("Success", "Bill paid successfully.");
-                amountField.clear(); referenceField.clear();
-            } else {
-                AlertUtil.showError("Error", "Payment failed.");
-            }
-        } catch (Exception e) {
-            AlertUtil.showError("Error", "Payment error: " + e.getMessage());
-        }
+        postings.submit(service -> service.payBill(from.getAccountId(), biller, reference, amount),
+                success -> {
+                    if (success) {
+                        AccountCache.getInstance().invalidate(from.getAccountId());
+                        AlertUtil.showSuccess("Success", "Bill paid successfully.");
+                        amountField.clear(); referenceField.clear();
+                    } else {
+                        AlertUtil.showError("Error", "Payment failed.");
+                    }
+                },
+                e -> AlertUtil.showError("Error", "Payment error: " + e.getMessage()));
+    }
+
+    @Override
+    public void refresh() {
+        amountField.clear(); referenceField.clear();
+        loadAccounts();
     }
 
     @Override public void setParentController(Object controller) { this.parentController = (CustomerDashboardController) controller; }
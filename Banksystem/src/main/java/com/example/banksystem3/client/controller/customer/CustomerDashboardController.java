@@ -2,6 +2,8 @@ package com.example.banksystem3.client.controller.customer;
 
 import com.example.banksystem3.client.session.SessionManager;
 import com.example.banksystem3.client.utils.AlertUtil;
+import com.example.banksystem3.client.rmi.AccountCache;
+import com.example.banksystem3.client.rmi.AsyncBankService;
 import com.example.banksystem3.client.rmi.RMIClient;
 import com.example.banksystem3.client.utils.CurrencyUtil;
 import com.example.banksystem3.client.utils.ViewManager;
@@ -25,6 +27,7 @@ import javafx.stage.Modality;
 public class CustomerDashboardController {
 
     private static final Logger logger = Logger.getLogger(CustomerDashboardController.class.getName());
+    private final AsyncBankService sessionCalls = new AsyncBankService(); // never cancelled
 
     @FXML
     private Label welcomeLabel;
@@ -49,8 +52,8 @@ public class CustomerDashboardController {
 
         logger.info("CustomerDashboardController initialized.");
         
-        // Load default view (Balance/Home)
-        handleBalance();
+        // Load default view (Balance/Home) once shown; this view may be preloaded off the FX thread
+        ViewManager.runWhenShown(contentArea, this::handleBalance);
     }
 
     @FXML
@@ -76,16 +79,30 @@ public class CustomerDashboardController {
     @FXML
     private void handleLogout() {
         if (AlertUtil.showConfirmation("Logout", "Are you sure you want to logout?")) {
+            closeServerSession();
             SessionManager.getInstance().logout();
+            AccountCache.getInstance().clear();
+            ViewManager.clearCache();
             navigateToLogin();
         }
     }
 
+    // Ends the token on the server too, rather than leaving it to expire after the idle timeout
+    private void closeServerSession() {
+        String token = SessionManager.getInstance().getSessionToken();
+        if (token != null) {
+            sessionCalls.submit(service -> service.closeSession(token), closed -> { },
+                    e -> logger.log(Level.WARNING, "Failed to close the server session", e));
+        }
+    }
+
     private void loadView(String fxmlPath) {
         try {
-            Parent view = ViewManager.loadFXML(fxmlPath);
-            contentArea.getChildren().clear();
-            contentArea.getChildren().add(view);
+            Parent view = ViewManager.getView(fxmlPath).getRoot();
+            // Re-adding the view on display would detach it and cancel its refresh
+            if (!contentArea.getChildren().contains(view)) {
+                contentArea.getChildren().setAll(view);
+            }
         } catch (IOException e) {
             AlertUtil.showError("Navigation Error", "Could not load the requested view.");
             logger.log(Level.SEVERE, "Failed to load view: " + fxmlPath, e);
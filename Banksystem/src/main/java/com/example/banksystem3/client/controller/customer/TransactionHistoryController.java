@@ -0,0 +1,114 @@
+package com.example.banksystem3.client.controller.customer;
+
+import com.example.banksystem3.client.rmi.AccountCache;
+import com.example.banksystem3.client.rmi.AsyncBankService;
+import com.example.banksystem3.client.rmi.PagedTransactionList;
+import com.example.banksystem3.client.session.SessionManager;
+import com.example.banksystem3.client.utils.AlertUtil;
+import com.example.banksystem3.client.utils.CurrencyUtil;
+import com.example.banksystem3.shared.Account;
+import com.example.banksystem3.shared.Transaction;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.FXCollections;
+import javafx.fxml.FXML;
+import javafx.scene.control.*;
+import javafx.stage.Stage;
+import javafx.util.Callback;
+import javafx.util.StringConverter;
+
+import java.util.function.Function;
+
+public class TransactionHistoryController {
+
+    @FXML private ComboBox<Account> accountCombo;
+    @FXML private TableView<Transaction> transactionTable;
+    @FXML private TableColumn<Transaction, String> colDate;
+    @FXML private TableColumn<Transaction, String> colType;
+    @FXML private TableColumn<Transaction, String> colDescription;
+    @FXML private TableColumn<Transaction, String> colAmount;
+    @FXML private TableColumn<Transaction, String> colBalance;
+
+    private final AsyncBankService calls = new AsyncBankService();
+
+    @FXML
+    public void initialize() {
+        setupTable();
+        calls.cancelOnDetach(transactionTable);
+        loadAccounts();
+
+        accountCombo.getSelectionModel().selectedItemProperty().addListener((obs, oldVal, newVal) -> {
+            if (newVal != null) {
+                loadTransactions(newVal.getAccountId());
+            }
+        });
+    }
+
+    private void setupTable() {
+        colDate.setCellValueFactory(cell(Transaction::getFormattedTimestamp));
+        colType.setCellValueFactory(cell(t -> t.getType().getDisplayName()));
+        colDescription.setCellValueFactory(cell(Transaction::getDescription));
+        colAmount.setCellValueFactory(cell(t -> {
+            String sign = "";
+            switch (t.getType()) {
+                case DEPOSIT:
+                case TRANSFER_RECEIVED:
+                case INTEREST:
+                    sign = "+";
+                    break;
+                case WITHDRAWAL:
+                case TRANSFER_SENT:
+                    sign = "-";
+                    break;
+            }
+            return sign + CurrencyUtil.format(t.getAmount());
+        }));
+        colBalance.setCellValueFactory(cell(t -> CurrencyUtil.format(t.getBalanceAfter())));
+
+        // Rows are fetched page by page as they scroll into view, so the table cannot sort them
+        for (TableColumn<Transaction, ?> column : transactionTable.getColumns()) {
+            column.setSortable(false);
+        }
+        transactionTable.setPlaceholder(new Label("No transactions"));
+    }
+
+    // A row whose page has not arrived yet is null and shows blank
+    private static Callback<TableColumn.CellDataFeatures<Transaction, String>, ObservableValue<String>> cell(
+            Function<Transaction, String> text) {
+        return data -> new SimpleStringProperty(data.getValue() == null ? "" : text.apply(data.getValue()));
+    }
+
+    private void loadAccounts() {
+        String userId = SessionManager.getInstance().getCurrentUser().getUserId();
+        accountCombo.setConverter(new StringConverter<Account>() {
+            @Override public String toString(Account a) { return a == null ? "" : a.getAccountNumber() + " (" + a.getType() + ")"; }
+            @Override public Account fromString(String s) { return null; }
+        });
+        calls.submit(service -> AccountCache.getInstance().getCustomerAccounts(userId),
+                accounts -> {
+                    accountCombo.setItems(FXCollections.observableArrayList(accounts));
+                    if (!accounts.isEmpty()) accountCombo.getSelectionModel().selectFirst();
+                },
+                e -> AlertUtil.showError("Error", "Failed to load accounts."));
+    }
+
+    private void loadTransactions(String accountId) {
+        calls.cancelAll(); // pages of the account shown before are no longer wanted
+        transactionTable.setItems(FXCollections.observableArrayList());
+        PagedTransactionList.open(accountId, calls,
+                transactionTable::setItems,
+                e -> AlertUtil.showError("Error", "Failed to load transactions."));
+    }
+
+    @FXML
+    private void handleRefresh() {
+        if (accountCombo.getValue() != null) {
+            loadTransactions(accountCombo.getValue().getAccountId());
+        }
+    }
+
+    @FXML
+    private void handleClose() {
+        ((Stage) transactionTable.getScene().getWindow()).close();
+    }
+}
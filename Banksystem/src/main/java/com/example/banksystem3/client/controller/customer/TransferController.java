@@ -1,19 +1,19 @@
 package com.example.banksystem3.client.controller.customer;
 
 import com.example.banksystem3.client.controller.Navigable;
-import com.example.banksystem3.client.rmi.RMIClient;
+import com.example.banksystem3.client.controller.Refreshable;
+import com.example.banksystem3.client.rmi.AccountCache;
+import com.example.banksystem3.client.rmi.AsyncBankService;
 import com.example.banksystem3.client.session.SessionManager;
 import com.example.banksystem3.client.utils.AlertUtil;
-import com.example.banksystem3.client.utils.ValidationUtil;
 import com.example.banksystem3.shared.Account;
+import com.example.banksystem3.shared.ValidationUtil;
 import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.util.StringConverter;
 
-import java.util.List;
-
-public class TransferController implements Navigable {
+public class TransferController implements Navigable, Refreshable {
 
     @FXML private ComboBox<Account> fromAccountCombo;
     @FXML private ComboBox<String> transferTypeCombo;
@@ -25,11 +25,16 @@ public class TransferController implements Navigable {
     @FXML private Button transferButton;
 
     private CustomerDashboardController parentController;
+    private final AsyncBankService calls = new AsyncBankService();
+    private final AsyncBankService postings = new AsyncBankService(); // never cancelled, so the outcome is always shown
+    private boolean recipientVerified;
+    private boolean transferPending;
 
     @FXML
     public void initialize() {
         transferTypeCombo.setItems(FXCollections.observableArrayList("Internal Transfer", "Other Bank"));
         transferTypeCombo.getSelectionModel().selectFirst();
+        calls.cancelOnDetach(transferButton);
         
         loadAccounts();
         
@@ -41,31 +46,31 @@ public class TransferController implements Navigable {
     }
 
     private void loadAccounts() {
-        try {
-            String userId = SessionManager.getInstance().getCurrentUser().getUserId();
-            List<Account> accounts = RMIClient.getInstance().getBankService().getCustomerAccounts(userId);
-            fromAccountCombo.setItems(FXCollections.observableArrayList(accounts));
-            fromAccountCombo.setConverter(new StringConverter<Account>() {
-                @Override public String toString(Account a) { return a == null ? "" : a.getAccountNumber(); }
-                @Override public Account fromString(String s) { return null; }
-            });
-            if (!accounts.isEmpty()) fromAccountCombo.getSelectionModel().selectFirst();
-        } catch (Exception e) {
-            AlertUtil.showError("Error", "Failed to load accounts.");
-        }
+        String userId = SessionManager.getInstance().getCurrentUser().getUserId();
+        fromAccountCombo.setConverter(new StringConverter<Account>() {
+            @Override public String toString(Account a) { return a == null ? "" : a.getAccountNumber(); }
+            @Override public Account fromString(String s) { return null; }
+        });
+        calls.submit(service -> AccountCache.getInstance().getCustomerAccounts(userId),
+                accounts -> {
+                    fromAccountCombo.setItems(FXCollections.observableArrayList(accounts));
+                    if (!accounts.isEmpty()) fromAccountCombo.getSelectionModel().selectFirst();
+                },
+                e -> AlertUtil.showError("Error", "Failed to load accounts."));
     }
 
     @FXML
     private void handleVerifyRecipient() {
         // Mock verification logic
         String accNum = toAccountField.getText();
-        if (accNum.length() >= 4) {
-            recipientNameLabel.setText("Verified User");
-            transferButton.setDisable(false);
-        } else {
-            recipientNameLabel.setText("Invalid Account");
-            transferButton.setDisable(true);
-        }
+        recipientVerified = accNum.length() >= 4;
+        recipientNameLabel.setText(recipientVerified ? "Verified User" : "Invalid Account");
+        updateTransferButton();
+    }
+
+    // Enabled once a recipient is verified, and not while a transfer awaits its answer
+    private void updateTransferButton() {
+        transferButton.setDisable(!recipientVerified || transferPending);
     }
 
     @FXML
@@ -78,23 +83,38 @@ public class TransferController implements Navigable {
             return;
         }
         double amount = Double.parseDouble(amountField.getText());
+        String toAccount = toAccountField.getText();
+        String description = descriptionField.getText();
 
-        try {
-            boolean success = RMIClient.getInstance().getBankService().transfer(
-                    from.getAccountId(),
-                    toAccountField.getText(),
-                    amount,
-                    descriptionField.getText()
-            );
-            if (success) {
-                AlertUtil.showSuccess("Success", "Transfer completed.");
-                handleClear();
-            } else {
-                AlertUtil.showError("Error", "Transfer failed.");
-            }
-        } catch (Exception e) {
-            AlertUtil.showError("Error", "Transfer error: " + e.getMessage());
-        }
+        transferPending = true;
+        updateTransferButton();
+        postings.submit(service -> service.transfer(from.getAccountId(), toAccount, amount, description),
+                success -> {
+                    transferPending = false;
+                    updateTransferButton();
+                    if (success) {
+                        AccountCache.getInstance().invalidate(from.getAccountId());
+                        AlertUtil.showSuccess("Success", "Transfer completed.");
+                        handleClear();
+                    } else {
+                        AlertUtil.showError("Error", "Transfer failed.");
+                    }
+                },
+                e -> {
+                    transferPending = false;
+                    updateTransferButton();
+                    AlertUtil.showError("Error", "Transfer error: " + e.getMessage());
+                });
+    }
+
+    @Override
+    public void refresh() {
+        // Back to the state of a freshly loaded view: the recipient has to be verified again
+        handleClear();
+        recipientNameLabel.setText("");
+        recipientVerified = false;
+        updateTransferButton();
+        loadAccounts();
     }
 
     @FXML private void handleClear() {
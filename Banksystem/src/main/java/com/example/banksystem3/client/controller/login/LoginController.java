@@ -1,5 +1,6 @@
 package com.example.banksystem3.client.controller.login; // Corrected package declaration
 
+import com.example.banksystem3.client.rmi.AsyncBankService;
 import com.example.banksystem3.client.rmi.RMIClient;
 import com.example.banksystem3.client.session.SessionManager;
 import com.example.banksystem3.client.utils.ErrorHandler;
@@ -45,6 +46,7 @@ public class LoginController {
 
     private ResourceBundle bundle;
     private Locale currentLocale;
+    private final AsyncBankService calls = new AsyncBankService();
 
     @FXML
     public void initialize() {
@@ -168,29 +170,32 @@ public class LoginController {
                  return;
             }
 
-            try {
+            // The dialog stays open until the server has answered; it closes itself on success
+            event.consume();
+            btChange.setDisable(true);
+            calls.submit(service -> {
                 // Verify old password by attempting to login
-                User authenticatedUser = RMIClient.getInstance().getBankService().login(user, oldPass);
-                
+                User authenticatedUser = service.login(user, oldPass);
                 if (authenticatedUser == null) {
-                    AlertUtil.showError("Authentication Failed", "Invalid username or old password.");
-                    event.consume();
-                    return;
+                    return null;
                 }
-
                 // Change password using the specific service method
-                boolean success = RMIClient.getInstance().getBankService().changePassword(authenticatedUser.getUserId(), oldPass, newPass);
-                
-                if (success) {
+                return service.changePassword(authenticatedUser.getUserId(), oldPass, newPass);
+            }, success -> {
+                btChange.setDisable(false);
+                if (success == null) {
+                    AlertUtil.showError("Authentication Failed", "Invalid username or old password.");
+                } else if (success) {
                     AlertUtil.showInfo("Success", "Password changed successfully.");
+                    dialog.setResult(true);
+                    dialog.close();
                 } else {
                     AlertUtil.showError("Error", "Failed to change password. Please try again.");
                 }
-
-            } catch (Exception e) {
+            }, e -> {
+                btChange.setDisable(false);
                 ErrorHandler.handleException("Error", "An error occurred while changing password.", e);
-                event.consume();
-            }
+            });
         });
 
         dialog.showAndWait();
@@ -214,11 +219,13 @@ public class LoginController {
             return;
         }
 
-        try {
-            User user = RMIClient.getInstance().getBankService().login(username, password);
-
-            if (user != null) {
-                SessionManager.getInstance().login(user);
+        loginButton.setDisable(true);
+        calls.submit(service -> service.openSession(username, password), session -> {
+            loginButton.setDisable(false);
+            if (session != null) {
+                User user = session.getUser();
+                SessionManager.getInstance().login(session);
+                ViewManager.preloadSessionViews(); // ready by the end of the redirect delay
                 logger.info("Login successful for user: " + user.getUsername() + " with role: " + user.getRole()); // Added log
                 statusLabel.setText("✅ Login successful! Redirecting...");
                 statusLabel.setStyle("-fx-text-fill: #27ae60;");
@@ -241,11 +248,11 @@ public class LoginController {
                 passwordField.requestFocus();
                 logger.warning("Login failed: Invalid username or password for user: " + username); // Added log
             }
-
-        } catch (Exception e) {
+        }, e -> {
+            loginButton.setDisable(false);
             ErrorHandler.handleException("Login Error", "An unexpected error occurred during login.", e);
             statusLabel.setText("❌ Login failed due to a server error.");
-        }
+        });
     }
 
     @FXML
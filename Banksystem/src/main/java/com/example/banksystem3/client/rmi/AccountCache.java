@@ -0,0 +1,213 @@
+package com.example.banksystem3.client.rmi;
+
+import com.example.banksystem3.shared.Account;
+import com.example.banksystem3.shared.AccountEvent;
+import com.example.banksystem3.shared.AccountEventListener;
+import com.example.banksystem3.shared.BankService;
+import com.example.banksystem3.shared.Transaction;
+
+import java.rmi.RemoteException;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Read-through cache in front of {@link RMIClient}'s service for the account reads the customer
+ * screens repeat: account lists, balances and recent transactions.
+ *
+ * <p>Entries expire after {@code bank.client.cache.ttl.ms} (30 s by default). Every account that
+ * is cached is also {@link BankService#subscribe subscribed} to, and the server pushes an event
+ * when a posting or update touches it: that account's entries are dropped straight away and its
+ * balance is replaced by the one pushed, so a balance shown after a posting needs no call. If the
+ * callback cannot be exported (for example when the server cannot connect back to this machine)
+ * the cache still works, bounded by the TTL alone.
+ */
+public class AccountCache {
+    private static final Logger logger = Logger.getLogger(AccountCache.class.getName());
+    private static final long TTL_MILLIS = Long.getLong("bank.client.cache.ttl.ms", 30_000);
+    private static final AccountCache INSTANCE = new AccountCache();
+
+    private static final class Entry<T> {
+        final T value;
+        final int limit; // for limited reads, the limit the value was fetched with
+        final long expiresAt;
+
+        Entry(T value) {
+            this(value, 0);
+        }
+
+        Entry(T value, int limit) {
+            this.value = value;
+            this.limit = limit;
+            this.expiresAt = System.currentTimeMillis() + TTL_MILLIS;
+        }
+
+        boolean isFresh() {
+            return System.currentTimeMillis() < expiresAt;
+        }
+    }
+
+    private final Map<String, Entry<List<Account>>> customerAccounts = new ConcurrentHashMap<>();
+    private final Map<String, Entry<Double>> balances = new ConcurrentHashMap<>();
+    private final Map<String, Entry<List<Transaction>>> recentTransactions = new ConcurrentHashMap<>(); // newest first
+    private final Map<String, Set<String>> customersByAccount = new ConcurrentHashMap<>();
+    private final Set<String> watched = ConcurrentHashMap.newKeySet();
+    // Bumped by every invalidation; a read that raced one does not store its result
+    private final AtomicLong version = new AtomicLong();
+
+    private BankService service; // the service the cached entries came from
+    private AccountEventListener callback; // exported stub; null until exported or if export failed
+    private boolean exportFailed;
+
+    private final class Callback implements AccountEventListener {
+        @Override
+        public void onAccountEvents(List<AccountEvent> events) {
+            for (AccountEvent event : events) {
+                invalidate(event.getAccountId());
+                // Events for a subscriber arrive in order and never carry an older balance
+                balances.put(event.getAccountId(), new Entry<>(event.getBalance()));
+            }
+        }
+    }
+
+    private AccountCache() {
+    }
+
+    public static AccountCache getInstance() {
+        return INSTANCE;
+    }
+
+    public List<Account> getCustomerAccounts(String customerId) throws RemoteException {
+        BankService bankService = currentService();
+        Entry<List<Account>> entry = customerAccounts.get(customerId);
+        if (entry != null && entry.isFresh()) {
+            return entry.value;
+        }
+        long seen = version.get();
+        List<Account> accounts = Collections.unmodifiableList(new ArrayList<>(bankService.getCustomerAccounts(customerId)));
+        List<String> accountIds = new ArrayList<>(accounts.size());
+        for (Account account : accounts) {
+            accountIds.add(account.getAccountId());
+            customersByAccount.computeIfAbsent(account.getAccountId(), k -> ConcurrentHashMap.newKeySet()).add(customerId);
+        }
+        // Changes to accounts not watched until now could have been missed, so only cache once they are
+        boolean alreadyWatched = !watch(bankService, accountIds);
+        if (alreadyWatched && version.get() == seen) {
+            customerAccounts.put(customerId, new Entry<>(accounts));
+        }
+        return accounts;
+    }
+
+    public double getBalance(String accountId) throws RemoteException {
+        BankService bankService = currentService();
+        Entry<Double> entry = balances.get(accountId);
+        if (entry != null && entry.isFresh()) {
+            return entry.value;
+        }
+        watch(bankService, List.of(accountId));
+        long seen = version.get();
+        double balance = bankService.getBalance(accountId);
+        if (version.get() == seen) {
+            balances.put(accountId, new Entry<>(balance));
+        }
+        return balance;
+    }
+
+    /** Newest first, as {@link BankService#getRecentTransactions}. */
+    public List<Transaction> getRecentTransactions(String accountId, int limit) throws RemoteException {
+        BankService bankService = currentService();
+        Entry<List<Transaction>> entry = recentTransactions.get(accountId);
+        // A list fetched with a larger limit starts with the answer to a smaller one
+        if (entry != null && entry.isFresh() && entry.limit >= limit) {
+            return entry.value.subList(0, Math.max(0, Math.min(limit, entry.value.size())));
+        }
+        watch(bankService, List.of(accountId));
+        long seen = version.get();
+        List<Transaction> recent = Collections.unmodifiableList(new ArrayList<>(bankService.getRecentTransactions(accountId, limit)));
+        if (version.get() == seen) {
+            recentTransactions.put(accountId, new Entry<>(recent, limit));
+        }
+        return recent;
+    }
+
+    /** Drops everything cached about {@code accountId}, including account lists that hold it. */
+    public void invalidate(String accountId) {
+        version.incrementAndGet();
+        balances.remove(accountId);
+        recentTransactions.remove(accountId);
+        Set<String> customerIds = customersByAccount.get(accountId);
+        if (customerIds != null) {
+            customerIds.forEach(customerAccounts::remove);
+        }
+    }
+
+    /** Empties the cache and stops server notifications, e.g. on logout. */
+    public synchronized void clear() {
+        version.incrementAndGet();
+        customerAccounts.clear();
+        balances.clear();
+        recentTransactions.clear();
+        customersByAccount.clear();
+        if (service != null && callback != null && !watched.isEmpty()) {
+            try {
+                service.unsubscribe(callback);
+            } catch (RemoteException e) {
+                logger.log(Level.FINE, "Could not stop account notifications", e);
+            }
+        }
+        watched.clear();
+    }
+
+    // Entries from a previous connection may be stale and their watches are gone with it
+    private synchronized BankService currentService() throws RemoteException {
+        BankService bankService = RMIClient.getInstance().getBankService();
+        if (bankService == null) {
+            throw new RemoteException("Not connected to the bank server");
+        }
+        if (bankService != service) {
+            clear();
+            service = bankService;
+        }
+        return bankService;
+    }
+
+    /** Registers any of {@code accountIds} not yet watched; returns whether there were such. */
+    private boolean watch(BankService bankService, List<String> accountIds) {
+        List<String> added = new ArrayList<>();
+        for (String accountId : accountIds) {
+            if (watched.add(accountId)) {
+                added.add(accountId);
+            }
+        }
+        AccountEventListener listener = callback();
+        if (added.isEmpty() || listener == null) {
+            return !added.isEmpty();
+        }
+        try {
+            bankService.subscribe(listener, added);
+        } catch (RemoteException e) {
+            watched.removeAll(added);
+            logger.log(Level.FINE, "Could not watch accounts " + added, e);
+        }
+        return true;
+    }
+
+    private synchronized AccountEventListener callback() {
+        if (callback == null && !exportFailed) {
+            try {
+                callback = (AccountEventListener) UnicastRemoteObject.exportObject(new Callback(), 0);
+            } catch (RemoteException e) {
+                exportFailed = true;
+                logger.log(Level.WARNING, "Account change notifications unavailable; cache relies on expiry only", e);
+            }
+        }
+        return callback;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.banksystem3.client.rmi;
+
+import com.example.banksystem3.shared.BankService;
+import javafx.application.Platform;
+import javafx.scene.Node;
+
+import java.rmi.RemoteException;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs {@link BankService} calls off the JavaFX application thread.
+ *
+ * <p>Calls run on a small shared pool of daemon threads; the returned futures complete on the
+ * FX thread, so callbacks attached to them may touch controls directly. Each view keeps its own
+ * instance and {@link #cancelAll() cancels} whatever is still outstanding when it is navigated
+ * away from (see {@link #cancelOnDetach}); a cancelled call that has not started never runs, and
+ * the callbacks of one that has are skipped. A remote call already on the wire is not aborted,
+ * so calls that post to the ledger belong on a separate instance that is never cancelled; their
+ * outcome is then reported even if the user has moved on.
+ */
+public class AsyncBankService {
+    private static final AtomicInteger threadCount = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+            Integer.getInteger("bank.client.threads", 4), r -> {
+                Thread t = new Thread(r, "bank-call-" + threadCount.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+
+    /** A call against the connected service. */
+    @FunctionalInterface
+    public interface RemoteCall<T> {
+        T call(BankService service) throws Exception;
+    }
+
+    private final Set<CompletableFuture<?>> outstanding = ConcurrentHashMap.newKeySet();
+
+    public <T> CompletableFuture<T> submit(RemoteCall<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        outstanding.add(result);
+        Future<?> task = EXECUTOR.submit(() -> {
+            try {
+                BankService service = RMIClient.getInstance().getBankService();
+                if (service == null) {
+                    throw new RemoteException("Not connected to the bank server");
+                }
+                T value = call.call(service);
+                Platform.runLater(() -> result.complete(value));
+            } catch (Throwable t) {
+                Platform.runLater(() -> result.completeExceptionally(t));
+            }
+        });
+        result.whenComplete((value, error) -> {
+            outstanding.remove(result);
+            if (error instanceof CancellationException) {
+                task.cancel(false);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Submits {@code call} and hands its result or failure to one of the callbacks on the FX
+     * thread. Neither runs if the call is cancelled.
+     */
+    public <T> void submit(RemoteCall<T> call, Consumer<? super T> onSuccess, Consumer<Exception> onFailure) {
+        submit(call).whenComplete((value, error) -> {
+            if (error == null) {
+                onSuccess.accept(value);
+            } else if (!(error instanceof CancellationException)) {
+                onFailure.accept(error instanceof Exception ? (Exception) error : new RuntimeException(error));
+            }
+        });
+    }
+
+    /** Cancels every call from this instance that has not completed yet. */
+    public void cancelAll() {
+        for (CompletableFuture<?> future : outstanding) {
+            future.cancel(false);
+        }
+    }
+
+    /** Cancels outstanding calls once {@code view} is removed from its scene. */
+    public void cancelOnDetach(Node view) {
+        view.sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (newScene == null) {
+                cancelAll();
+            }
+        });
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.banksystem3.client.rmi;
+
+import com.example.banksystem3.shared.BankService;
+import com.example.banksystem3.shared.ServerBusyException;
+import com.example.banksystem3.shared.wire.WireCodec;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.rmi.RemoteException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Client side of the NIO transport: a {@link BankService} proxy that sends calls over one
+ * connection to {@code NioBankServer}.
+ *
+ * <p>Any number of threads may call through the proxy at once. Each call is written as a frame
+ * tagged with a fresh request id and the calling thread waits for the matching response, which
+ * a reader thread routes back by id; calls are therefore pipelined rather than queued behind
+ * each other. Server-side failures surface as {@link RemoteException}, as with RMI.
+ */
+public class NioBankClient implements InvocationHandler, Closeable {
+    private final SocketChannel channel;
+    private final Object writeLock = new Object();
+    private final AtomicInteger nextRequestId = new AtomicInteger();
+    private final Map<Integer, CompletableFuture<Object>> pending = new ConcurrentHashMap<>();
+    private final Thread reader;
+    private volatile IOException failure;
+
+    private NioBankClient(SocketChannel channel) {
+        this.channel = channel;
+        this.reader = new Thread(this::readLoop, "nio-client-reader");
+        reader.setDaemon(true);
+    }
+
+    /** Connects to a server started with {@code -Dbank.transport=nio} (or {@code both}). */
+    public static BankService connect(String host, int port) throws IOException {
+        SocketChannel channel = SocketChannel.open(new InetSocketAddress(host, port));
+        channel.socket().setTcpNoDelay(true);
+        NioBankClient client = new NioBankClient(channel);
+        ByteBuffer hello = ByteBuffer.allocate(8).putInt(WireCodec.MAGIC).putInt(WireCodec.interfaceHash());
+        hello.flip();
+        while (hello.hasRemaining()) {
+            channel.write(hello);
+        }
+        client.reader.start();
+        return (BankService) Proxy.newProxyInstance(BankService.class.getClassLoader(),
+                new Class<?>[] {BankService.class, Closeable.class}, client);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return "NioBankClient[" + channel.socket().getRemoteSocketAddress() + "]";
+            }
+        }
+        if (method.getDeclaringClass() == Closeable.class) {
+            close();
+            return null;
+        }
+
+        byte[] body = WireCodec.encodeRequest(WireCodec.methodIndex(method), args);
+        int requestId = nextRequestId.incrementAndGet();
+        CompletableFuture<Object> response = new CompletableFuture<>();
+        pending.put(requestId, response);
+        try {
+            ByteBuffer frame = ByteBuffer.allocate(8 + body.length);
+            frame.putInt(4 + body.length).putInt(requestId).put(body).flip();
+            synchronized (writeLock) {
+                if (failure != null) {
+                    throw failure;
+                }
+                while (frame.hasRemaining()) {
+                    channel.write(frame);
+                }
+            }
+            return response.get();
+        } catch (IOException e) {
+            throw new RemoteException("NIO transport write failed", e);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RemoteException("Interrupted while waiting for " + method.getName());
+        } finally {
+            pending.remove(requestId);
+        }
+    }
+
+    private void readLoop() {
+        ByteBuffer header = ByteBuffer.allocate(8);
+        try {
+            while (true) {
+                header.clear();
+                readFully(header);
+                int length = header.getInt(0);
+                int requestId = header.getInt(4);
+                if (length < 5 || length > WireCodec.MAX_FRAME) {
+                    throw new IOException("Bad frame length " + length);
+                }
+                ByteBuffer body = ByteBuffer.allocate(length - 4);
+                readFully(body);
+
+                CompletableFuture<Object> response = pending.get(requestId);
+                if (response == null) {
+                    continue; // Caller gave up
+                }
+                DataInputStream in = WireCodec.reader(body.array(), 0, body.capacity());
+                byte status = in.readByte();
+                Object value = WireCodec.readValue(in);
+                if (status == WireCodec.STATUS_OK) {
+                    response.complete(value);
+                } else if (status == WireCodec.STATUS_BUSY) {
+                    response.completeExceptionally(new ServerBusyException(String.valueOf(value)));
+                } else {
+                    response.completeExceptionally(new RemoteException(String.valueOf(value)));
+                }
+            }
+        } catch (IOException e) {
+            failure = e;
+            RemoteException lost = new RemoteException("NIO transport connection lost", e);
+            pending.values().forEach(response -> response.completeExceptionally(lost));
+        }
+    }
+
+    private void readFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Server closed the connection");
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.banksystem3.client.rmi;
+
+import com.example.banksystem3.shared.BankService;
+import com.example.banksystem3.shared.Page;
+import com.example.banksystem3.shared.Transaction;
+import javafx.collections.ObservableListBase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Read-only list of an account's transaction history, newest first, backed by pages fetched on
+ * demand with {@link BankService#getTransactionHistoryPage}.
+ *
+ * <p>The size is the history size when the list was opened; postings made since appear after a
+ * reopen. Row {@code i} is history position {@code size - 1 - i}, so the first page is the newest
+ * one and the history being append-only keeps every row where it is. {@link #get} answers from the
+ * pages in memory and returns {@code null} for a row whose page is not, fetching that page in the
+ * background; when it arrives its rows are reported as updated, so a table showing the list
+ * redraws them. A virtualized control such as {@code TableView} only asks for the rows on screen,
+ * so only those pages are fetched, plus the next one as the reader nears it. At most
+ * {@value #MAX_PAGES} pages are kept, the least recently read being dropped. Use on the FX thread.
+ */
+public class PagedTransactionList extends ObservableListBase<Transaction> {
+    public static final int PAGE_SIZE = 200;
+    private static final int MAX_PAGES = 16;
+
+    /** Fetches {@code limit} history entries from position {@code from} on, oldest first. */
+    @FunctionalInterface
+    interface PageSource {
+        CompletableFuture<Page<Transaction>> fetch(int from, int limit);
+    }
+
+    private final PageSource source;
+    private final Consumer<Exception> onFailure;
+    private final int size;
+    private final Map<Integer, List<Transaction>> pages = new LinkedHashMap<>(MAX_PAGES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<Transaction>> eldest) {
+            return size() > MAX_PAGES;
+        }
+    };
+    private final Set<Integer> loading = new HashSet<>();
+    private final Set<Integer> failed = new HashSet<>(); // not retried, so a dead server is not polled per cell
+
+    private PagedTransactionList(PageSource source, Consumer<Exception> onFailure, Page<Transaction> newest) {
+        this.source = source;
+        this.onFailure = onFailure;
+        this.size = (int) newest.getTotalCount();
+        pages.put(0, reversed(newest.getItems()));
+    }
+
+    /**
+     * Fetches the newest page of {@code accountId}'s history and hands the list to
+     * {@code onOpened}, on the FX thread. {@code onFailure} hears about that fetch failing and
+     * about any later page fetch that fails.
+     */
+    public static void open(String accountId, AsyncBankService calls,
+                            Consumer<PagedTransactionList> onOpened, Consumer<Exception> onFailure) {
+        open((from, limit) -> calls.submit(service -> service.getTransactionHistoryPage(accountId, from, limit)),
+                onOpened, onFailure);
+    }
+
+    static void open(PageSource source, Consumer<PagedTransactionList> onOpened, Consumer<Exception> onFailure) {
+        // A negative position counts back from the end, so the newest page and the size come together
+        source.fetch(-PAGE_SIZE, PAGE_SIZE).whenComplete((newest, error) -> {
+            if (error == null) {
+                onOpened.accept(new PagedTransactionList(source, onFailure, newest));
+            } else if (!(error instanceof CancellationException)) {
+                onFailure.accept(asException(error));
+            }
+        });
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /** The row at {@code index}, or {@code null} while its page is being fetched. */
+    @Override
+    public Transaction get(int index) {
+        Objects.checkIndex(index, size);
+        int page = index / PAGE_SIZE;
+        int offset = index % PAGE_SIZE;
+        List<Transaction> rows = pages.get(page);
+        if (rows == null) {
+            load(page);
+            return null;
+        }
+        // Fetch ahead once the reader is well into this page
+        if (offset >= PAGE_SIZE * 3 / 4 && (page + 1) * PAGE_SIZE < size) {
+            load(page + 1);
+        }
+        return offset < rows.size() ? rows.get(offset) : null;
+    }
+
+    private void load(int page) {
+        if (pages.containsKey(page) || failed.contains(page) || !loading.add(page)) {
+            return;
+        }
+        // Rows page * PAGE_SIZE on are the positions below size - page * PAGE_SIZE, newest first
+        int end = size - page * PAGE_SIZE;
+        int from = Math.max(0, end - PAGE_SIZE);
+        source.fetch(from, end - from).whenComplete((result, error) -> {
+            loading.remove(page);
+            if (error == null) {
+                pageLoaded(page, reversed(result.getItems()));
+            } else if (!(error instanceof CancellationException)) {
+                failed.add(page);
+                onFailure.accept(asException(error));
+            }
+        });
+    }
+
+    private void pageLoaded(int page, List<Transaction> rows) {
+        pages.put(page, rows);
+        int first = page * PAGE_SIZE;
+        int end = Math.min(size, first + rows.size());
+        beginChange();
+        for (int i = first; i < end; i++) {
+            nextUpdate(i);
+        }
+        endChange();
+    }
+
+    private static List<Transaction> reversed(List<Transaction> rows) {
+        List<Transaction> copy = new ArrayList<>(rows);
+        Collections.reverse(copy);
+        return copy;
+    }
+
+    private static Exception asException(Throwable error) {
+        return error instanceof Exception ? (Exception) error : new RuntimeException(error);
+    }
+}
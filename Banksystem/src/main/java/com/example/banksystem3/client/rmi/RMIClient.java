@@ -0,0 +1,74 @@
+package com.example.banksystem3.client.rmi;
+
+import com.example.banksystem3.shared.BankService;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.rmi.registry.LocateRegistry;
+import java.rmi.registry.Registry;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class RMIClient {
+
+    private static final Logger logger = Logger.getLogger(RMIClient.class.getName());
+
+    private static RMIClient instance;
+    private BankService bankService;
+    private boolean connected = false;
+
+    private RMIClient() {
+    }
+
+    public static synchronized RMIClient getInstance() {
+        if (instance == null) {
+            instance = new RMIClient();
+        }
+        return instance;
+    }
+
+    // Transport: "rmi" (default) looks the service up in the registry at host:port, "nio" connects
+    // to the server's NIO transport at host:bank.nio.port instead, as ServerMain's bank.transport
+    public void connect(String host, int port) {
+        String transport = System.getProperty("bank.transport", "rmi").toLowerCase();
+        try {
+            disconnect();
+            if (transport.equals("nio")) {
+                int nioPort = Integer.getInteger("bank.nio.port", 1100);
+                bankService = NioBankClient.connect(host, nioPort);
+                connected = true;
+                logger.info("Successfully connected to NIO server at " + host + ":" + nioPort);
+            } else {
+                Registry registry = LocateRegistry.getRegistry(host, port);
+                bankService = (BankService) registry.lookup("BankService");
+                connected = true;
+                logger.info("Successfully connected to RMI server at " + host + ":" + port);
+            }
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "RMI connection failed", e);
+            connected = false;
+            bankService = null;
+        }
+    }
+
+    public BankService getBankService() {
+        return bankService;
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    // The NIO proxy holds a socket and a reader thread; an RMI stub needs no cleanup
+    public void disconnect() {
+        if (bankService instanceof Closeable) {
+            try {
+                ((Closeable) bankService).close();
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Closing the NIO connection failed", e);
+            }
+        }
+        bankService = null;
+        connected = false;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.banksystem3.client.session;
+
+import com.example.banksystem3.shared.Account;
+import com.example.banksystem3.shared.Customer;
+import com.example.banksystem3.shared.LoginSession;
+import com.example.banksystem3.shared.Role;
+import com.example.banksystem3.shared.User;
+
+public class SessionManager {
+    private static SessionManager instance;
+
+    private User currentUser;
+    private String sessionToken;
+    private Customer currentCustomer;
+    private Account selectedAccount;
+
+    private SessionManager() {
+    }
+
+    public static SessionManager getInstance() {
+        if (instance == null) {
+            instance = new SessionManager();
+        }
+        return instance;
+    }
+
+    public void login(User user) {
+        this.currentUser = user;
+        this.selectedAccount = null;
+    }
+
+    // Keeps the server session's token, which the server ends on BankService.closeSession
+    public void login(LoginSession session) {
+        login(session.getUser());
+        this.sessionToken = session.getToken();
+    }
+
+    public void logout() {
+        this.currentUser = null;
+        this.sessionToken = null;
+        this.currentCustomer = null;
+        this.selectedAccount = null;
+    }
+
+    public User getCurrentUser() {
+        return currentUser;
+    }
+
+    /** Token of the server session, or {@code null} if logged in without one. */
+    public String getSessionToken() {
+        return sessionToken;
+    }
+
+    public Customer getCurrentCustomer() {
+        return currentCustomer;
+    }
+
+    public void setCurrentCustomer(Customer customer) {
+        this.currentCustomer = customer;
+    }
+
+    public Account getSelectedAccount() {
+        return selectedAccount;
+    }
+
+    public void setSelectedAccount(Account account) {
+        this.selectedAccount = account;
+    }
+
+    public boolean isLoggedIn() {
+        return currentUser != null;
+    }
+
+    public boolean isAdmin() {
+        return currentUser != null && currentUser.getRole() == Role.ADMIN;
+    }
+
+    public String getUsername() {
+        return currentUser != null ? currentUser.getUsername() : "Guest";
+    }
+
+    public String getUserId() {
+        return currentUser != null ? currentUser.getUserId() : null;
+    }
+}
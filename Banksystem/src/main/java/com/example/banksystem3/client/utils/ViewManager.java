@@ -1,15 +1,31 @@
 package com.example.banksystem3.client.utils;
 
+import com.example.banksystem3.client.controller.Refreshable;
+import com.example.banksystem3.client.session.SessionManager;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
 import javafx.fxml.FXMLLoader;
+import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 public class ViewManager {
+    private static final Logger logger = Logger.getLogger(ViewManager.class.getName());
     private static Stage primaryStage;
 
     // View constants
@@ -28,6 +44,39 @@ public class ViewManager {
     public static final String TRANSFER = "/com/example/banksystem3/view/customer/Transfer.fxml";
     public static final String BILL_PAYMENT = "/com/example/banksystem3/view/customer/BillPayment.fxml";
 
+    // Views kept for the rest of the session once loaded. A kept controller is refreshed each time
+    // it is shown again if it is Refreshable; anything else here must not hold data that goes stale.
+    private static final Set<String> CACHED_VIEWS = Set.of(CUSTOMER_DASHBOARD, TRANSFER, BILL_PAYMENT, ADMIN_DASHBOARD);
+    private static final List<String> CUSTOMER_PRELOAD = List.of(CUSTOMER_DASHBOARD, TRANSFER, BILL_PAYMENT);
+    private static final List<String> ADMIN_PRELOAD = List.of(ADMIN_DASHBOARD);
+
+    private static final Map<String, CompletableFuture<LoadedView>> viewCache = new ConcurrentHashMap<>();
+    private static final Map<String, Long> loadTimes = new ConcurrentHashMap<>(); // fxmlPath -> last load in ms
+    private static final ExecutorService preloader = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "view-preloader");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /** A loaded view and its controller. */
+    public static final class LoadedView {
+        private final Parent root;
+        private final Object controller;
+
+        LoadedView(Parent root, Object controller) {
+            this.root = root;
+            this.controller = controller;
+        }
+
+        public Parent getRoot() {
+            return root;
+        }
+
+        public Object getController() {
+            return controller;
+        }
+    }
+
     public static void setPrimaryStage(Stage stage) {
         primaryStage = stage;
     }
@@ -37,19 +86,107 @@ public class ViewManager {
     }
 
     public static Parent loadFXML(String fxmlPath) throws IOException {
+        return load(fxmlPath).getRoot();
+    }
+
+    /**
+     * The view at {@code fxmlPath}: the cached instance for views cached per session (loading it
+     * now unless a preload already has), otherwise a freshly loaded one. Call on the FX thread.
+     */
+    public static LoadedView getView(String fxmlPath) throws IOException {
+        if (!CACHED_VIEWS.contains(fxmlPath)) {
+            return load(fxmlPath);
+        }
+        CompletableFuture<LoadedView> future = viewCache.get(fxmlPath);
+        if (future == null) {
+            LoadedView view = load(fxmlPath);
+            viewCache.put(fxmlPath, CompletableFuture.completedFuture(view));
+            return view;
+        }
+        LoadedView view;
+        try {
+            view = future.join(); // a preload in progress is nearly done; waiting beats starting over
+        } catch (CompletionException e) {
+            viewCache.remove(fxmlPath, future);
+            logger.log(Level.WARNING, "Preloading " + fxmlPath + " failed; loading it again", e.getCause());
+            return load(fxmlPath);
+        }
+        // Preloaded or shown before, so its data may be older than this navigation
+        if (view.controller instanceof Refreshable) {
+            ((Refreshable) view.controller).refresh();
+        }
+        return view;
+    }
+
+    /** Loads the cached views the logged-in user is likely to open next, in the background. */
+    public static void preloadSessionViews() {
+        for (String fxmlPath : SessionManager.getInstance().isAdmin() ? ADMIN_PRELOAD : CUSTOMER_PRELOAD) {
+            CompletableFuture<LoadedView> future = new CompletableFuture<>();
+            if (viewCache.putIfAbsent(fxmlPath, future) != null) {
+                continue;
+            }
+            preloader.execute(() -> {
+                try {
+                    future.complete(load(fxmlPath));
+                } catch (IOException | RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Runs {@code action} once {@code node} is first attached to a scene, which happens on the FX
+     * thread. A preloaded view is built on the preloader thread, so its controller defers anything
+     * that makes server calls or shows alerts to here rather than doing it in {@code initialize}.
+     */
+    public static void runWhenShown(Node node, Runnable action) {
+        if (node.getScene() != null) {
+            action.run();
+            return;
+        }
+        node.sceneProperty().addListener(new ChangeListener<Scene>() {
+            @Override
+            public void changed(ObservableValue<? extends Scene> obs, Scene oldScene, Scene newScene) {
+                if (newScene != null) {
+                    obs.removeListener(this);
+                    action.run();
+                }
+            }
+        });
+    }
+
+    /** Drops the cached views; they belong to the session that is ending. */
+    public static void clearCache() {
+        viewCache.clear();
+    }
+
+    /** How long the last load of each view took, in ms. */
+    public static Map<String, Long> getLoadTimes() {
+        return Map.copyOf(loadTimes);
+    }
+
+    private static LoadedView load(String fxmlPath) throws IOException {
         URL fxmlUrl = ViewManager.class.getResource(fxmlPath);
         if (fxmlUrl == null) {
             throw new IOException("Cannot find FXML file at path: " + fxmlPath);
         }
-        return FXMLLoader.load(Objects.requireNonNull(fxmlUrl));
+        long started = System.nanoTime();
+        FXMLLoader loader = new FXMLLoader(Objects.requireNonNull(fxmlUrl));
+        Parent root = loader.load();
+        long millis = (System.nanoTime() - started) / 1_000_000;
+        loadTimes.put(fxmlPath, millis);
+        logger.fine(() -> "Loaded " + fxmlPath + " in " + millis + " ms on " + Thread.currentThread().getName());
+        return new LoadedView(root, loader.getController());
     }
 
     public static void switchScene(String fxmlPath, String title) throws IOException {
-        Parent root = loadFXML(fxmlPath);
-        Scene scene = new Scene(root);
+        Parent root = getView(fxmlPath).getRoot();
+        // A cached root keeps its scene; a Parent cannot be the root of two scenes
+        Scene scene = root.getScene() != null ? root.getScene() : new Scene(root);
         primaryStage.setScene(scene);
         primaryStage.setTitle(title);
         primaryStage.centerOnScreen();
         primaryStage.show();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,110 @@
+package com.example.banksystem3.server.admission;
+
+import com.example.banksystem3.shared.BankService;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Puts a {@link Bulkhead} per operation group in front of a {@link BankService}, so a flood of
+ * one kind of request (a login storm, a run of bulk reports) is shed quickly instead of starving
+ * everything else. Limits come from system properties
+ * {@code bank.limit.<group>.concurrency}, {@code bank.limit.<group>.queue} and
+ * {@code bank.limit.wait.ms}.
+ */
+public final class AdmissionControl implements InvocationHandler {
+    enum Group {
+        AUTH(2, 256), // calls that check a password; logout, closeSession and session lookups are DEFAULT
+        POSTING(8, 1024), // mostly waiting for the journal fsync
+        BATCH(0, 8),
+        BULK(1, 64),
+        DEFAULT(8, 1024);
+
+        final int concurrencyPerCore; // 0: fixed at 2
+        final int queue;
+
+        Group(int concurrencyPerCore, int queue) {
+            this.concurrencyPerCore = concurrencyPerCore;
+            this.queue = queue;
+        }
+    }
+
+    private final BankService target;
+    private final Map<Group, Bulkhead> bulkheads = new HashMap<>();
+    private final Map<Method, Bulkhead> byMethod = new HashMap<>();
+
+    private AdmissionControl(BankService target) {
+        this.target = target;
+        int cores = Runtime.getRuntime().availableProcessors();
+        long maxWait = Long.getLong("bank.limit.wait.ms", 200);
+        for (Group group : Group.values()) {
+            String prefix = "bank.limit." + group.name().toLowerCase();
+            int concurrency = Integer.getInteger(prefix + ".concurrency",
+                    group.concurrencyPerCore == 0 ? 2 : group.concurrencyPerCore * cores);
+            int queue = Integer.getInteger(prefix + ".queue", group.queue);
+            bulkheads.put(group, new Bulkhead(group.name(), concurrency, queue, maxWait));
+        }
+        for (Method method : BankService.class.getMethods()) {
+            byMethod.put(method, bulkheads.get(groupOf(method.getName())));
+        }
+    }
+
+    /** Wraps {@code target}; the result can be exported over RMI or the NIO transport. */
+    public static BankService wrap(BankService target) {
+        return (BankService) Proxy.newProxyInstance(BankService.class.getClassLoader(),
+                new Class<?>[] {BankService.class}, new AdmissionControl(target));
+    }
+
+    static Group groupOf(String methodName) {
+        switch (methodName) {
+            case "login":
+            case "openSession":
+            case "changePassword":
+            case "changeSessionPassword":
+            case "registerUser":
+                return Group.AUTH;
+            case "deposit":
+            case "withdraw":
+            case "transfer":
+            case "payBill":
+                return Group.POSTING;
+            case "postBatch":
+            case "importCustomers":
+                return Group.BATCH;
+            default:
+                if (methodName.startsWith("getAll") || methodName.endsWith("Page")
+                        || methodName.equals("searchCustomers") || methodName.equals("getSystemLogs")
+                        || methodName.equals("getAuditTrail") || methodName.equals("getSessionAuditTrail")) {
+                    return Group.BULK;
+                }
+                return Group.DEFAULT;
+        }
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        Bulkhead bulkhead = byMethod.get(method);
+        if (bulkhead == null) {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return "AdmissionControl[" + target + "]";
+            }
+        }
+        bulkhead.acquire();
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        } finally {
+            bulkhead.release();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.banksystem3.server.admission;
+
+import com.example.banksystem3.shared.ServerBusyException;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrency limit for one class of operations. Up to {@code maxConcurrent} calls run at once
+ * and up to {@code maxQueued} more may wait, each for at most {@code maxWaitMillis}; anything
+ * beyond that is rejected immediately with {@link ServerBusyException}.
+ */
+public class Bulkhead {
+    private final String name;
+    private final Semaphore permits;
+    private final int maxQueued;
+    private final long maxWaitMillis;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public Bulkhead(String name, int maxConcurrent, int maxQueued, long maxWaitMillis) {
+        this.name = name;
+        this.permits = new Semaphore(maxConcurrent);
+        this.maxQueued = maxQueued;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    /** Takes a permit, waiting briefly if allowed; pair every successful call with {@link #release()}. */
+    public void acquire() throws ServerBusyException {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            throw reject("queue full");
+        }
+        try {
+            if (!permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                throw reject("timed out after " + maxWaitMillis + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw reject("interrupted");
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    private ServerBusyException reject(String reason) {
+        rejected.incrementAndGet();
+        return new ServerBusyException("Server busy (" + name + ": " + reason + "), please retry");
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+}
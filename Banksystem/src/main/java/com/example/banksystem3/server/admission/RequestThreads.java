@@ -0,0 +1,68 @@
+package com.example.banksystem3.server.admission;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors for running client calls. Uses a virtual thread per task when the runtime provides
+ * them (Java 21+); the project targets Java 17, so they are looked up reflectively and a fixed
+ * pool of daemon platform threads is used otherwise. Concurrency is bounded by
+ * {@link AdmissionControl} either way.
+ */
+public final class RequestThreads {
+    private RequestThreads() {}
+
+    public static boolean virtualThreadsAvailable() {
+        return virtualExecutorFactory() != null;
+    }
+
+    public static ExecutorService newExecutor(String namePrefix, int platformThreads) {
+        Method factory = virtualExecutorFactory();
+        if (factory != null) {
+            try {
+                return (ExecutorService) factory.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                // Fall through to platform threads
+            }
+        }
+        return Executors.newFixedThreadPool(platformThreads, daemonThreads(namePrefix));
+    }
+
+    /**
+     * An executor that starts every task at once, for tasks that mostly wait on a remote peer:
+     * one that never answers holds only its own thread. Without virtual threads idle platform
+     * threads are reused and more are started as needed, so the caller bounds how many such
+     * tasks can be running.
+     */
+    public static ExecutorService newUnboundedExecutor(String namePrefix) {
+        Method factory = virtualExecutorFactory();
+        if (factory != null) {
+            try {
+                return (ExecutorService) factory.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                // Fall through to platform threads
+            }
+        }
+        return Executors.newCachedThreadPool(daemonThreads(namePrefix));
+    }
+
+    private static ThreadFactory daemonThreads(String namePrefix) {
+        AtomicInteger count = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, namePrefix + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    private static Method virtualExecutorFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
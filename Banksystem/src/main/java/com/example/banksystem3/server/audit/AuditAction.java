@@ -0,0 +1,41 @@
+package com.example.banksystem3.server.audit;
+
+/**
+ * Audited actions. Records store the action's ordinal plus its arguments; the text
+ * is only rendered when a trail is queried.
+ */
+public enum AuditAction {
+    LOGIN("Login successful"),
+    LOGOUT("Logout"),
+    USER_WITH_ACCOUNT_CREATED("User and initial account created."),
+    ADMIN_CREATED("Admin user created."),
+    USER_REGISTERED("User registered without an account."),
+    CUSTOMER_ADDED("Added customer: {}"),
+    CURRENCY_BOUGHT("Bought {} {}"),
+    CURRENCY_SOLD("Sold {} {}"),
+    CUSTOMER_IMPORTED("User and initial account imported.");
+
+    private final String template;
+
+    AuditAction(String template) {
+        this.template = template;
+    }
+
+    public String render(String[] args) {
+        if (args == null || args.length == 0) {
+            return template;
+        }
+        StringBuilder sb = new StringBuilder(template.length() + 32);
+        int arg = 0;
+        for (int i = 0; i < template.length(); i++) {
+            char c = template.charAt(i);
+            if (c == '{' && i + 1 < template.length() && template.charAt(i + 1) == '}' && arg < args.length) {
+                sb.append(args[arg++]);
+                i++;
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,400 @@
+package com.example.banksystem3.server.audit;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Bounded audit trail store.
+ *
+ * <p>Recent records are kept in memory as compact structured entries (timestamp, action code,
+ * arguments): at most {@value #DEFAULT_RECENT_PER_USER} per user and {@code bank.audit.recent.max}
+ * (default {@value #DEFAULT_MAX_RECENT}) in all.
+ * Beyond that, a user's oldest record is spilled to an append-only file, and once the total is
+ * reached every in-memory record of the user who recorded least recently is. Each spilled record
+ * points back to the user's previous one, so a user's history is a backward chain that queries
+ * walk newest-first and stop as soon as the time range or limit is satisfied. Without a spill
+ * file the records are simply evicted.
+ *
+ * <p>The spill file survives restarts: {@link #close()} spills what is still in memory, and
+ * opening the file scans it to find where each user's chain starts. Records held in memory are
+ * lost if the process dies without closing the store. Spilled records are forced to disk every
+ * {@code bank.audit.sync.ms} (default {@value #DEFAULT_SYNC_MS}) milliseconds, so a crash loses at
+ * most that much of the file. Each record carries its length and a CRC32, and the scan on
+ * opening stops at the first record that is cut short, zero-filled or fails its check, and
+ * truncates the file there.
+ */
+public class AuditStore implements Closeable {
+    private static final int DEFAULT_RECENT_PER_USER = 32;
+    private static final int DEFAULT_MAX_RECENT = 100_000;
+    private static final long NO_OFFSET = -1L;
+    private static final int SPILL_MAGIC = 0x41554454; // "AUDT"
+    private static final int SPILL_VERSION = 3;
+    private static final int SPILL_HEADER = 8;
+    private static final int RECORD_OVERHEAD = 4 + 4; // length and crc32
+    private static final int MIN_BODY = 8 + 8 + 1 + 1 + 4;
+    private static final long DEFAULT_SYNC_MS = 1000;
+    private static final DateTimeFormatter TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    private static final class Entry {
+        final long timestamp;
+        final AuditAction action;
+        final String[] args;
+
+        Entry(long timestamp, AuditAction action, String[] args) {
+            this.timestamp = timestamp;
+            this.action = action;
+            this.args = args;
+        }
+    }
+
+    private static final class Trail {
+        final ArrayDeque<Entry> recent = new ArrayDeque<>();
+        long lastSpilledOffset = NO_OFFSET; // head of the on-disk chain
+    }
+
+    // All state below is guarded by lock. Trails with records in memory, least recently recorded
+    // first; a user with only spilled records is just an offset in spilledHeads
+    private final Object lock = new Object();
+    private final LinkedHashMap<String, Trail> trails = new LinkedHashMap<>();
+    private final Map<String, Long> spilledHeads = new HashMap<>();
+    private int recentTotal;
+    private final int recentPerUser;
+    private final int maxRecent;
+    private final FileChannel spill; // null: evict instead of spilling
+    private long spillEnd;
+    private volatile boolean unsynced; // written since the last force
+    private final ScheduledExecutorService syncer;
+
+    /** In-memory only; old records are evicted. */
+    public AuditStore() {
+        this.recentPerUser = DEFAULT_RECENT_PER_USER;
+        this.maxRecent = Integer.getInteger("bank.audit.recent.max", DEFAULT_MAX_RECENT);
+        this.spill = null;
+        this.syncer = null;
+    }
+
+    /**
+     * @param spillFile file receiving records that no longer fit in memory; kept across restarts.
+     *                  A file in an older format is moved aside to {@code <name>.old}.
+     */
+    public AuditStore(Path spillFile) throws IOException {
+        this.recentPerUser = DEFAULT_RECENT_PER_USER;
+        this.maxRecent = Integer.getInteger("bank.audit.recent.max", DEFAULT_MAX_RECENT);
+        Files.createDirectories(spillFile.toAbsolutePath().getParent());
+        if (Files.exists(spillFile) && !hasCurrentHeader(spillFile)) {
+            Files.move(spillFile, spillFile.resolveSibling(spillFile.getFileName() + ".old"),
+                    StandardCopyOption.REPLACE_EXISTING);
+        }
+        this.spill = FileChannel.open(spillFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        if (spill.size() == 0) {
+            writeFully(ByteBuffer.allocate(SPILL_HEADER).putInt(SPILL_MAGIC).putInt(SPILL_VERSION).flip(), 0);
+            spillEnd = SPILL_HEADER;
+        } else {
+            spillEnd = loadHeads(spillFile);
+            spill.truncate(spillEnd); // drops a record cut short by a crash
+        }
+        long syncMillis = Math.max(1, Long.getLong("bank.audit.sync.ms", DEFAULT_SYNC_MS));
+        this.syncer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "audit-spill-sync");
+            t.setDaemon(true);
+            return t;
+        });
+        syncer.scheduleWithFixedDelay(this::syncQuietly, syncMillis, syncMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void record(String userId, AuditAction action, String... args) {
+        Entry entry = new Entry(System.currentTimeMillis(), action, args);
+        synchronized (lock) {
+            Trail trail = trails.remove(userId); // put back last, as the most recent
+            if (trail == null) {
+                trail = new Trail();
+                Long head = spilledHeads.remove(userId);
+                trail.lastSpilledOffset = head != null ? head : NO_OFFSET;
+            }
+            trails.put(userId, trail);
+            trail.recent.addLast(entry);
+            recentTotal++;
+            while (trail.recent.size() > recentPerUser) {
+                spillOldest(userId, trail);
+            }
+            // Over the total: move out the users who recorded least recently, whole
+            Iterator<Map.Entry<String, Trail>> leastRecent = trails.entrySet().iterator();
+            while (recentTotal > maxRecent && leastRecent.hasNext()) {
+                Map.Entry<String, Trail> eldest = leastRecent.next();
+                if (eldest.getValue() == trail) {
+                    break;
+                }
+                while (!eldest.getValue().recent.isEmpty()) {
+                    spillOldest(eldest.getKey(), eldest.getValue());
+                }
+                leastRecent.remove();
+                if (eldest.getValue().lastSpilledOffset != NO_OFFSET) {
+                    spilledHeads.put(eldest.getKey(), eldest.getValue().lastSpilledOffset);
+                }
+            }
+        }
+    }
+
+    // Caller holds lock
+    private void spillOldest(String userId, Trail trail) {
+        Entry oldest = trail.recent.removeFirst();
+        recentTotal--;
+        if (spill != null) {
+            try {
+                trail.lastSpilledOffset = spillEntry(userId, oldest, trail.lastSpilledOffset);
+            } catch (IOException e) {
+                // Losing an old audit line must not fail the request being audited. The chain keeps
+                // its previous head, so only this record is lost, and the next one overwrites
+                // whatever part of it reached the file
+            }
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} of the user's most recent records with
+     * {@code fromMillis <= timestamp <= toMillis}, oldest first.
+     */
+    public List<String> query(String userId, long fromMillis, long toMillis, int limit) {
+        List<String> result = new ArrayList<>();
+        if (limit <= 0) {
+            return result;
+        }
+
+        long spilledHead;
+        synchronized (lock) {
+            Trail trail = trails.get(userId);
+            if (trail == null) {
+                Long head = spilledHeads.get(userId);
+                spilledHead = head != null ? head : NO_OFFSET;
+            } else {
+                Iterator<Entry> newestFirst = trail.recent.descendingIterator();
+                while (newestFirst.hasNext() && result.size() < limit) {
+                    Entry entry = newestFirst.next();
+                    if (entry.timestamp < fromMillis) {
+                        Collections.reverse(result);
+                        return result;
+                    }
+                    if (entry.timestamp <= toMillis) {
+                        result.add(format(userId, entry));
+                    }
+                }
+                spilledHead = trail.lastSpilledOffset;
+            }
+        }
+
+        if (spill != null) {
+            long offset = spilledHead;
+            try {
+                while (offset != NO_OFFSET && result.size() < limit) {
+                    SpilledEntry spilled = readSpilled(offset);
+                    if (spilled.entry.timestamp < fromMillis) {
+                        break;
+                    }
+                    if (spilled.entry.timestamp <= toMillis) {
+                        result.add(format(userId, spilled.entry));
+                    }
+                    offset = spilled.previousOffset;
+                }
+            } catch (IOException e) {
+                // Return what could be read
+            }
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    private static String format(String userId, Entry entry) {
+        return "[" + TIMESTAMP.format(Instant.ofEpochMilli(entry.timestamp)) + "] " + userId + " - "
+                + entry.action.render(entry.args);
+    }
+
+    // Spill record: [int length][body][int crc32], where the body is [long previousOffset]
+    // [long timestamp][byte action][byte argCount][int len][utf8 userId]([int len][utf8])*;
+    // caller holds lock
+    private long spillEntry(String userId, Entry entry, long previousOffset) throws IOException {
+        byte[] user = userId.getBytes(StandardCharsets.UTF_8);
+        byte[][] encoded = new byte[entry.args == null ? 0 : entry.args.length][];
+        int length = MIN_BODY + user.length;
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = String.valueOf(entry.args[i]).getBytes(StandardCharsets.UTF_8);
+            length += 4 + encoded[i].length;
+        }
+        ByteBuffer buf = ByteBuffer.allocate(RECORD_OVERHEAD + length);
+        buf.putInt(length).putLong(previousOffset).putLong(entry.timestamp)
+                .put((byte) entry.action.ordinal()).put((byte) encoded.length)
+                .putInt(user.length).put(user);
+        for (byte[] arg : encoded) {
+            buf.putInt(arg.length).put(arg);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buf.array(), 4, length);
+        buf.putInt((int) crc.getValue());
+        buf.flip();
+        long offset = spillEnd;
+        writeFully(buf, offset);
+        spillEnd += buf.capacity();
+        unsynced = true;
+        return offset;
+    }
+
+    private void writeFully(ByteBuffer buf, long offset) throws IOException {
+        while (buf.hasRemaining()) {
+            spill.write(buf, offset + buf.position());
+        }
+    }
+
+    private static boolean hasCurrentHeader(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(SPILL_HEADER);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading
+            }
+            return channel.size() == 0
+                    || (!header.hasRemaining() && header.getInt(0) == SPILL_MAGIC && header.getInt(4) == SPILL_VERSION);
+        }
+    }
+
+    // Scans the spill file for each user's newest record; returns where the last intact record ends
+    private long loadHeads(Path file) throws IOException {
+        long fileSize = Files.size(file);
+        long position = SPILL_HEADER;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            in.skipNBytes(SPILL_HEADER);
+            byte[] body = new byte[256];
+            CRC32 crc = new CRC32();
+            while (fileSize - position >= RECORD_OVERHEAD + MIN_BODY) {
+                int length = in.readInt();
+                if (length < MIN_BODY || length > fileSize - position - RECORD_OVERHEAD) {
+                    break;
+                }
+                if (body.length < length) {
+                    body = new byte[Math.max(length, body.length * 2)];
+                }
+                in.readFully(body, 0, length);
+                crc.reset();
+                crc.update(body, 0, length);
+                if ((int) crc.getValue() != in.readInt()) {
+                    break;
+                }
+                ByteBuffer record = ByteBuffer.wrap(body, 0, length);
+                int userLength = record.getInt(8 + 8 + 1 + 1);
+                if (userLength < 0 || userLength > length - MIN_BODY) {
+                    break;
+                }
+                spilledHeads.put(new String(body, MIN_BODY, userLength, StandardCharsets.UTF_8), position);
+                position += RECORD_OVERHEAD + length;
+            }
+            return position;
+        } catch (IOException | RuntimeException e) {
+            throw new IOException("Could not read audit spill file " + file, e);
+        }
+    }
+
+    private static final class SpilledEntry {
+        final long previousOffset;
+        final Entry entry;
+
+        SpilledEntry(long previousOffset, Entry entry) {
+            this.previousOffset = previousOffset;
+            this.entry = entry;
+        }
+    }
+
+    private SpilledEntry readSpilled(long offset) throws IOException {
+        int length = readFully(offset, 4).getInt();
+        if (length < MIN_BODY) {
+            throw new IOException("Corrupt audit spill record at " + offset);
+        }
+        ByteBuffer body = readFully(offset + 4, length + 4);
+        CRC32 crc = new CRC32();
+        crc.update(body.array(), 0, length);
+        if ((int) crc.getValue() != body.getInt(length)) {
+            throw new IOException("Corrupt audit spill record at " + offset);
+        }
+        long previous = body.getLong();
+        long timestamp = body.getLong();
+        int ordinal = body.get();
+        if (ordinal < 0 || ordinal >= AuditAction.values().length) {
+            throw new IOException("Corrupt audit spill record at " + offset);
+        }
+        AuditAction action = AuditAction.values()[ordinal];
+        int argCount = body.get() & 0xFF;
+        int userLength = body.getInt();
+        body.position(body.position() + userLength); // past the user id
+        String[] args = new String[argCount];
+        for (int i = 0; i < argCount; i++) {
+            int len = body.getInt();
+            args[i] = new String(body.array(), body.position(), len, StandardCharsets.UTF_8);
+            body.position(body.position() + len);
+        }
+        return new SpilledEntry(previous, new Entry(timestamp, action, args));
+    }
+
+    private ByteBuffer readFully(long position, int length) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(length);
+        while (buf.hasRemaining()) {
+            if (spill.read(buf, position + buf.position()) < 0) {
+                throw new IOException("Unexpected end of audit spill file");
+            }
+        }
+        buf.flip();
+        return buf;
+    }
+
+    private void syncQuietly() {
+        if (!unsynced) {
+            return;
+        }
+        unsynced = false;
+        try {
+            spill.force(false);
+        } catch (IOException e) {
+            unsynced = true; // try again next time
+        }
+    }
+
+    /** Spills the records still in memory, so they are there after a restart, and closes the file. */
+    @Override
+    public void close() throws IOException {
+        if (spill == null) {
+            return;
+        }
+        syncer.shutdown(); // not shutdownNow: interrupting a force would close the channel
+        synchronized (lock) {
+            for (Map.Entry<String, Trail> trail : trails.entrySet()) {
+                while (!trail.getValue().recent.isEmpty()) {
+                    spillOldest(trail.getKey(), trail.getValue());
+                }
+            }
+            trails.clear();
+            spill.force(false);
+            spill.close();
+        }
+    }
+}
@@ -1,37 +1,185 @@
 package com.example.banksystem3.server.auth;
 
 import com.example.banksystem3.shared.*;
-import com.example.banksystem3.server.utils.LogUtil;
+import com.example.banksystem3.server.audit.AuditAction;
+import com.example.banksystem3.server.audit.AuditStore;
+import com.example.banksystem3.server.ledger.AccountLocks;
+import com.example.banksystem3.server.ledger.AccountNumberGenerator;
+import com.example.banksystem3.server.ledger.BinaryReader;
+import com.example.banksystem3.server.ledger.BinaryWriter;
+import com.example.banksystem3.server.ledger.IdSequence;
+import com.example.banksystem3.server.ledger.LedgerAggregates;
+import com.example.banksystem3.server.ledger.LedgerCodec;
+import com.example.banksystem3.server.ledger.LedgerJournal;
+import com.example.banksystem3.server.ledger.LedgerSnapshot;
+import com.example.banksystem3.server.ledger.TransactionHistory;
+import com.example.banksystem3.server.notify.AccountChangeNotifier;
+import com.example.banksystem3.server.onboarding.CustomerImport;
+import com.example.banksystem3.server.search.CustomerSearchIndex;
+import com.example.banksystem3.server.utils.AsyncLogger;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.rmi.RemoteException;
 import java.rmi.server.UnicastRemoteObject;
 import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 public class BankServiceImpl extends UnicastRemoteObject implements BankService {
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int TOP_ACCOUNTS = 10;
+    private static final long FIRST_CUSTOMER_ID = 1000;
+    private static final long CUSTOMER_ID_BATCH = 1000;
+    private static final long ACCOUNT_SERIAL_BATCH = 1000;
+    private static final int LEDGER_FAILURE_EXIT_CODE = 70;
+    // How long a finished import's status can still be polled; its error file is kept regardless
+    private static final long IMPORT_RETENTION_MS = TimeUnit.MINUTES.toMillis(Long.getLong("bank.import.retention.minutes", 60));
+
     private final AuthService authService;
-    private final Map<String, Customer> customers;
+    private final SessionTable sessions;
+    private final ConcurrentNavigableMap<String, Customer> customers; // ordered by id for paging
+    private final CustomerSearchIndex customerIndex;
     private final Map<String, Account> accounts;
-    private final Map<String, List<Transaction>> transactions;
-    private final Map<String, List<String>> auditTrails;
-    private final List<String> systemLogs;
-    private int accountCounter = 999999;
-    private int customerCounter = 999;
+    private final NavigableSet<String> accountIdOrder; // account ids in paging order
+    private final Map<String, Account> accountsByNumber; // accountNumber -> Account
+    private final AccountNumberGenerator accountNumbers;
+    private final Map<String, Set<String>> customerAccountIds; // customerId -> accountIds, in creation order
+    private final Map<String, TransactionHistory> transactions;
+    private final LedgerAggregates aggregates;
+    private final AuditStore auditStore;
+    private final AsyncLogger systemLog;
+    private final AccountChangeNotifier changeNotifier;
+    private final AccountLocks accountLocks;
+    private final AccountLocks customerLocks; // keyed by customer/user id; orders their changes with their journal records
+    private final LedgerJournal journal; // null when running purely in memory
+    private final Path dataDir;
+    private final ScheduledExecutorService snapshotScheduler;
+    private final Object snapshotLock = new Object();
+    private Map<String, Long> snapshotPositions; // accountId -> journal position, only while recovering
+    private final IdSequence customerIds;
+    private final Path importDir; // CSV files importCustomers may read
+    private final Map<String, CustomerImport> imports = new ConcurrentHashMap<>(); // jobId -> import, until expired
 
     public BankServiceImpl() throws RemoteException {
+        this(null);
+    }
+
+    /**
+     * @param dataDir directory holding the ledger journal; {@code null} keeps all state in memory only
+     */
+    public BankServiceImpl(Path dataDir) throws RemoteException {
         super();
         this.authService = new AuthService();
-        this.customers = new ConcurrentHashMap<>();
+        this.sessions = new SessionTable(TimeUnit.MINUTES.toMillis(Long.getLong("bank.session.idle.minutes", 30)));
+        this.customers = new ConcurrentSkipListMap<>();
+        this.customerIndex = new CustomerSearchIndex();
         this.accounts = new ConcurrentHashMap<>();
+        this.accountIdOrder = new ConcurrentSkipListSet<>();
+        this.accountsByNumber = new ConcurrentHashMap<>();
+        this.customerAccountIds = new ConcurrentHashMap<>();
         this.transactions = new ConcurrentHashMap<>();
-        this.auditTrails = new ConcurrentHashMap<>();
-        this.systemLogs = Collections.synchronizedList(new ArrayList<>());
+        this.aggregates = new LedgerAggregates();
+        this.systemLog = new AsyncLogger();
+        this.accountLocks = new AccountLocks();
+        this.customerLocks = new AccountLocks();
+        this.changeNotifier = new AccountChangeNotifier();
+
+        this.dataDir = dataDir;
+        try {
+            this.auditStore = dataDir != null ? new AuditStore(dataDir.resolve("audit.spill")) : new AuditStore();
+        } catch (IOException e) {
+            throw new RemoteException("Could not open audit store in " + dataDir, e);
+        }
+        try {
+            this.customerIds = new IdSequence(dataDir != null ? dataDir.resolve("customer-ids.seq") : null,
+                    FIRST_CUSTOMER_ID, CUSTOMER_ID_BATCH);
+        } catch (IOException e) {
+            throw new RemoteException("Could not open customer ID sequence in " + dataDir, e);
+        }
+        try {
+            IdSequence serials = new IdSequence(dataDir != null ? dataDir.resolve("account-serials.seq") : null,
+                    AccountNumberGenerator.FIRST_SERIAL, ACCOUNT_SERIAL_BATCH);
+            this.accountNumbers = new AccountNumberGenerator(serials, accountsByNumber::containsKey);
+        } catch (IOException e) {
+            throw new RemoteException("Could not open account number sequence in " + dataDir, e);
+        }
+        String importDirName = System.getProperty("bank.import.dir");
+        this.importDir = (importDirName != null ? Path.of(importDirName)
+                : dataDir != null ? dataDir.resolve("import") : Path.of("import")).toAbsolutePath().normalize();
+
+        // Recovery runs before the journal field is assigned, so replayed mutations are not re-journaled
+        boolean recovered = false;
+        LedgerJournal ledgerJournal = null;
+        if (dataDir != null) {
+            try {
+                Files.createDirectories(dataDir);
+                long started = System.currentTimeMillis();
+                snapshotPositions = new HashMap<>();
+                int generation = LedgerSnapshot.loadLatest(dataDir, new SnapshotLoader());
+                ledgerJournal = LedgerJournal.open(dataDir);
+                long replayed = ledgerJournal.replay(generation, this::applyJournalRecord);
+                snapshotPositions = null;
+                recovered = generation > 0 || replayed > 0;
+                if (recovered) {
+                    log("INFO", "Recovered " + accounts.size() + " accounts from snapshot " + generation
+                            + " and " + replayed + " journal records in " + (System.currentTimeMillis() - started) + " ms");
+                }
+            } catch (IOException e) {
+                throw new RemoteException("Could not recover ledger from " + dataDir, e);
+            }
+        }
+        this.journal = ledgerJournal;
+
+        if (!recovered) {
+            initializeSampleData();
+        }
 
-        initializeSampleData();
+        if (journal != null) {
+            long interval = Long.getLong("bank.snapshot.interval.minutes", 15);
+            this.snapshotScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "ledger-snapshot");
+                t.setDaemon(true);
+                return t;
+            });
+            snapshotScheduler.scheduleWithFixedDelay(this::snapshotQuietly, interval, interval, TimeUnit.MINUTES);
+        } else {
+            this.snapshotScheduler = null;
+        }
         log("INFO", "Bank Server initialized successfully");
     }
 
+    /** Takes a final snapshot, then flushes and closes the ledger journal. */
+    public void shutdown() {
+        changeNotifier.close();
+        sessions.close();
+        if (journal != null) {
+            snapshotScheduler.shutdownNow();
+            snapshotQuietly();
+            try {
+                journal.close();
+            } catch (IOException e) {
+                log("ERROR", "Failed to close ledger journal: " + e.getMessage());
+            }
+        }
+        try {
+            auditStore.close();
+        } catch (IOException e) {
+            log("ERROR", "Failed to close audit store: " + e.getMessage());
+        }
+        systemLog.close();
+    }
+
     private void initializeSampleData() {
         String[] firstNames = {
             "Abebe", "Kebede", "Almaz", "Tigist", "Mohammed", "Sara", "Dawit", 
@@ -84,16 +232,338 @@ public class BankServiceImpl extends UnicastRemoteObject implements BankService
         // Sample data removed
     }
 
+    // Ledger journal
+    // Postings are journaled under the account lock before the balance changes; other mutations
+    // are journaled right after they are applied. Either way the caller is only answered once the
+    // record is durable (group commit in LedgerJournal).
+    private long journal(byte type, BinaryWriter record) throws RemoteException {
+        try {
+            return journal.append(type, record);
+        } catch (IOException e) {
+            if (journal.isFailed()) {
+                failStop(e);
+            }
+            throw new RemoteException("Ledger journal write failed", e);
+        }
+    }
+
+    // By now the change is applied and visible, so the caller gets no failure for it: either it is
+    // durable, or the server stops and the client sees the connection drop as in a crash
+    private void awaitDurable(long ticket) {
+        if (ticket < 0) {
+            return;
+        }
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    journal.awaitDurable(ticket);
+                    return;
+                } catch (InterruptedIOException e) {
+                    Thread.interrupted(); // keep waiting; the interrupt is restored below
+                    interrupted = true;
+                } catch (IOException | UncheckedIOException e) {
+                    failStop(e);
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Stops the process after a journal failure. Memory may now hold changes the disk does not,
+     * so nothing more is answered or written, not even the shutdown snapshot; the next start
+     * recovers from what reached the disk.
+     */
+    private void failStop(Exception cause) {
+        StringWriter trace = new StringWriter();
+        cause.printStackTrace(new PrintWriter(trace));
+        systemLog.log("SEVERE", "Ledger journal failed, stopping the server: {}", trace);
+        systemLog.close(); // returns once the entry is written
+        Runtime.getRuntime().halt(LEDGER_FAILURE_EXIT_CODE);
+    }
+
+    // Refuses a change whose record the journal could never take, before it is applied: once
+    // applied and visible it could be neither journaled nor taken back
+    private void checkJournalable(BinaryWriter record) throws RemoteException {
+        try {
+            journal.checkFits(record);
+        } catch (IOException e) {
+            throw new RemoteException("Change too large for the ledger journal", e);
+        }
+    }
+
+    private long journalPosting(Transaction transaction, long amountMinor, long balanceAfterMinor) throws RemoteException {
+        if (journal == null) {
+            return -1;
+        }
+        BinaryWriter record = new BinaryWriter();
+        LedgerCodec.writePosting(record, transaction, amountMinor, balanceAfterMinor);
+        return journal(LedgerJournal.POSTING, record);
+    }
+
+    // Snapshot / recovery
+    // A snapshot starts a new journal generation, then copies each account under its lock together
+    // with the journal position at that moment. Replay from that generation skips account records
+    // ending at or before the account's position, since the snapshot already contains them.
+    private class SnapshotLoader implements LedgerSnapshot.Loader {
+        @Override
+        public void onUser(User user) {
+            addUser(user);
+        }
+
+        @Override
+        public void onCustomer(Customer customer) {
+            putCustomer(customer);
+        }
+
+        @Override
+        public void onAccount(Account account, long journalPosition, List<Transaction> history) {
+            accounts.put(account.getAccountId(), account);
+            accountIdOrder.add(account.getAccountId());
+            if (account.getAccountNumber() != null) {
+                accountsByNumber.put(account.getAccountNumber(), account);
+            }
+            indexCustomerAccount(account.getCustomerId(), account.getAccountId());
+            TransactionHistory loaded = new TransactionHistory(history);
+            transactions.put(account.getAccountId(), loaded);
+            aggregates.accountAdded(account);
+            aggregates.historyLoaded(loaded);
+            snapshotPositions.put(account.getAccountId(), journalPosition);
+        }
+    }
+
+    private boolean inSnapshot(String accountId, long position) {
+        Long snapshotPosition = snapshotPositions.get(accountId);
+        return snapshotPosition != null && position <= snapshotPosition;
+    }
+
+    private void snapshotQuietly() {
+        try {
+            takeSnapshot();
+        } catch (Exception e) {
+            log("ERROR", "Ledger snapshot failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes a snapshot of customers, users, accounts and histories without pausing postings,
+     * then drops journal generations and snapshots no longer needed for recovery.
+     * The previous snapshot and its journal are kept as a fallback.
+     */
+    public void takeSnapshot() throws IOException {
+        if (journal == null) {
+            return;
+        }
+        synchronized (snapshotLock) {
+            long started = System.currentTimeMillis();
+            List<Integer> existing = LedgerSnapshot.generations(dataDir);
+            int generation = journal.rotate();
+            int accountCount = 0;
+            try (LedgerSnapshot.Writer writer = new LedgerSnapshot.Writer(dataDir, generation)) {
+                for (User user : authService.getAllUsers()) {
+                    writer.writeUser(user);
+                }
+                for (Customer customer : customers.values()) {
+                    writer.writeCustomer(customer);
+                }
+                for (String accountId : accounts.keySet()) {
+                    Account copy;
+                    List<Transaction> history;
+                    long position;
+                    accountLocks.lock(accountId);
+                    try {
+                        Account account = accounts.get(accountId);
+                        if (account == null) {
+                            continue;
+                        }
+                        position = journal.position();
+                        copy = LedgerCodec.copyOf(account);
+                        history = transactions.get(accountId).toList();
+                    } finally {
+                        accountLocks.unlock(accountId);
+                    }
+                    writer.writeAccount(copy, position, history);
+                    accountCount++;
+                }
+                writer.commit();
+            }
+            int keepFrom = existing.isEmpty() ? generation : existing.get(0);
+            journal.deleteGenerationsBefore(keepFrom);
+            LedgerSnapshot.deleteBefore(dataDir, keepFrom);
+            log("INFO", "Ledger snapshot " + generation + " written: " + accountCount + " accounts in "
+                    + (System.currentTimeMillis() - started) + " ms");
+        }
+    }
+
+    private void applyJournalRecord(byte type, BinaryReader in, long position) throws IOException {
+        switch (type) {
+            case LedgerJournal.REGISTER_USER: {
+                User user = LedgerCodec.readUser(in);
+                addUser(user);
+                if (in.getBoolean()) {
+                    putCustomer(customerFor(user));
+                    Account account = LedgerCodec.readAccount(in);
+                    if (!inSnapshot(account.getAccountId(), position)) {
+                        insertAccount(account);
+                    }
+                }
+                break;
+            }
+            case LedgerJournal.ADD_CUSTOMER: {
+                Customer customer = LedgerCodec.readCustomer(in);
+                putCustomer(customer);
+                if (in.getBoolean()) {
+                    addUser(LedgerCodec.readUser(in));
+                }
+                break;
+            }
+            case LedgerJournal.UPDATE_CUSTOMER: {
+                Customer customer = LedgerCodec.readCustomer(in);
+                putCustomer(customer);
+                syncUserDetails(customer);
+                break;
+            }
+            case LedgerJournal.UPDATE_USER: {
+                User user = LedgerCodec.readUser(in);
+                authService.removeUser(user.getUsername());
+                addUser(user);
+                break;
+            }
+            case LedgerJournal.DELETE_CUSTOMER:
+                removeCustomer(in.getString());
+                break;
+            case LedgerJournal.CREATE_ACCOUNT: {
+                Account account = LedgerCodec.readAccount(in);
+                if (!inSnapshot(account.getAccountId(), position)) {
+                    insertAccount(account);
+                }
+                break;
+            }
+            case LedgerJournal.UPDATE_ACCOUNT: {
+                Account account = LedgerCodec.readAccount(in);
+                if (!inSnapshot(account.getAccountId(), position)) {
+                    replaceAccount(account);
+                }
+                break;
+            }
+            case LedgerJournal.CLOSE_ACCOUNT: {
+                String accountId = in.getString();
+                Account account = accounts.get(accountId);
+                if (account != null && !inSnapshot(accountId, position)) {
+                    aggregates.statusChanged(account.getStatus(), "CLOSED");
+                    account.setStatus("CLOSED");
+                }
+                break;
+            }
+            case LedgerJournal.POSTING:
+                applyPosting(LedgerCodec.readPosting(in), position);
+                break;
+            case LedgerJournal.TRANSFER:
+                applyPosting(LedgerCodec.readPosting(in), position);
+                applyPosting(LedgerCodec.readPosting(in), position);
+                break;
+            default:
+                throw new IOException("Unknown ledger journal record type: " + type);
+        }
+    }
+
+    private void applyPosting(LedgerCodec.Posting posting, long position) {
+        String accountId = posting.transaction.getAccountId();
+        if (inSnapshot(accountId, position)) {
+            return;
+        }
+        Account account = accounts.get(accountId);
+        if (account == null) {
+            log("WARN", "Journal posting for unknown account skipped: " + accountId);
+            return;
+        }
+        aggregates.balanceChanged(accountId, account.getBalanceMinor(), posting.balanceAfterMinor);
+        account.setBalanceMinor(posting.balanceAfterMinor);
+        transactions.get(accountId).add(posting.transaction);
+        aggregates.transactionPosted(posting.transaction);
+    }
+
+    // Entries are formatted and printed by the logger's background thread
     private void log(String level, String message) {
-        String logEntry = LogUtil.formatLog(level, message);
-        systemLogs.add(logEntry);
-        System.out.println(logEntry);
+        systemLog.log(level, message);
+    }
+
+    private void log(String level, String template, Object a0) {
+        systemLog.log(level, template, a0);
+    }
+
+    private void log(String level, String template, Object a0, Object a1) {
+        systemLog.log(level, template, a0, a1);
+    }
+
+    private void log(String level, String template, Object a0, Object a1, Object a2) {
+        systemLog.log(level, template, a0, a1, a2);
+    }
+
+    private void log(String level, String template, Object a0, Object a1, Object a2, Object a3) {
+        systemLog.log(level, template, a0, a1, a2, a3);
     }
 
-    private void audit(String userId, String action) {
-        String auditEntry = LogUtil.formatInfo(userId + " - " + action);
-        auditTrails.computeIfAbsent(userId, k -> Collections.synchronizedList(new ArrayList<>()))
-                .add(auditEntry);
+    // Posting amounts and counts go through these so they are not boxed
+
+    private void log(String level, String template, long a0, Object a1) {
+        systemLog.log(level, template, a0, a1);
+    }
+
+    private void log(String level, String template, Object a0, long a1) {
+        systemLog.log(level, template, a0, a1);
+    }
+
+    private void log(String level, String template, long a0, Object a1, Object a2) {
+        systemLog.log(level, template, a0, a1, a2);
+    }
+
+    private void log(String level, String template, long a0, Object a1, Object a2, Object a3) {
+        systemLog.log(level, template, a0, a1, a2, a3);
+    }
+
+    private void log(String level, String template, long a0, long a1, long a2, long a3) {
+        systemLog.log(level, template, a0, a1, a2, a3);
+    }
+
+    private void indexCustomerAccount(String customerId, String accountId) {
+        if (customerId == null) return;
+        customerAccountIds.computeIfAbsent(customerId, k -> Collections.synchronizedSet(new LinkedHashSet<>()))
+                .add(accountId);
+    }
+
+    private void unindexCustomerAccount(String customerId, String accountId) {
+        if (customerId == null) return;
+        customerAccountIds.computeIfPresent(customerId, (k, ids) -> {
+            ids.remove(accountId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    // Resolves the indexed account ids of a customer, skipping ids that no longer resolve
+    private List<Account> accountsOf(String customerId) {
+        Set<String> ids = customerId == null ? null : customerAccountIds.get(customerId);
+        if (ids == null) {
+            return new ArrayList<>();
+        }
+        List<Account> result = new ArrayList<>(ids.size());
+        synchronized (ids) {
+            for (String id : ids) {
+                Account account = accounts.get(id);
+                if (account != null) {
+                    result.add(account);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void audit(String userId, AuditAction action, String... args) {
+        auditStore.record(userId, action, args);
     }
 
     // Authentication Methods
@@ -102,19 +572,72 @@ public class BankServiceImpl extends UnicastRemoteObject implements BankService
         User user = authService.authenticate(username, password);
         if (user != null) {
             log("INFO", "User logged in: " + username);
-            audit(user.getUserId(), "Login successful");
+            audit(user.getUserId(), AuditAction.LOGIN);
             return user;
         }
         log("WARN", "Failed login attempt: " + username);
         return null;
     }
 
+    // The password is checked here only; later calls present the token, which is a map lookup
+    @Override
+    public LoginSession openSession(String username, String password) throws RemoteException {
+        User user = login(username, password);
+        if (user == null) {
+            return null;
+        }
+        return new LoginSession(sessions.open(user), withoutPassword(user), sessions.idleTimeoutMillis());
+    }
+
+    @Override
+    public User getSessionUser(String token) throws RemoteException {
+        User user = sessions.touch(token);
+        return user != null ? withoutPassword(user) : null;
+    }
+
+    // The user stays logged in while another of their sessions (or a plain login) is still open
+    @Override
+    public boolean closeSession(String token) throws RemoteException {
+        User user = sessions.close(token);
+        if (user == null) {
+            return false;
+        }
+        if (!sessions.hasSessions(user.getUserId())) {
+            authService.logout(user.getUserId());
+        }
+        log("INFO", "User logged out: " + user.getUserId());
+        audit(user.getUserId(), AuditAction.LOGOUT);
+        return true;
+    }
+
+    // Sessions hold the server's own User, which must not leave it with the password
+    private static User withoutPassword(User user) {
+        User copy = new User(user.getUserId(), user.getUsername(), null, user.getFullName(), user.getRole());
+        copy.setNationalId(user.getNationalId());
+        copy.setPhone(user.getPhone());
+        copy.setEmail(user.getEmail());
+        copy.setDateOfBirth(user.getDateOfBirth());
+        copy.setGender(user.getGender());
+        copy.setAddress(user.getAddress());
+        copy.setCity(user.getCity());
+        copy.setState(user.getState());
+        copy.setCountry(user.getCountry());
+        copy.setStreetAddress(user.getStreetAddress());
+        copy.setStatus(user.getStatus());
+        copy.setRegistrationDate(user.getRegistrationDate());
+        copy.setCustomerId(user.getCustomerId());
+        copy.setAccountType(user.getAccountType());
+        copy.setBalance(user.getBalance());
+        return copy;
+    }
+
     @Override
     public boolean logout(String userId) throws RemoteException {
         boolean success = authService.logout(userId);
+        sessions.closeAll(userId, null);
         if (success) {
             log("INFO", "User logged out: " + userId);
-            audit(userId, "Logout");
+            audit(userId, AuditAction.LOGOUT);
         }
         return success;
     }
@@ -123,19 +646,48 @@ public class BankServiceImpl extends UnicastRemoteObject implements BankService
     public boolean changePassword(String userId, String oldPassword, String newPassword) throws RemoteException {
         User user = authService.getUserById(userId);
         if (user != null) {
-            return authService.changePassword(user.getUsername(), oldPassword, newPassword);
+            return changePassword(user, oldPassword, newPassword, null);
         }
         log("WARN", "Password change failed: User ID not found: " + userId);
         return false;
     }
 
+    @Override
+    public boolean changeSessionPassword(String token, String oldPassword, String newPassword) throws RemoteException {
+        User user = sessions.touch(token);
+        return user != null && changePassword(user, oldPassword, newPassword, token);
+    }
+
+    // Sessions opened with the old password end, except the one that made the change
+    private boolean changePassword(User user, String oldPassword, String newPassword, String keepToken) throws RemoteException {
+        String userId = user.getUserId();
+        long ticket = -1;
+        customerLocks.lock(userId);
+        try {
+            if (!authService.changePassword(user.getUsername(), oldPassword, newPassword)) {
+                return false;
+            }
+            if (journal != null) {
+                BinaryWriter record = new BinaryWriter(256);
+                LedgerCodec.writeUser(record, user);
+                ticket = journal(LedgerJournal.UPDATE_USER, record);
+            }
+        } finally {
+            customerLocks.unlock(userId);
+        }
+        sessions.closeAll(userId, keepToken);
+        awaitDurable(ticket);
+        return true;
+    }
+
     @Override
     public boolean registerUser(User user, Account account) throws RemoteException {
         // --- ROBUST REGISTRATION LOGIC ---
         // This logic ensures that if account creation fails, the user is not left orphaned.
+        assignUserId(user);
 
         // 1. Add the user first.
-        if (!authService.addUser(user)) {
+        if (!addUser(user)) {
             log("WARN", "Registration failed: Username '" + user.getUsername() + "' already exists.");
             return false; // User already exists
         }
@@ -143,44 +695,82 @@ public class BankServiceImpl extends UnicastRemoteObject implements BankService
         // 2. If an account is provided (for a CUSTOMER), create it.
         if (account != null) {
             // Also create a corresponding Customer object from the User details
-            Customer newCustomer = new Customer(
-                    user.getUserId(),
-                    user.getFullName(),
-                    user.getPhone(),
-                    user.getAddress(),
-                    user.getDateOfBirth()
-            );
-            customers.put(newCustomer.getCustomerId(), newCustomer);
+            Customer newCustomer = customerFor(user);
+            putCustomer(newCustomer);
 
             account.setCustomerId(user.getUserId());
-            // Always ensure system-generated 7-digit numeric account number
-            if (account.getAccountNumber() == null
-                    || account.getAccountNumber().isBlank()
-                    || "TEMP_ACC_NUM".equalsIgnoreCase(account.getAccountNumber())
-                    || !account.getAccountNumber().matches("\\d{7}")) {
+            // Always ensure a system-generated account number (this also replaces "TEMP_ACC_NUM")
+            if (!AccountNumberGenerator.isValid(account.getAccountNumber())) {
                 account.setAccountNumber(generateAccountNumber());
             }
-            if (!createAccount(account)) {
+            // Journal the registration under the account lock so no posting to the new
+            // account can reach the journal ahead of it
+            long ticket = -1;
+            boolean created;
+            accountLocks.lock(account.getAccountId());
+            try {
+                created = insertAccount(account);
+                if (created) {
+                    ticket = journalRegistration(user, account);
+                }
+            } finally {
+                accountLocks.unlock(account.getAccountId());
+            }
+            if (!created) {
                 authService.removeUser(user.getUsername()); // Rollback user creation
-                customers.remove(newCustomer.getCustomerId()); // Rollback customer creation
+                removeCustomer(newCustomer.getCustomerId()); // Rollback customer creation
                 log("ERROR", "Registration failed: Could not create account for user '" + user.getUsername() + "'. User creation rolled back.");
                 return false; // Account creation failed
             }
+            awaitDurable(ticket);
             log("INFO", "Registered new user '" + user.getUsername() + "' with account " + account.getAccountNumber());
-            audit(user.getUserId(), "User and initial account created.");
+            audit(user.getUserId(), AuditAction.USER_WITH_ACCOUNT_CREATED);
         } else {
             // For ADMIN or other roles that don't need an account.
+            awaitDurable(journalRegistration(user, null));
             log("INFO", "Registered new user '" + user.getUsername() + "' without an account.");
-            audit(user.getUserId(), "Admin user created.");
+            audit(user.getUserId(), AuditAction.ADMIN_CREATED);
         }
         return true;
     }
 
+    // A user sent without an id gets the next customer id
+    private void assignUserId(User user) throws RemoteException {
+        if (user.getUserId() == null || user.getUserId().isBlank()) {
+            user.setUserId(generateCustomerId());
+        }
+    }
+
+    private long journalRegistration(User user, Account account) throws RemoteException {
+        if (journal == null) {
+            return -1;
+        }
+        BinaryWriter record = new BinaryWriter(256);
+        LedgerCodec.writeUser(record, user);
+        record.putBoolean(account != null);
+        if (account != null) {
+            LedgerCodec.writeAccount(record, account);
+        }
+        return journal(LedgerJournal.REGISTER_USER, record);
+    }
+
+    private static Customer customerFor(User user) {
+        return new Customer(
+                user.getUserId(),
+                user.getFullName(),
+                user.getPhone(),
+                user.getAddress(),
+                user.getDateOfBirth()
+        );
+    }
+
     @Override
     public boolean registerUser(User user) throws RemoteException {
-        if (authService.addUser(user)) {
+        assignUserId(user);
+        if (addUser(user)) {
+            awaitDurable(journalRegistration(user, null));
             log("INFO", "Registered new user without an account: " + user.getUsername());
-            audit(user.getUserId(), "User registered without an account.");
+            audit(user.getUserId(), AuditAction.USER_REGISTERED);
             return true;
         }
         return false;
@@ -189,36 +779,65 @@ public class BankServiceImpl extends UnicastRemoteObject implements BankService
     // Customer Management
     @Override
     public boolean addCustomer(Customer customer, User user) throws RemoteException {
-        if (customers.containsKey(customer.getCustomerId())) {
-            return false;
+        BinaryWriter record = null;
+        if (journal != null) {
+            record = new BinaryWriter(256);
+            LedgerCodec.writeCustomer(record, customer);
+            record.putBoolean(user != null);
+            if (user != null) {
+                LedgerCodec.writeUser(record, user);
+            }
+            checkJournalable(record);
         }
 
-        customers.put(customer.getCustomerId(), customer);
+        if (customers.putIfAbsent(customer.getCustomerId(), customer) != null) {
+            return false;
+        }
+        customerIndex.put(customer);
+        customerIds.observe(customer.getCustomerId());
 
         if (user != null) {
-            authService.addUser(user);
+            addUser(user);
+        }
+
+        if (record != null) {
+            awaitDurable(journal(LedgerJournal.ADD_CUSTOMER, record));
         }
 
         log("INFO", "Customer added: " + customer.getName() + " (" + customer.getCustomerId() + ")");
-        audit(user != null ? user.getUserId() : "SYSTEM", "Added customer: " + customer.getCustomerId());
+        audit(user != null ? user.getUserId() : "SYSTEM", AuditAction.CUSTOMER_ADDED, customer.getCustomerId());
         return true;
     }
 
     @Override
     public boolean updateCustomer(Customer customer) throws RemoteException {
-        if (!customers.containsKey(customer.getCustomerId())) {
-            return false;
+        // Applied and journaled under the customer's lock, so replay sees updates in the order they were applied
+        BinaryWriter record = null;
+        if (journal != null) {
+            record = new BinaryWriter();
+            LedgerCodec.writeCustomer(record, customer);
+            checkJournalable(record);
         }
-        customers.put(customer.getCustomerId(), customer);
+        long ticket = -1;
+        User userToUpdate;
+        customerLocks.lock(customer.getCustomerId());
+        try {
+            if (!customers.containsKey(customer.getCustomerId())) {
+                return false;
+            }
+            putCustomer(customer);
+            // Also update the corresponding User object to maintain data consistency
+            userToUpdate = syncUserDetails(customer);
+            if (record != null) {
+                ticket = journal(LedgerJournal.UPDATE_CUSTOMER, record);
+            }
+        } finally {
+            customerLocks.unlock(customer.getCustomerId());
+        }
+        awaitDurable(ticket);
         log("INFO", "Customer updated: " + customer.getCustomerId());
 
-        // Also update the corresponding User object to maintain data consistency
-        User userToUpdate = authService.getUserById(customer.getCustomerId());
         if (userToUpdate != null) {
-            userToUpdate.setFullName(customer.getName());
-            userToUpdate.setPhone(customer.getPhone());
-            userToUpdate.setAddress(customer.getAddress());
-            userToUpdate.setDateOfBirth(customer.getDob());
             log("INFO", "Synced user details for: " + userToUpdate.getUsername());
         } else {
             log("WARN", "Could not find corresponding User to sync for customer ID: " + customer.getCustomerId());
@@ -227,25 +846,153 @@ public class BankServiceImpl extends UnicastRemoteObject implements BankService
         return true;
     }
 
+    private User syncUserDetails(Customer customer) {
+        User userToUpdate = authService.getUserById(customer.getCustomerId());
+        if (userToUpdate != null) {
+            userToUpdate.setFullName(customer.getName());
+            userToUpdate.setPhone(customer.getPhone());
+            userToUpdate.setAddress(customer.getAddress());
+            userToUpdate.setDateOfBirth(customer.getDob());
+        }
+        return userToUpdate;
+    }
+
     @Override
     public boolean deleteCustomer(String customerId) throws RemoteException {
-        if (!customers.containsKey(customerId)) {
-            return false;
+        long ticket = -1;
+        customerLocks.lock(customerId);
+        try {
+            if (!customers.containsKey(customerId)) {
+                return false;
+            }
+
+            // Check if customer has active accounts
+            boolean hasActiveAccounts = accountsOf(customerId).stream()
+                    .anyMatch(account -> "ACTIVE".equals(account.getStatus()));
+
+            if (hasActiveAccounts) {
+                log("WARN", "Cannot delete customer with active accounts: " + customerId);
+                return false;
+            }
+
+            removeCustomer(customerId);
+            if (journal != null) {
+                ticket = journal(LedgerJournal.DELETE_CUSTOMER, new BinaryWriter().putString(customerId));
+            }
+        } finally {
+            customerLocks.unlock(customerId);
         }
+        awaitDurable(ticket);
+        log("INFO", "Customer deleted: " + customerId);
+        return true;
+    }
 
-        // Check if customer has active accounts
-        boolean hasActiveAccounts = accounts.values().stream()
-                .anyMatch(account -> account.getCustomerId().equals(customerId) &&
-                        "ACTIVE".equals(account.getStatus()));
+    // Every change to customers goes through these (or addCustomer) so the search index keeps up
+    // Numeric ids chosen elsewhere (by clients or the sample data) must never be issued again
+    private void putCustomer(Customer customer) {
+        customers.put(customer.getCustomerId(), customer);
+        customerIndex.put(customer);
+        customerIds.observe(customer.getCustomerId());
+    }
 
-        if (hasActiveAccounts) {
-            log("WARN", "Cannot delete customer with active accounts: " + customerId);
+    private boolean addUser(User user) {
+        if (!authService.addUser(user)) {
             return false;
         }
+        customerIds.observe(user.getUserId());
+        return true;
+    }
 
+    private void removeCustomer(String customerId) {
         customers.remove(customerId);
-        log("INFO", "Customer deleted: " + customerId);
-        return true;
+        customerIndex.remove(customerId);
+    }
+
+    @Override
+    public String importCustomers(String fileName) throws RemoteException {
+        Path file = importDir.resolve(fileName).normalize();
+        if (!file.startsWith(importDir) || !Files.isRegularFile(file)) {
+            throw new RemoteException("No import file " + fileName + " in " + importDir);
+        }
+        expireImports();
+        String jobId = UUID.randomUUID().toString();
+        CustomerImport job = new CustomerImport(jobId, file, this::registerImported);
+        imports.put(jobId, job);
+        Thread thread = new Thread(() -> {
+            job.run();
+            ImportStatus status = job.status();
+            if (status.getState() == ImportStatus.State.FAILED) {
+                log("ERROR", "Customer import of {} failed after {} rows: {}", fileName, status.getRowsRead(), status.getFailure());
+            } else {
+                log("INFO", "Customer import of {} finished: {} imported, {} rejected in {} ms", fileName,
+                        status.getImported(), status.getRejected(), status.getElapsedMillis());
+            }
+        }, "customer-import-" + jobId);
+        thread.setDaemon(true);
+        thread.start();
+        log("INFO", "Customer import of {} started as job {}", fileName, jobId);
+        return jobId;
+    }
+
+    @Override
+    public ImportStatus getImportStatus(String jobId) throws RemoteException {
+        expireImports();
+        CustomerImport job = imports.get(jobId);
+        return job != null ? job.status() : null;
+    }
+
+    // Imports are few, so the finished ones are swept whenever the map is used
+    private void expireImports() {
+        long cutoff = System.currentTimeMillis() - IMPORT_RETENTION_MS;
+        imports.values().removeIf(job -> job.finishedAt() != 0 && job.finishedAt() < cutoff);
+    }
+
+    // registerUser(User, Account) for each imported row, but the ids are reserved together, the
+    // journal is waited on once per batch, and the outcome is logged once for the whole import
+    private List<String> registerImported(List<User> users, List<Account> accounts) throws RemoteException {
+        long firstId;
+        List<String> numbers;
+        try {
+            firstId = customerIds.reserve(users.size());
+            numbers = accountNumbers.next(users.size());
+        } catch (UncheckedIOException e) {
+            throw new RemoteException("Could not reserve customer IDs and account numbers", e.getCause());
+        }
+        List<String> rejections = new ArrayList<>(users.size());
+        long lastTicket = -1;
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            Account account = accounts.get(i);
+            user.setUserId(Long.toString(firstId + i));
+            if (!addUser(user)) {
+                rejections.add("Username '" + user.getUsername() + "' already exists.");
+                continue;
+            }
+            Customer newCustomer = customerFor(user);
+            putCustomer(newCustomer);
+            account.setCustomerId(user.getUserId());
+            account.setAccountNumber(numbers.get(i));
+            boolean created;
+            accountLocks.lock(account.getAccountId());
+            try {
+                created = insertAccount(account);
+                if (created) {
+                    lastTicket = Math.max(lastTicket, journalRegistration(user, account));
+                }
+            } finally {
+                accountLocks.unlock(account.getAccountId());
+            }
+            if (!created) {
+                authService.removeUser(user.getUsername());
+                removeCustomer(newCustomer.getCustomerId());
+                rejections.add("Could not create the account.");
+                continue;
+            }
+            audit(user.getUserId(), AuditAction.CUSTOMER_IMPORTED);
+            rejections.add(null);
+        }
+        awaitDurable(lastTicket);
+        return rejections;
     }
 
     @Override
@@ -253,6 +1000,36 @@ public class BankServiceImpl extends UnicastRemoteObject implements BankService
         return new ArrayList<>(customers.values());
     }
 
+    @Override
+    public Page<Customer> getCustomersPage(String keyword, String cursor, int limit) throws RemoteException {
+        int size = pageSize(limit);
+        String needle = keyword == null || keyword.isBlank() ? null : keyword.toLowerCase();
+        Map<String, Customer> remaining = cursor == null ? customers : customers.tailMap(cursor, false);
+        List<Customer> items = new ArrayList<>(size);
+        String last = null;
+        for (Customer customer : remaining.values()) {
+            if (needle != null && !matchesKeyword(customer, keyword, needle)) {
+                continue;
+            }
+            if (items.size() == size) {
+                return new Page<>(items, last, -1);
+            }
+            items.add(customer);
+            last = customer.getCustomerId();
+        }
+        return new Page<>(items, null, -1);
+    }
+
+    private static boolean matchesKeyword(Customer customer, String keyword, String lowerKeyword) {
+        return (customer.getName() != null && customer.getName().toLowerCase().contains(lowerKeyword))
+                || (customer.getPhone() != null && customer.getPhone().contains(keyword))
+                || customer.getCustomerId().toLowerCase().contains(lowerKeyword);
+    }
+
+    private static int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
     @Override
     public Customer getCustomerById(String customerId) throws RemoteException {
         return customers.get(customerId);
@@ -260,18 +1037,40 @@ public class BankServiceImpl extends UnicastRemoteObject implements BankService
 
     @Override
     public List<Customer> searchCustomers(String keyword) throws RemoteException {
-        String lowerKeyword = keyword.toLowerCase();
-        return customers.values().stream()
-                .filter(customer ->
-                        customer.getName().toLowerCase().contains(lowerKeyword) ||
-                                customer.getPhone().contains(keyword) ||
-                                customer.getCustomerId().toLowerCase().contains(lowerKeyword))
-                .collect(Collectors.toList());
+        return customerIndex.search(keyword, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Customer> searchCustomers(String keyword, int limit) throws RemoteException {
+        return customerIndex.search(keyword, pageSize(limit));
     }
 
     // Account Management
     @Override
     public boolean createAccount(Account account) throws RemoteException {
+        long ticket = -1;
+        accountLocks.lock(account.getAccountId());
+        try {
+            if (!insertAccount(account)) {
+                return false;
+            }
+            if (journal != null) {
+                BinaryWriter record = new BinaryWriter();
+                LedgerCodec.writeAccount(record, account);
+                ticket = journal(LedgerJournal.CREATE_ACCOUNT, record);
+            }
+        } finally {
+            accountLocks.unlock(account.getAccountId());
+        }
+        awaitDurable(ticket);
+
+        log("INFO", "Account created: " + account.getAccountNumber() +
+                " for customer: " + account.getCustomerId());
+        return true;
+    }
+
+    // Adds the account to the maps and indexes without journaling it
+    private boolean insertAccount(Account account) {
         if (accounts.containsKey(account.getAccountId())) {
             return false;
         }
@@ -282,32 +1081,102 @@ public class BankServiceImpl extends UnicastRemoteObject implements BankService
             return false; // Cannot create an account for a non-existent customer.
         }
 
-        accounts.put(account.getAccountId(), account);
-        transactions.put(account.getAccountId(), Collections.synchronizedList(new ArrayList<>()));
+        if (account.getAccountNumber() != null) {
+            if (accountsByNumber.putIfAbsent(account.getAccountNumber(), account) != null) {
+                log("ERROR", "Account creation failed: Account number '" + account.getAccountNumber() + "' is already in use.");
+                return false;
+            }
+        }
 
-        log("INFO", "Account created: " + account.getAccountNumber() +
-                " for customer: " + account.getCustomerId());
+        transactions.put(account.getAccountId(), new TransactionHistory());
+        accounts.put(account.getAccountId(), account);
+        aggregates.accountAdded(account);
+        accountIdOrder.add(account.getAccountId());
+        indexCustomerAccount(account.getCustomerId(), account.getAccountId());
         return true;
     }
 
     @Override
     public boolean updateAccount(Account account) throws RemoteException {
-        if (!accounts.containsKey(account.getAccountId())) {
+        // Hold the account lock so the replacement cannot race an in-flight posting
+        long ticket = -1;
+        long sequence;
+        accountLocks.lock(account.getAccountId());
+        try {
+            if (!replaceAccount(account)) {
+                return false;
+            }
+            sequence = transactions.get(account.getAccountId()).size();
+            if (journal != null) {
+                BinaryWriter record = new BinaryWriter();
+                LedgerCodec.writeAccount(record, account);
+                ticket = journal(LedgerJournal.UPDATE_ACCOUNT, record);
+            }
+        } finally {
+            accountLocks.unlock(account.getAccountId());
+        }
+        awaitDurable(ticket);
+        changeNotifier.changed(account.getAccountId(), sequence, account.getBalanceMinor(), account.getStatus());
+        log("INFO", "Account updated: " + account.getAccountNumber());
+        return true;
+    }
+
+    private boolean replaceAccount(Account account) {
+        Account existing = accounts.get(account.getAccountId());
+        if (existing == null) {
             return false;
         }
+
+        // Keep the number index in step when the account number changes
+        String oldNumber = existing.getAccountNumber();
+        String newNumber = account.getAccountNumber();
+        if (!Objects.equals(oldNumber, newNumber)) {
+            if (newNumber != null && accountsByNumber.putIfAbsent(newNumber, account) != null) {
+                log("WARN", "Account update failed: Account number '" + newNumber + "' is already in use.");
+                return false;
+            }
+            if (oldNumber != null) {
+                accountsByNumber.remove(oldNumber, existing);
+            }
+        } else if (newNumber != null) {
+            accountsByNumber.put(newNumber, account);
+        }
+
+        if (!Objects.equals(existing.getCustomerId(), account.getCustomerId())) {
+            unindexCustomerAccount(existing.getCustomerId(), account.getAccountId());
+            indexCustomerAccount(account.getCustomerId(), account.getAccountId());
+        }
+
         accounts.put(account.getAccountId(), account);
-        log("INFO", "Account updated: " + account.getAccountNumber());
+        aggregates.accountRemoved(existing);
+        aggregates.accountAdded(account);
         return true;
     }
 
     @Override
     public boolean closeAccount(String accountId) throws RemoteException {
-        Account account = accounts.get(accountId);
-        if (account == null) {
-            return false;
+        Account account;
+        long ticket = -1;
+        long sequence;
+        long balanceMinor;
+        accountLocks.lock(accountId);
+        try {
+            account = accounts.get(accountId);
+            if (account == null) {
+                return false;
+            }
+            if (journal != null) {
+                ticket = journal(LedgerJournal.CLOSE_ACCOUNT, new BinaryWriter().putString(accountId));
+            }
+            aggregates.statusChanged(account.getStatus(), "CLOSED");
+            account.setStatus("CLOSED");
+            sequence = transactions.get(accountId).size();
+            balanceMinor = account.getBalanceMinor();
+        } finally {
+            accountLocks.unlock(accountId);
         }
-
-        account.setStatus("CLOSED");
+        awaitDurable(ticket);
+        changeNotifier.changed(accountId, sequence, balanceMinor, "CLOSED");
         log("INFO", "Account closed: " + account.getAccountNumber());
         return true;
     }
@@ -317,6 +1186,29 @@ public class BankServiceImpl extends UnicastRemoteObject implements BankService
         return new ArrayList<>(accounts.values());
     }
 
+    @Override
+    public Page<Account> getAccountsPage(Account.AccountType type, String status, String cursor, int limit) throws RemoteException {
+        int size = pageSize(limit);
+        long total = type == null && status == null ? accounts.size() : -1;
+        Set<String> remaining = cursor == null ? accountIdOrder : accountIdOrder.tailSet(cursor, false);
+        List<Account> items = new ArrayList<>(size);
+        String last = null;
+        for (String accountId : remaining) {
+            Account account = accounts.get(accountId);
+            if (account == null
+                    || (type != null && account.getType() != type)
+                    || (status != null && !status.equalsIgnoreCase(account.getStatus()))) {
+                continue;
+            }
+            if (items.size() == size) {
+                return new Page<>(items, last, total);
+            }
+            items.add(account);
+            last = accountId;
+        }
+        return new Page<>(items, null, total);
+    }
+
     @Override
     public Account getAccountById(String accountId) throws RemoteException {
         return accounts.get(accountId);
@@ -324,250 +1216,626 @@ public class BankServiceImpl extends UnicastRemoteObject implements BankService
 
     @Override
     public Account getAccountByNumber(String accountNumber) throws RemoteException {
-        return accounts.values().stream()
-                .filter(account -> account.getAccountNumber().equals(accountNumber))
-                .findFirst()
-                .orElse(null);
+        if (accountNumber == null) {
+            return null;
+        }
+        return accountsByNumber.get(accountNumber);
     }
 
     @Override
     public List<Account> getCustomerAccounts(String customerId) throws RemoteException {
-        return accounts.values().stream()
-                .filter(account -> account.getCustomerId().equals(customerId))
-                .collect(Collectors.toList());
+        return accountsOf(customerId);
     }
 
     // Transaction Operations
+    // Each balance change and its history entry are applied while holding the account's
+    // stripe lock, so concurrent postings cannot lose updates or overdraw. The apply* methods
+    // do that part and return the journal ticket; callers wait for durability and log after
+    // the lock is released. Arithmetic is done in santim (see Money).
+
+    private static final int MAX_BATCH_SIZE = 50_000;
+
+    // Result of applying one posting under its lock(s)
+    private static final class PostingOutcome {
+        PostingResult.Status status = PostingResult.Status.APPLIED;
+        long ticket = -1;
+        Account account;
+        Account counterparty; // transfer target
+        Transaction transaction; // entry posted to the account
+        long sequence; // its index in the account's history
+        long balanceMinor; // the account's balance after it
+        Transaction counterpartyTransaction;
+        long counterpartySequence;
+        long counterpartyBalanceMinor;
+        long minimumBalanceMinor;
+
+        PostingOutcome fail(PostingResult.Status failure) {
+            status = failure;
+            return this;
+        }
+    }
+
+    // Converts an API amount to santim; anything that is not a positive, finite amount maps to 0
+    private static long postingAmount(double amount) {
+        if (!(amount > 0) || Double.isInfinite(amount)) {
+            return 0;
+        }
+        try {
+            return Money.ofMajor(amount);
+        } catch (ArithmeticException e) {
+            return 0;
+        }
+    }
+
+    private PostingOutcome applyDeposit(String accountId, long amountMinor, String description) throws RemoteException {
+        PostingOutcome outcome = new PostingOutcome();
+        accountLocks.lock(accountId);
+        try {
+            Account account = accounts.get(accountId);
+            if (account == null) {
+                return outcome.fail(PostingResult.Status.ACCOUNT_NOT_FOUND);
+            }
+
+            long newBalance = Money.add(account.getBalanceMinor(), amountMinor);
+
+            Transaction transaction = new Transaction(
+                    UUID.randomUUID().toString(),
+                    accountId,
+                    Transaction.TransactionType.DEPOSIT,
+                    Money.toMajor(amountMinor),
+                    description,
+                    Money.toMajor(newBalance)
+            );
+            outcome.ticket = journalPosting(transaction, amountMinor, newBalance);
+            aggregates.balanceChanged(accountId, account.getBalanceMinor(), newBalance);
+            account.setBalanceMinor(newBalance);
+            outcome.sequence = transactions.get(accountId).add(transaction);
+            aggregates.transactionPosted(transaction);
+            outcome.account = account;
+            outcome.transaction = transaction;
+            outcome.balanceMinor = newBalance;
+        } finally {
+            accountLocks.unlock(accountId);
+        }
+        return outcome;
+    }
+
+    // Withdrawals and bill payments; both are posted as WITHDRAWAL entries
+    private PostingOutcome applyDebit(String accountId, long amountMinor, String description) throws RemoteException {
+        PostingOutcome outcome = new PostingOutcome();
+        accountLocks.lock(accountId);
+        try {
+            Account account = accounts.get(accountId);
+            if (account == null) {
+                return outcome.fail(PostingResult.Status.ACCOUNT_NOT_FOUND);
+            }
+            outcome.account = account;
+            outcome.minimumBalanceMinor = account.getType().getMinimumBalanceMinor();
+            long oldBalance = account.getBalanceMinor();
+
+            // Check sufficient funds including minimum balance requirement
+            if (oldBalance - amountMinor < outcome.minimumBalanceMinor) {
+                return outcome.fail(PostingResult.Status.INSUFFICIENT_FUNDS);
+            }
+            long newBalance = oldBalance - amountMinor;
+
+            Transaction transaction = new Transaction(
+                    UUID.randomUUID().toString(),
+                    accountId,
+                    Transaction.TransactionType.WITHDRAWAL,
+                    Money.toMajor(amountMinor),
+                    description,
+                    Money.toMajor(newBalance)
+            );
+            outcome.ticket = journalPosting(transaction, amountMinor, newBalance);
+            aggregates.balanceChanged(accountId, oldBalance, newBalance);
+            account.setBalanceMinor(newBalance);
+            outcome.sequence = transactions.get(accountId).add(transaction);
+            aggregates.transactionPosted(transaction);
+            outcome.transaction = transaction;
+            outcome.balanceMinor = newBalance;
+        } finally {
+            accountLocks.unlock(accountId);
+        }
+        return outcome;
+    }
+
+    private PostingOutcome applyTransfer(String fromAccountId, String toAccountId, long amountMinor, String description) throws RemoteException {
+        PostingOutcome outcome = new PostingOutcome();
+        // Both stripes are taken in a fixed order, so opposite transfers cannot deadlock
+        accountLocks.lockBoth(fromAccountId, toAccountId);
+        try {
+            Account fromAccount = accounts.get(fromAccountId);
+            Account toAccount = accounts.get(toAccountId);
+            if (fromAccount == null || toAccount == null) {
+                return outcome.fail(PostingResult.Status.ACCOUNT_NOT_FOUND);
+            }
+            outcome.account = fromAccount;
+            outcome.counterparty = toAccount;
+
+            long minimumBalance = fromAccount.getType().getMinimumBalanceMinor();
+            long fromOldBalance = fromAccount.getBalanceMinor();
+
+            // Check sufficient funds including minimum balance
+            if (fromOldBalance - amountMinor < minimumBalance) {
+                return outcome.fail(PostingResult.Status.INSUFFICIENT_FUNDS);
+            }
+
+            // Perform transfer
+            long fromNewBalance = fromOldBalance - amountMinor;
+            long toNewBalance = Money.add(toAccount.getBalanceMinor(), amountMinor);
+
+            // Record transactions for both accounts
+            Transaction fromTransaction = new Transaction(
+                    UUID.randomUUID().toString(),
+                    fromAccountId,
+                    Transaction.TransactionType.TRANSFER_SENT,
+                    Money.toMajor(amountMinor),
+                    description + " to " + toAccount.getAccountNumber(),
+                    Money.toMajor(fromNewBalance)
+            );
+
+            Transaction toTransaction = new Transaction(
+                    UUID.randomUUID().toString(),
+                    toAccountId,
+                    Transaction.TransactionType.TRANSFER_RECEIVED,
+                    Money.toMajor(amountMinor),
+                    description + " from " + fromAccount.getAccountNumber(),
+                    Money.toMajor(toNewBalance)
+            );
+
+            // Both legs go into one journal record so a transfer is never half-recovered
+            if (journal != null) {
+                BinaryWriter record = new BinaryWriter(256);
+                LedgerCodec.writePosting(record, fromTransaction, amountMinor, fromNewBalance);
+                LedgerCodec.writePosting(record, toTransaction, amountMinor, toNewBalance);
+                outcome.ticket = journal(LedgerJournal.TRANSFER, record);
+            }
+
+            aggregates.balanceChanged(fromAccountId, fromOldBalance, fromNewBalance);
+            aggregates.balanceChanged(toAccountId, toAccount.getBalanceMinor(), toNewBalance);
+            fromAccount.setBalanceMinor(fromNewBalance);
+            toAccount.setBalanceMinor(toNewBalance);
+            outcome.sequence = transactions.get(fromAccountId).add(fromTransaction);
+            outcome.counterpartySequence = transactions.get(toAccountId).add(toTransaction);
+            aggregates.transactionPosted(fromTransaction);
+            aggregates.transactionPosted(toTransaction);
+            outcome.transaction = fromTransaction;
+            outcome.balanceMinor = fromNewBalance;
+            outcome.counterpartyTransaction = toTransaction;
+            outcome.counterpartyBalanceMinor = toNewBalance;
+        } finally {
+            accountLocks.unlockBoth(fromAccountId, toAccountId);
+        }
+        return outcome;
+    }
+
+    private static String billDescription(String billerName, String billId) {
+        return "Bill Payment: " + billerName + " (" + billId + ")";
+    }
+
     @Override
     public boolean deposit(String accountId, double amount, String description) throws RemoteException {
-        Account account = accounts.get(accountId);
-        if (account == null || amount <= 0) {
+        long amountMinor = postingAmount(amount);
+        if (accountId == null || amountMinor <= 0) {
             return false;
         }
 
-        double oldBalance = account.getBalance();
-        double newBalance = oldBalance + amount;
-        account.setBalance(newBalance);
-
-        Transaction transaction = new Transaction(
-                UUID.randomUUID().toString(),
-                accountId,
-                Transaction.TransactionType.DEPOSIT,
-                amount,
-                description,
-                newBalance
-        );
-        transactions.get(accountId).add(transaction);
+        PostingOutcome outcome = applyDeposit(accountId, amountMinor, description);
+        if (outcome.status != PostingResult.Status.APPLIED) {
+            return false;
+        }
+        awaitDurable(outcome.ticket);
+        notifyChanged(outcome);
 
-        log("INFO", String.format("Deposit: %.2f ETB to account %s", amount, account.getAccountNumber()));
+        log("INFO", "Deposit: {$} ETB to account {}", amountMinor, outcome.account.getAccountNumber());
         return true;
     }
 
     @Override
     public boolean withdraw(String accountId, double amount, String description) throws RemoteException {
-        Account account = accounts.get(accountId);
-        if (account == null || amount <= 0) {
+        long amountMinor = postingAmount(amount);
+        if (accountId == null || amountMinor <= 0) {
             return false;
         }
 
-        double minimumBalance = account.getType().getMinimumBalance();
-        double oldBalance = account.getBalance();
-
-        // Check sufficient funds including minimum balance requirement
-        if (oldBalance - amount < minimumBalance) {
-            log("WARN", String.format("Withdrawal failed: Insufficient funds for account %s. Required min: %.2f ETB",
-                    account.getAccountNumber(), minimumBalance));
+        PostingOutcome outcome = applyDebit(accountId, amountMinor, description);
+        if (outcome.status == PostingResult.Status.ACCOUNT_NOT_FOUND) {
             return false;
         }
+        if (outcome.status == PostingResult.Status.INSUFFICIENT_FUNDS) {
+            log("WARN", "Withdrawal failed: Insufficient funds for account {}. Required min: {$} ETB",
+                    outcome.account.getAccountNumber(), outcome.minimumBalanceMinor);
+            return false;
+        }
+        awaitDurable(outcome.ticket);
+        notifyChanged(outcome);
 
-        double newBalance = oldBalance - amount;
-        account.setBalance(newBalance);
-
-        Transaction transaction = new Transaction(
-                UUID.randomUUID().toString(),
-                accountId,
-                Transaction.TransactionType.WITHDRAWAL,
-                amount,
-                description,
-                newBalance
-        );
-        transactions.get(accountId).add(transaction);
-
-        log("INFO", String.format("Withdrawal: %.2f ETB from account %s", amount, account.getAccountNumber()));
+        log("INFO", "Withdrawal: {$} ETB from account {}", amountMinor, outcome.account.getAccountNumber());
         return true;
     }
 
     @Override
     public boolean payBill(String accountId, String billerName, String billId, double amount) throws RemoteException {
-        Account account = accounts.get(accountId);
-        if (account == null || amount <= 0) {
+        long amountMinor = postingAmount(amount);
+        if (accountId == null || amountMinor <= 0) {
             return false;
         }
 
-        double minimumBalance = account.getType().getMinimumBalance();
-        double oldBalance = account.getBalance();
-
-        // Check sufficient funds including minimum balance requirement
-        if (oldBalance - amount < minimumBalance) {
-            log("WARN", String.format("Bill Payment failed: Insufficient funds for account %s. Required min: %.2f ETB",
-                    account.getAccountNumber(), minimumBalance));
+        PostingOutcome outcome = applyDebit(accountId, amountMinor, billDescription(billerName, billId));
+        if (outcome.status == PostingResult.Status.ACCOUNT_NOT_FOUND) {
             return false;
         }
+        if (outcome.status == PostingResult.Status.INSUFFICIENT_FUNDS) {
+            log("WARN", "Bill Payment failed: Insufficient funds for account {}. Required min: {$} ETB",
+                    outcome.account.getAccountNumber(), outcome.minimumBalanceMinor);
+            return false;
+        }
+        awaitDurable(outcome.ticket);
+        notifyChanged(outcome);
 
-        double newBalance = oldBalance - amount;
-        account.setBalance(newBalance);
-
-        Transaction transaction = new Transaction(
-                UUID.randomUUID().toString(),
-                accountId,
-                Transaction.TransactionType.WITHDRAWAL, // Using WITHDRAWAL as base type for payments
-                amount,
-                "Bill Payment: " + billerName + " (" + billId + ")",
-                newBalance
-        );
-        transactions.get(accountId).add(transaction);
-
-        log("INFO", String.format("Bill Payment: %.2f ETB to %s (%s) from account %s", amount, billerName, billId, account.getAccountNumber()));
+        log("INFO", "Bill Payment: {$} ETB to {} ({}) from account {}",
+                amountMinor, billerName, billId, outcome.account.getAccountNumber());
         return true;
     }
 
     @Override
     public boolean transfer(String fromAccountId, String toAccountNumber, double amount, String description) throws RemoteException {
-        Account fromAccount = accounts.get(fromAccountId);
-        Account toAccount = getAccountByNumber(toAccountNumber);
-
-        if (fromAccount == null || toAccount == null || amount <= 0) {
+        Account target = getAccountByNumber(toAccountNumber);
+        long amountMinor = postingAmount(amount);
+        if (fromAccountId == null || target == null || amountMinor <= 0) {
             return false;
         }
+        String toAccountId = target.getAccountId();
+        if (fromAccountId.equals(toAccountId)) {
+            return false; // Moving money onto itself would only duplicate history entries
+        }
 
-        double minimumBalance = fromAccount.getType().getMinimumBalance();
-        double fromOldBalance = fromAccount.getBalance();
-
-        // Check sufficient funds including minimum balance
-        if (fromOldBalance - amount < minimumBalance) {
-            log("WARN", String.format("Transfer failed: Insufficient funds in account %s",
-                    fromAccount.getAccountNumber()));
+        PostingOutcome outcome = applyTransfer(fromAccountId, toAccountId, amountMinor, description);
+        if (outcome.status == PostingResult.Status.ACCOUNT_NOT_FOUND) {
             return false;
         }
+        if (outcome.status == PostingResult.Status.INSUFFICIENT_FUNDS) {
+            log("WARN", "Transfer failed: Insufficient funds in account {}", outcome.account.getAccountNumber());
+            return false;
+        }
+        awaitDurable(outcome.ticket);
+        notifyChanged(outcome);
 
-        // Perform transfer
-        double fromNewBalance = fromOldBalance - amount;
-        double toNewBalance = toAccount.getBalance() + amount;
-
-        fromAccount.setBalance(fromNewBalance);
-        toAccount.setBalance(toNewBalance);
+        log("INFO", "Transfer: {$} ETB from {} to {}",
+                amountMinor, outcome.account.getAccountNumber(), outcome.counterparty.getAccountNumber());
+        return true;
+    }
 
-        // Record transactions for both accounts
-        Transaction fromTransaction = new Transaction(
-                UUID.randomUUID().toString(),
-                fromAccountId,
-                Transaction.TransactionType.TRANSFER_SENT,
-                amount,
-                description + " to " + toAccount.getAccountNumber(),
-                fromNewBalance
-        );
+    /**
+     * Applies the postings in order, each one atomically under its account lock(s) as in the
+     * single calls. Journal records are appended as the batch goes and the batch waits for
+     * durability once at the end, so a batch costs one fsync rather than one per posting.
+     * Individual postings are logged as a single summary line.
+     */
+    @Override
+    public List<PostingResult> postBatch(List<PostingRequest> postings) throws RemoteException {
+        if (postings.size() > MAX_BATCH_SIZE) {
+            throw new RemoteException("Batch of " + postings.size() + " postings exceeds the limit of " + MAX_BATCH_SIZE);
+        }
+        long started = System.currentTimeMillis();
+        List<PostingResult> results = new ArrayList<>(postings.size());
+        long lastTicket = -1;
+        List<PostingOutcome> appliedOutcomes = new ArrayList<>();
+        int applied = 0;
+        long appliedMinor = 0;
+        for (PostingRequest posting : postings) {
+            PostingResult result;
+            long amountMinor = posting == null ? 0 : postingAmount(posting.getAmount());
+            if (posting == null || posting.getKind() == null || posting.getAccountId() == null) {
+                result = new PostingResult(PostingResult.Status.INVALID, null, "Incomplete posting");
+            } else if (amountMinor <= 0) {
+                result = new PostingResult(PostingResult.Status.INVALID, null, "Amount must be positive");
+            } else {
+                PostingOutcome outcome = applyPosting(posting, amountMinor);
+                if (outcome.status == PostingResult.Status.APPLIED) {
+                    lastTicket = Math.max(lastTicket, outcome.ticket);
+                    appliedOutcomes.add(outcome);
+                    applied++;
+                    appliedMinor += amountMinor;
+                    result = new PostingResult(PostingResult.Status.APPLIED, outcome.transaction.getTransactionId(), null);
+                } else {
+                    result = new PostingResult(outcome.status, null, null);
+                }
+            }
+            results.add(result);
+        }
+        // Journal tickets only grow, so the last one covers the whole batch
+        awaitDurable(lastTicket);
+        appliedOutcomes.forEach(this::notifyChanged);
 
-        Transaction toTransaction = new Transaction(
-                UUID.randomUUID().toString(),
-                toAccount.getAccountId(),
-                Transaction.TransactionType.TRANSFER_RECEIVED,
-                amount,
-                description + " from " + fromAccount.getAccountNumber(),
-                toNewBalance
-        );
+        log("INFO", "Batch posting: {} of {} applied, {$} ETB, in {} ms",
+                applied, postings.size(), appliedMinor, System.currentTimeMillis() - started);
+        return results;
+    }
 
-        transactions.get(fromAccountId).add(fromTransaction);
-        transactions.get(toAccount.getAccountId()).add(toTransaction);
+    // Listeners hear about a posting only once it is durable
+    private void notifyChanged(PostingOutcome outcome) {
+        Account account = outcome.account;
+        changeNotifier.posted(account.getAccountId(), outcome.sequence, outcome.balanceMinor,
+                account.getStatus(), outcome.transaction);
+        if (outcome.counterparty != null) {
+            Account counterparty = outcome.counterparty;
+            changeNotifier.posted(counterparty.getAccountId(), outcome.counterpartySequence,
+                    outcome.counterpartyBalanceMinor, counterparty.getStatus(), outcome.counterpartyTransaction);
+        }
+    }
 
-        log("INFO", String.format("Transfer: %.2f ETB from %s to %s",
-                amount, fromAccount.getAccountNumber(), toAccount.getAccountNumber()));
-        return true;
+    private PostingOutcome applyPosting(PostingRequest posting, long amountMinor) throws RemoteException {
+        switch (posting.getKind()) {
+            case DEPOSIT:
+                return applyDeposit(posting.getAccountId(), amountMinor, posting.getDescription());
+            case WITHDRAWAL:
+                return applyDebit(posting.getAccountId(), amountMinor, posting.getDescription());
+            case BILL_PAYMENT:
+                return applyDebit(posting.getAccountId(), amountMinor,
+                        billDescription(posting.getBillerName(), posting.getBillId()));
+            case TRANSFER: {
+                Account target = getAccountByNumber(posting.getTargetAccountNumber());
+                if (target == null) {
+                    return new PostingOutcome().fail(PostingResult.Status.ACCOUNT_NOT_FOUND);
+                }
+                if (posting.getAccountId().equals(target.getAccountId())) {
+                    return new PostingOutcome().fail(PostingResult.Status.INVALID);
+                }
+                return applyTransfer(posting.getAccountId(), target.getAccountId(), amountMinor, posting.getDescription());
+            }
+            default:
+                return new PostingOutcome().fail(PostingResult.Status.INVALID);
+        }
     }
 
     @Override
     public double getBalance(String accountId) throws RemoteException {
-        Account account = accounts.get(accountId);
-        return account != null ? account.getBalance() : 0.0;
+        if (accountId == null) {
+            return 0.0;
+        }
+        accountLocks.lock(accountId);
+        try {
+            Account account = accounts.get(accountId);
+            return account != null ? account.getBalance() : 0.0;
+        } finally {
+            accountLocks.unlock(accountId);
+        }
     }
 
+    // Histories are kept in posting order (see TransactionHistory), so nothing here sorts
     @Override
     public List<Transaction> getTransactionHistory(String accountId) throws RemoteException {
-        List<Transaction> accountTransactions = transactions.get(accountId);
-        if (accountTransactions == null) {
+        TransactionHistory history = transactions.get(accountId);
+        if (history == null) {
             return new ArrayList<>();
         }
-        return new ArrayList<>(accountTransactions);
+        return history.toList();
     }
 
     @Override
-    public List<Transaction> getRecentTransactions(String accountId, int limit) throws RemoteException {
-        List<Transaction> accountTransactions = transactions.get(accountId);
-        if (accountTransactions == null) {
+    public List<Transaction> getTransactionHistory(String accountId, Date from, Date to, int limit) throws RemoteException {
+        TransactionHistory history = transactions.get(accountId);
+        if (history == null) {
             return new ArrayList<>();
         }
+        return history.range(
+                from != null ? from.getTime() : Long.MIN_VALUE,
+                to != null ? to.getTime() : Long.MAX_VALUE,
+                limit);
+    }
 
-        return accountTransactions.stream()
-                .sorted((t1, t2) -> t2.getTimestamp().compareTo(t1.getTimestamp()))
-                .limit(limit)
-                .collect(Collectors.toList());
+    @Override
+    public Page<Transaction> getTransactionHistoryPage(String accountId, int from, int limit) throws RemoteException {
+        TransactionHistory history = transactions.get(accountId);
+        if (history == null) {
+            return new Page<>(new ArrayList<>(), null, 0);
+        }
+        // Read the size once so the page and its total agree while postings arrive
+        int total = history.size();
+        int start = Math.max(0, Math.min(from < 0 ? total + from : from, total));
+        int end = (int) Math.min(total, (long) start + pageSize(limit));
+        List<Transaction> items = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            items.add(history.get(i));
+        }
+        return new Page<>(items, end < total ? String.valueOf(end) : null, total);
+    }
+
+    @Override
+    public List<Transaction> getRecentTransactions(String accountId, int limit) throws RemoteException {
+        TransactionHistory history = transactions.get(accountId);
+        if (history == null) {
+            return new ArrayList<>();
+        }
+        return history.recent(limit);
     }
 
     @Override
     public List<Transaction> getAllTransactions() throws RemoteException {
         List<Transaction> allTransactions = new ArrayList<>();
-        for (List<Transaction> accountTransactions : transactions.values()) {
-            allTransactions.addAll(accountTransactions);
+        for (TransactionHistory history : transactions.values()) {
+            allTransactions.addAll(history.toList());
         }
         return allTransactions;
     }
 
+    // Transaction cursors are "<accountId>:<index of the next entry in that account's history>";
+    // histories are append-only, so a cursor stays valid while new postings arrive.
+    @Override
+    public Page<Transaction> getTransactionsPage(String accountId, Transaction.TransactionType type, Date from, Date to,
+                                                 String cursor, int limit) throws RemoteException {
+        int size = pageSize(limit);
+        String startAccount = null;
+        int startIndex = 0;
+        if (cursor != null) {
+            int colon = cursor.lastIndexOf(':');
+            try {
+                startAccount = cursor.substring(0, colon);
+                startIndex = Integer.parseInt(cursor.substring(colon + 1));
+            } catch (RuntimeException e) {
+                throw new RemoteException("Invalid transaction cursor: " + cursor);
+            }
+        }
+
+        Set<String> accountIds;
+        if (accountId != null) {
+            accountIds = Collections.singleton(accountId);
+        } else {
+            accountIds = startAccount == null ? accountIdOrder : accountIdOrder.tailSet(startAccount, true);
+        }
+
+        List<Transaction> items = new ArrayList<>(size);
+        for (String id : accountIds) {
+            TransactionHistory history = transactions.get(id);
+            if (history == null) {
+                continue;
+            }
+            // The date range is resolved by binary search; only the type is filtered entry by entry
+            int end = to != null ? history.indexAfter(to.getTime()) : history.size();
+            int i = from != null ? history.indexAtOrAfter(from.getTime()) : 0;
+            if (id.equals(startAccount)) {
+                i = Math.max(i, startIndex);
+            }
+            for (; i < end; i++) {
+                Transaction transaction = history.get(i);
+                if (type != null && transaction.getType() != type) {
+                    continue;
+                }
+                if (items.size() == size) {
+                    return new Page<>(items, id + ":" + i, -1);
+                }
+                items.add(transaction);
+            }
+        }
+        return new Page<>(items, null, -1);
+    }
+
     // User Management
     @Override
     public List<User> getAllUsers() throws RemoteException {
         List<User> users = authService.getAllUsers();
-        // Enrich customer users with their primary account details for display
         for (User user : users) {
-            if (user.isCustomer()) {
-                accounts.values().stream()
-                        .filter(acc -> acc.getCustomerId().equals(user.getUserId()))
-                        .findFirst() // Find the first account associated with the user
-                        .ifPresent(account -> {
-                            user.setAccountType(account.getType().getDisplayName());
-                            user.setBalance(account.getBalance());
-                            // The other user details (address, etc.) are already on the User object
-                        });
-            }
+            enrichWithPrimaryAccount(user);
         }
         return users;
     }
 
+    // Enrich customer users with their primary account details for display
+    private void enrichWithPrimaryAccount(User user) {
+        if (user.isCustomer()) {
+            accountsOf(user.getUserId()).stream()
+                    .findFirst() // Find the first account associated with the user
+                    .ifPresent(account -> {
+                        user.setAccountType(account.getType().getDisplayName());
+                        user.setBalance(account.getBalance());
+                        // The other user details (address, etc.) are already on the User object
+                    });
+        }
+    }
+
+    @Override
+    public Page<User> getUsersPage(Role role, String keyword, String cursor, int limit) throws RemoteException {
+        int size = pageSize(limit);
+        String needle = keyword == null || keyword.isBlank() ? null : keyword.toLowerCase();
+        // AuthService keeps no ordered index, so filter first and only sort the matches
+        List<User> matches = new ArrayList<>();
+        for (User user : authService.getAllUsers()) {
+            if ((role != null && user.getRole() != role)
+                    || (cursor != null && user.getUserId().compareTo(cursor) <= 0)) {
+                continue;
+            }
+            if (needle != null
+                    && !(user.getUserId().toLowerCase().contains(needle)
+                    || (user.getUsername() != null && user.getUsername().toLowerCase().contains(needle))
+                    || (user.getFullName() != null && user.getFullName().toLowerCase().contains(needle)))) {
+                continue;
+            }
+            matches.add(user);
+        }
+        matches.sort(Comparator.comparing(User::getUserId));
+
+        List<User> items = new ArrayList<>(matches.subList(0, Math.min(size, matches.size())));
+        for (User user : items) {
+            enrichWithPrimaryAccount(user);
+        }
+        String next = matches.size() > size ? items.get(items.size() - 1).getUserId() : null;
+        return new Page<>(items, next, cursor == null ? matches.size() : -1);
+    }
+
     // Reports & Logs
+    @Override
+    public DashboardStats getDashboardStats() throws RemoteException {
+        return aggregates.snapshot(accounts, customerIndex.size(), TOP_ACCOUNTS);
+    }
+
     @Override
     public List<String> getSystemLogs() throws RemoteException {
-        return new ArrayList<>(systemLogs);
+        return systemLog.recent();
+    }
+
+    @Override
+    public Page<String> getSystemLogsPage(String level, String keyword, String cursor, int limit) throws RemoteException {
+        try {
+            return systemLog.page(cursor, pageSize(limit), level, keyword);
+        } catch (IllegalArgumentException e) {
+            throw new RemoteException(e.getMessage());
+        }
     }
 
     @Override
     public List<String> getAuditTrail(String userId) throws RemoteException {
-        return new ArrayList<>(auditTrails.getOrDefault(userId, new ArrayList<>()));
+        return auditStore.query(userId, Long.MIN_VALUE, Long.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<String> getAuditTrail(String userId, Date from, Date to, int limit) throws RemoteException {
+        return auditStore.query(userId,
+                from != null ? from.getTime() : Long.MIN_VALUE,
+                to != null ? to.getTime() : Long.MAX_VALUE,
+                limit);
+    }
+
+    @Override
+    public List<String> getSessionAuditTrail(String token, Date from, Date to, int limit) throws RemoteException {
+        User user = sessions.touch(token);
+        return user != null ? getAuditTrail(user.getUserId(), from, to, limit) : null;
     }
 
     // Utility Methods
+    @Override
+    public void subscribe(AccountEventListener listener, List<String> accountIds) throws RemoteException {
+        if (listener == null || accountIds == null) {
+            throw new RemoteException("Listener and account ids are required");
+        }
+        changeNotifier.subscribe(listener, accountIds);
+    }
+
+    @Override
+    public void unsubscribe(AccountEventListener listener) throws RemoteException {
+        if (listener != null) {
+            changeNotifier.unsubscribe(listener);
+        }
+    }
+
     @Override
     public String generateAccountNumber() throws RemoteException {
-        // Start with 1000, followed by 11 random digits
-        StringBuilder sb = new StringBuilder("1000");
-        Random random = new Random();
-        for (int i = 0; i < 11; i++) {
-            sb.append(random.nextInt(10));
+        try {
+            return accountNumbers.next();
+        } catch (UncheckedIOException e) {
+            throw new RemoteException("Could not reserve an account number", e.getCause());
         }
-        return sb.toString();
     }
 
     @Override
     public String generateCustomerId() throws RemoteException {
-        // Numeric-only, exactly 4 digits
-        return String.format("%04d", ++customerCounter);
+        // Numeric-only, at least 4 digits
+        try {
+            return Long.toString(customerIds.next());
+        } catch (UncheckedIOException e) {
+            throw new RemoteException("Could not reserve a customer ID", e.getCause());
+        }
     }
 
     @Override
@@ -596,17 +1864,29 @@ public class BankServiceImpl extends UnicastRemoteObject implements BankService
     @Override
     public boolean buyCurrency(String userId, String currencyCode, double amount) throws RemoteException {
         log("INFO", "User " + userId + " bought " + amount + " " + currencyCode);
-        audit(userId, "Bought " + amount + " " + currencyCode);
+        audit(userId, AuditAction.CURRENCY_BOUGHT, String.valueOf(amount), currencyCode);
         return true;
     }
 
     @Override
     public boolean sellCurrency(String userId, String currencyCode, double amount) throws RemoteException {
         log("INFO", "User " + userId + " sold " + amount + " " + currencyCode);
-        audit(userId, "Sold " + amount + " " + currencyCode);
+        audit(userId, AuditAction.CURRENCY_SOLD, String.valueOf(amount), currencyCode);
         return true;
     }
 
+    @Override
+    public boolean buySessionCurrency(String token, String currencyCode, double amount) throws RemoteException {
+        User user = sessions.touch(token);
+        return user != null && buyCurrency(user.getUserId(), currencyCode, amount);
+    }
+
+    @Override
+    public boolean sellSessionCurrency(String token, String currencyCode, double amount) throws RemoteException {
+        User user = sessions.touch(token);
+        return user != null && sellCurrency(user.getUserId(), currencyCode, amount);
+    }
+
     // Helper method to generate a deterministic name based on the account number
     private String generateMockName(String seed) {
         String[] firstNames = {
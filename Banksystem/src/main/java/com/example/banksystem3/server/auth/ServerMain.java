@@ -1,8 +1,17 @@
 package com.example.banksystem3.server.auth;
 
+import com.example.banksystem3.server.admission.AdmissionControl;
+import com.example.banksystem3.server.admission.RequestThreads;
+import com.example.banksystem3.server.notify.AccountChangeNotifier;
+import com.example.banksystem3.server.transport.NioBankServer;
 import com.example.banksystem3.shared.BankService;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.rmi.registry.LocateRegistry;
 import java.rmi.registry.Registry;
+import java.rmi.server.UnicastRemoteObject;
 
 public class ServerMain {
     public static void main(String[] args) {
@@ -12,19 +21,65 @@ public class ServerMain {
             // Set RMI server hostname (optional, for remote connections)
             System.setProperty("java.rmi.server.hostname", "localhost");
 
-            // Create and export the RMI service
-            BankService bankService = new com.example.banksystem3.server.auth.BankServiceImpl();
+            // Bound how long a callback to a client that stopped answering can hold its thread
+            // (RMI waits forever by default); the notifier drops such clients sooner
+            if (System.getProperty("sun.rmi.transport.tcp.responseTimeout") == null) {
+                System.setProperty("sun.rmi.transport.tcp.responseTimeout",
+                        Long.toString(AccountChangeNotifier.DELIVERY_TIMEOUT_MS * 6));
+            }
+
+            // Ledger state is journaled here and replayed on startup
+            Path dataDir = Paths.get(System.getProperty("bank.data.dir", "bank-data"));
+
+            // Transport: "rmi" (default), "nio" or "both"
+            String transport = System.getProperty("bank.transport", "rmi").toLowerCase();
+            boolean useRmi = !transport.equals("nio");
+            boolean useNio = transport.equals("nio") || transport.equals("both");
+            int nioPort = Integer.getInteger("bank.nio.port", 1100);
+
+            // Clients reach the service only through admission control, which sheds load per
+            // operation group when saturated; the implementation itself is not exported
+            BankServiceImpl bankService = new BankServiceImpl(dataDir);
+            UnicastRemoteObject.unexportObject(bankService, true);
+            BankService service = AdmissionControl.wrap(bankService);
+
+            NioBankServer nioServer = null;
+            if (useNio) {
+                int workers = Integer.getInteger("bank.nio.workers", Math.max(8, Runtime.getRuntime().availableProcessors() * 4));
+                nioServer = new NioBankServer(service, nioPort, workers);
+                nioServer.start();
+            }
+            NioBankServer nioToClose = nioServer;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                if (nioToClose != null) {
+                    try {
+                        nioToClose.close();
+                    } catch (IOException ignored) {
+                        // Shutting down anyway
+                    }
+                }
+                bankService.shutdown();
+            }));
 
-            // Create RMI registry on default port 1099
-            Registry registry = LocateRegistry.createRegistry(1099);
+            if (useRmi) {
+                // Create RMI registry on default port 1099
+                Registry registry = LocateRegistry.createRegistry(1099);
 
-            // Bind the service to the registry
-            registry.rebind("BankService", bankService);
+                // Bind the service to the registry
+                registry.rebind("BankService", UnicastRemoteObject.exportObject(service, 0));
+            }
 
             System.out.println("=====================================");
             System.out.println("Bank Server Started Successfully!");
             System.out.println("Service Name: BankService");
-            System.out.println("Registry: localhost:1099");
+            if (useRmi) {
+                System.out.println("Registry: localhost:1099");
+            }
+            if (useNio) {
+                System.out.println("NIO Transport: localhost:" + nioPort
+                        + (RequestThreads.virtualThreadsAvailable() ? " (virtual threads)" : ""));
+            }
+            System.out.println("Data Dir: " + dataDir.toAbsolutePath());
             System.out.println("=====================================");
             // System.out.println("Sample Users:");
             // System.out.println("  Admin: admin / admin123");
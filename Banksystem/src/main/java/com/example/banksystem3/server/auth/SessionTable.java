@@ -0,0 +1,140 @@
+package com.example.banksystem3.server.auth;
+
+import com.example.banksystem3.shared.User;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiPredicate;
+
+/**
+ * Sessions of logged-in users, keyed by an opaque random token.
+ *
+ * <p>Looking a token up is a single hash lookup, so a caller holding a token is recognised without
+ * checking its password again. A session expires once unused for the idle timeout: a lookup of an
+ * expired token fails and drops it, and a background sweep drops the ones never looked up again.
+ * Live sessions are also counted per user, so whether a user has any left is a lookup too.
+ */
+class SessionTable {
+    private static final int TOKEN_BYTES = 32;
+
+    private static final class Session {
+        final User user;
+        volatile long lastUsed;
+
+        Session(User user, long now) {
+            this.user = user;
+            this.lastUsed = now;
+        }
+    }
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Integer> perUser = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+    private final long idleTimeoutMillis;
+    private final ScheduledExecutorService sweeper;
+
+    SessionTable(long idleTimeoutMillis) {
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "session-sweeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000, idleTimeoutMillis / 4);
+        sweeper.scheduleWithFixedDelay(this::sweep, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    long idleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+
+    /** Starts a session for an authenticated user and returns its token. */
+    String open(User user) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = encoder.encodeToString(bytes);
+        perUser.merge(user.getUserId(), 1, Integer::sum);
+        sessions.put(token, new Session(user, System.currentTimeMillis()));
+        return token;
+    }
+
+    /** The user of a live session, which counts as a use of it; {@code null} if there is none. */
+    User touch(String token) {
+        if (token == null) {
+            return null;
+        }
+        Session session = sessions.get(token);
+        if (session == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (now - session.lastUsed > idleTimeoutMillis) {
+            if (sessions.remove(token, session)) {
+                ended(session);
+            }
+            return null;
+        }
+        session.lastUsed = now;
+        return session.user;
+    }
+
+    /** The user whose session this was, or {@code null} if the token was not live. */
+    User close(String token) {
+        Session session = token != null ? sessions.remove(token) : null;
+        if (session == null) {
+            return null;
+        }
+        ended(session);
+        return session.user;
+    }
+
+    /**
+     * Ends every session of the user except the one of {@code keepToken} (may be {@code null}); a
+     * scan, as it is only needed on logout and password changes.
+     */
+    void closeAll(String userId, String keepToken) {
+        if (!perUser.containsKey(userId)) {
+            return;
+        }
+        removeIf((token, session) -> !token.equals(keepToken) && userId.equals(session.user.getUserId()));
+    }
+
+    /** Whether the user has a session that has not been closed or swept yet. */
+    boolean hasSessions(String userId) {
+        return perUser.containsKey(userId);
+    }
+
+    int size() {
+        return sessions.size();
+    }
+
+    void sweep() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+        removeIf((token, session) -> session.lastUsed < cutoff);
+    }
+
+    private void removeIf(BiPredicate<String, Session> condition) {
+        for (Map.Entry<String, Session> entry : sessions.entrySet()) {
+            if (condition.test(entry.getKey(), entry.getValue()) && sessions.remove(entry.getKey(), entry.getValue())) {
+                ended(entry.getValue());
+            }
+        }
+    }
+
+    // Called once for each session removed, by whichever path removed it
+    private void ended(Session session) {
+        perUser.computeIfPresent(session.user.getUserId(), (userId, count) -> count == 1 ? null : count - 1);
+    }
+
+    void close() {
+        sweeper.shutdownNow();
+        sessions.clear();
+        perUser.clear();
+    }
+}
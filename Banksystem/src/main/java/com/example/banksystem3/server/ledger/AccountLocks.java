@@ -0,0 +1,65 @@
+package com.example.banksystem3.server.ledger;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped locks guarding balance mutations, keyed by account ID.
+ * Two accounts may share a stripe; that only costs some parallelism, never correctness.
+ * Pairs of accounts are always locked in stripe order so concurrent transfers cannot deadlock.
+ */
+public class AccountLocks {
+    private static final int DEFAULT_STRIPES = 1024;
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public AccountLocks() {
+        this(DEFAULT_STRIPES);
+    }
+
+    public AccountLocks(int stripeCount) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    private int indexOf(String accountId) {
+        int h = accountId.hashCode();
+        h ^= (h >>> 16); // spread high bits, same as HashMap
+        return h & mask;
+    }
+
+    public void lock(String accountId) {
+        stripes[indexOf(accountId)].lock();
+    }
+
+    public void unlock(String accountId) {
+        stripes[indexOf(accountId)].unlock();
+    }
+
+    /** Locks the stripes of both accounts, lowest stripe first. */
+    public void lockBoth(String firstId, String secondId) {
+        int a = indexOf(firstId);
+        int b = indexOf(secondId);
+        if (a == b) {
+            stripes[a].lock();
+        } else {
+            stripes[Math.min(a, b)].lock();
+            stripes[Math.max(a, b)].lock();
+        }
+    }
+
+    public void unlockBoth(String firstId, String secondId) {
+        int a = indexOf(firstId);
+        int b = indexOf(secondId);
+        if (a == b) {
+            stripes[a].unlock();
+        } else {
+            stripes[Math.max(a, b)].unlock();
+            stripes[Math.min(a, b)].unlock();
+        }
+    }
+}
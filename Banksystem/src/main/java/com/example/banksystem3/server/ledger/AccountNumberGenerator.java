@@ -0,0 +1,113 @@
+package com.example.banksystem3.server.ledger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Issues account numbers: the bank prefix {@value #PREFIX}, an {@value #SERIAL_DIGITS}-digit serial
+ * and a Luhn check digit, 13 digits in all.
+ *
+ * <p>Serials come from an {@link IdSequence}, so issuing a number is one atomic increment, no
+ * serial is lost when a thread goes away, and none is issued twice across restarts. Numbers stored
+ * in the ledger never move the sequence: a well-formed number that a client chose itself is
+ * covered by {@code taken}, which every candidate is checked against and skipped when in use.
+ *
+ * <p>Numbers from the earlier random 15-digit scheme never have this length, so they cannot collide
+ * with issued ones.
+ */
+public class AccountNumberGenerator {
+    public static final String PREFIX = "1000";
+    public static final int SERIAL_DIGITS = 8;
+    public static final int LENGTH = PREFIX.length() + SERIAL_DIGITS + 1;
+    public static final long FIRST_SERIAL = 1;
+    private static final long SERIAL_LIMIT = 100_000_000L; // 10^SERIAL_DIGITS
+
+    private final IdSequence serials;
+    private final Predicate<String> taken;
+
+    /**
+     * @param serials where serials come from; starting at {@link #FIRST_SERIAL}
+     * @param taken   whether a number is already in use; checked for each candidate
+     */
+    public AccountNumberGenerator(IdSequence serials, Predicate<String> taken) {
+        this.serials = serials;
+        this.taken = taken;
+    }
+
+    /** A number not issued before and not {@code taken}. */
+    public String next() {
+        while (true) {
+            String number = format(checked(serials.next()));
+            if (!taken.test(number)) {
+                return number;
+            }
+        }
+    }
+
+    /** {@code count} numbers as {@link #next()} would give, taking their serials in one step. */
+    public List<String> next(int count) {
+        long first = serials.reserve(count);
+        checked(first + count - 1);
+        List<String> numbers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String number = format(first + i);
+            numbers.add(taken.test(number) ? next() : number);
+        }
+        return numbers;
+    }
+
+    private static long checked(long serial) {
+        if (serial >= SERIAL_LIMIT) {
+            throw new IllegalStateException("Account number serials exhausted");
+        }
+        return serial;
+    }
+
+    /** Whether {@code number} has this generator's prefix, length and a correct check digit. */
+    public static boolean isValid(String number) {
+        if (number == null || number.length() != LENGTH || !number.startsWith(PREFIX)) {
+            return false;
+        }
+        char[] digits = number.toCharArray();
+        for (char c : digits) {
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return luhnSum(digits, LENGTH - 1, true) % 10 == 0;
+    }
+
+    static String format(long serial) {
+        char[] digits = new char[LENGTH];
+        PREFIX.getChars(0, PREFIX.length(), digits, 0);
+        for (int i = LENGTH - 2; i >= PREFIX.length(); i--) {
+            digits[i] = (char) ('0' + serial % 10);
+            serial /= 10;
+        }
+        digits[LENGTH - 1] = (char) ('0' + (10 - luhnSum(digits, LENGTH - 2, false) % 10) % 10);
+        return new String(digits);
+    }
+
+    /**
+     * Luhn sum of {@code digits} from index {@code last} down to 0. With {@code checkDigitIncluded}
+     * the digit at {@code last} is the check digit and is not doubled; otherwise it is the digit
+     * next to where the check digit will go and is doubled.
+     */
+    private static int luhnSum(char[] digits, int last, boolean checkDigitIncluded) {
+        int sum = 0;
+        boolean doubled = !checkDigitIncluded;
+        for (int i = last; i >= 0; i--) {
+            int d = digits[i] - '0';
+            if (doubled) {
+                d *= 2;
+                if (d > 9) {
+                    d -= 9;
+                }
+            }
+            sum += d;
+            doubled = !doubled;
+        }
+        return sum;
+    }
+}
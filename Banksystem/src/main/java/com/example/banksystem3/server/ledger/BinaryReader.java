@@ -0,0 +1,60 @@
+package com.example.banksystem3.server.ledger;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads values written by {@link BinaryWriter} from a {@link ByteBuffer}.
+ */
+public class BinaryReader {
+    ByteBuffer in; // replaced by readers that refill it, see require
+
+    public BinaryReader(ByteBuffer in) {
+        this.in = in;
+    }
+
+    public int getByte() {
+        require(1);
+        return in.get();
+    }
+
+    public boolean getBoolean() {
+        require(1);
+        return in.get() != 0;
+    }
+
+    public int getInt() {
+        require(4);
+        return in.getInt();
+    }
+
+    public long getLong() {
+        require(8);
+        return in.getLong();
+    }
+
+    public String getString() {
+        require(4);
+        int len = in.getInt();
+        if (len < 0) {
+            return null;
+        }
+        require(len);
+        if (in.hasArray()) {
+            String s = new String(in.array(), in.arrayOffset() + in.position(), len, StandardCharsets.UTF_8);
+            in.position(in.position() + len);
+            return s;
+        }
+        byte[] bytes = new byte[len];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public int remaining() {
+        return in.remaining();
+    }
+
+    /** Makes {@code count} bytes readable from {@code in}; a reader over one whole buffer has them all. */
+    void require(int count) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.banksystem3.server.ledger;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Durability helpers shared by the files in this package
+final class FileSync {
+    private FileSync() {
+    }
+
+    /**
+     * Forces the directory entries of {@code dir}. A created or renamed file is only durable once
+     * its directory is; until then a crash may bring back the old entry or lose the new one.
+     */
+    static void syncDirectory(Path dir) throws IOException {
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (AccessDeniedException e) {
+            // Windows cannot open a directory; there the rename is made durable by the file system
+        }
+    }
+}
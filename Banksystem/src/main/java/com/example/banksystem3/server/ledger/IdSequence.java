@@ -0,0 +1,136 @@
+package com.example.banksystem3.server.ledger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * Persistent source of increasing numeric IDs that are never issued twice, even across restarts.
+ *
+ * <p>IDs are taken from an {@link AtomicLong}, so issuing one is lock-free. Before any ID is
+ * issued, a ceiling above it has been written and synced to the sequence file; the file is
+ * rewritten only when the counter crosses the ceiling, which is then raised by a whole batch, so
+ * a sync is paid once per {@code batchSize} IDs and only by the thread that crosses it. After a
+ * restart the sequence resumes at the stored ceiling: IDs reserved but not issued before the
+ * restart are skipped, none is reissued.
+ *
+ * <p>Without a file the sequence lives in memory only and starts from {@code first} each time.
+ */
+public class IdSequence {
+    private static final int FILE_SIZE = 12; // ceiling, CRC32 of it
+
+    private final Path file;
+    private final long batchSize;
+    private final AtomicLong next;
+    private volatile long ceiling; // every ID below this is durably reserved
+
+    /**
+     * @param file      where the ceiling is kept; {@code null} for an in-memory sequence
+     * @param first     the first ID of a new sequence
+     * @param batchSize how many IDs each write of the file reserves
+     */
+    public IdSequence(Path file, long first, long batchSize) throws IOException {
+        this.file = file;
+        this.batchSize = Math.max(1, batchSize);
+        long start = first;
+        if (file == null) {
+            ceiling = Long.MAX_VALUE;
+        } else if (Files.exists(file)) {
+            start = Math.max(first, readCeiling(file));
+            ceiling = start;
+        } else {
+            ceiling = start;
+        }
+        this.next = new AtomicLong(start);
+    }
+
+    public long next() {
+        return reserve(1);
+    }
+
+    /** Reserves {@code count} consecutive IDs and returns the first. */
+    public long reserve(int count) {
+        long first = next.getAndAdd(count);
+        long end = first + count;
+        if (end > ceiling) {
+            raiseCeiling(end);
+        }
+        return first;
+    }
+
+    /** Moves the sequence past {@code id}, e.g. one recovered from the ledger or chosen by a client. */
+    public void observe(long id) {
+        if (id >= next.get()) {
+            next.accumulateAndGet(id + 1, Math::max);
+        }
+    }
+
+    /** Like {@link #observe(long)} for an ID held as text; IDs that are not plain numbers are ignored. */
+    public void observe(String id) {
+        if (id == null || id.isEmpty() || id.length() > 18) {
+            return;
+        }
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9') {
+                return;
+            }
+        }
+        observe(Long.parseLong(id));
+    }
+
+    // Rare path: one thread per batch writes the file; others crossing the old ceiling wait for it
+    private synchronized void raiseCeiling(long end) {
+        if (end <= ceiling) {
+            return;
+        }
+        long raised = Math.max(end, next.get()) + batchSize;
+        try {
+            writeCeiling(raised);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not reserve IDs in " + file, e);
+        }
+        ceiling = raised;
+    }
+
+    private void writeCeiling(long value) throws IOException {
+        ByteBuffer data = ByteBuffer.allocate(FILE_SIZE);
+        data.putLong(value);
+        CRC32 crc = new CRC32();
+        crc.update(data.array(), 0, 8);
+        data.putInt((int) crc.getValue()).flip();
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        // Until the directory entry is durable a crash may bring back the old ceiling
+        FileSync.syncDirectory(file.toAbsolutePath().getParent());
+    }
+
+    private static long readCeiling(Path file) throws IOException {
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (data.remaining() != FILE_SIZE) {
+            throw new IOException("Corrupt ID sequence file " + file);
+        }
+        long value = data.getLong();
+        CRC32 crc = new CRC32();
+        crc.update(data.array(), 0, 8);
+        if (data.getInt() != (int) crc.getValue()) {
+            throw new IOException("Corrupt ID sequence file " + file);
+        }
+        return value;
+    }
+}
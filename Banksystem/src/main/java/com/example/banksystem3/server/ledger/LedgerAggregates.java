@@ -0,0 +1,169 @@
+package com.example.banksystem3.server.ledger;
+
+import com.example.banksystem3.shared.Account;
+import com.example.banksystem3.shared.DashboardStats;
+import com.example.banksystem3.shared.Transaction;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running bank-wide totals for the admin dashboard.
+ *
+ * <p>The ledger reports every change as it applies it (under the affected account's lock), so
+ * reading the totals costs the same however many accounts and transactions there are. Counters
+ * are independent, so a reading taken during a posting may show it in one total and not yet in
+ * another. Daily volumes are kept for the last {@code bank.dashboard.days} days (30 by default).
+ */
+public class LedgerAggregates {
+    private static final int DAYS = Integer.getInteger("bank.dashboard.days", 30);
+    private static final Transaction.TransactionType[] TYPES = Transaction.TransactionType.values();
+
+    private static final class DayVolume {
+        final LongAdder[] counts = newAdders();
+        final LongAdder[] amountsMinor = newAdders();
+
+        private static LongAdder[] newAdders() {
+            LongAdder[] adders = new LongAdder[TYPES.length];
+            for (int i = 0; i < adders.length; i++) {
+                adders[i] = new LongAdder();
+            }
+            return adders;
+        }
+    }
+
+    // Ordered highest balance first; ties by account id
+    private static final class BalanceEntry implements Comparable<BalanceEntry> {
+        final long balanceMinor;
+        final String accountId;
+
+        BalanceEntry(long balanceMinor, String accountId) {
+            this.balanceMinor = balanceMinor;
+            this.accountId = accountId;
+        }
+
+        @Override
+        public int compareTo(BalanceEntry other) {
+            int byBalance = Long.compare(other.balanceMinor, balanceMinor);
+            return byBalance != 0 ? byBalance : accountId.compareTo(other.accountId);
+        }
+    }
+
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final LongAdder totalBalanceMinor = new LongAdder();
+    private final LongAdder accountCount = new LongAdder();
+    private final Map<Account.AccountType, LongAdder> accountsByType = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> accountsByStatus = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<LocalDate, DayVolume> days = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListSet<BalanceEntry> balances = new ConcurrentSkipListSet<>();
+
+    public void accountAdded(Account account) {
+        count(account, 1);
+        totalBalanceMinor.add(account.getBalanceMinor());
+        balances.add(new BalanceEntry(account.getBalanceMinor(), account.getAccountId()));
+    }
+
+    /** {@code account} is no longer in the ledger, e.g. because an update replaced it. */
+    public void accountRemoved(Account account) {
+        count(account, -1);
+        totalBalanceMinor.add(-account.getBalanceMinor());
+        balances.remove(new BalanceEntry(account.getBalanceMinor(), account.getAccountId()));
+    }
+
+    public void statusChanged(String oldStatus, String newStatus) {
+        adder(accountsByStatus, statusKey(oldStatus)).decrement();
+        adder(accountsByStatus, statusKey(newStatus)).increment();
+    }
+
+    public void balanceChanged(String accountId, long oldBalanceMinor, long newBalanceMinor) {
+        totalBalanceMinor.add(newBalanceMinor - oldBalanceMinor);
+        balances.remove(new BalanceEntry(oldBalanceMinor, accountId));
+        balances.add(new BalanceEntry(newBalanceMinor, accountId));
+    }
+
+    public void transactionPosted(Transaction transaction) {
+        if (transaction.getType() == null || transaction.getTimestamp() == null) {
+            return;
+        }
+        LocalDate date = transaction.getTimestamp().toInstant().atZone(zone).toLocalDate();
+        LocalDate oldest = LocalDate.now(zone).minusDays(DAYS - 1);
+        if (date.isBefore(oldest)) {
+            return;
+        }
+        DayVolume volume = days.get(date);
+        if (volume == null) {
+            volume = days.computeIfAbsent(date, d -> new DayVolume());
+            days.headMap(oldest).clear(); // a new day: let the oldest one go
+        }
+        int type = transaction.getType().ordinal();
+        volume.counts[type].increment();
+        volume.amountsMinor[type].add(transaction.getAmountMinor());
+    }
+
+    /** Counts the recent part of a history loaded in bulk, e.g. from a snapshot. */
+    public void historyLoaded(TransactionHistory history) {
+        long since = LocalDate.now(zone).minusDays(DAYS - 1).atStartOfDay(zone).toInstant().toEpochMilli();
+        for (int i = history.indexAtOrAfter(since); i < history.size(); i++) {
+            transactionPosted(history.get(i));
+        }
+    }
+
+    /**
+     * @param accounts resolves the ids of the top accounts
+     * @param top how many of the highest-balance accounts to include
+     */
+    public DashboardStats snapshot(Map<String, Account> accounts, long customerCount, int top) {
+        Map<Account.AccountType, Long> byType = new EnumMap<>(Account.AccountType.class);
+        accountsByType.forEach((type, count) -> byType.put(type, count.sum()));
+        Map<String, Long> byStatus = new HashMap<>();
+        accountsByStatus.forEach((status, count) -> byStatus.put(status, count.sum()));
+
+        List<DashboardStats.DailyVolume> volumes = new ArrayList<>(DAYS);
+        days.tailMap(LocalDate.now(zone).minusDays(DAYS - 1)).forEach((date, volume) -> {
+            Map<Transaction.TransactionType, Long> counts = new EnumMap<>(Transaction.TransactionType.class);
+            Map<Transaction.TransactionType, Long> amounts = new EnumMap<>(Transaction.TransactionType.class);
+            for (Transaction.TransactionType type : TYPES) {
+                counts.put(type, volume.counts[type.ordinal()].sum());
+                amounts.put(type, volume.amountsMinor[type.ordinal()].sum());
+            }
+            volumes.add(new DashboardStats.DailyVolume(date, counts, amounts));
+        });
+
+        List<Account> topAccounts = new ArrayList<>(top);
+        Iterator<BalanceEntry> highest = balances.iterator();
+        while (highest.hasNext() && topAccounts.size() < top) {
+            Account account = accounts.get(highest.next().accountId);
+            if (account != null) {
+                topAccounts.add(account);
+            }
+        }
+        return new DashboardStats(totalBalanceMinor.sum(), customerCount, accountCount.sum(),
+                byType, byStatus, volumes, topAccounts);
+    }
+
+    private void count(Account account, int delta) {
+        accountCount.add(delta);
+        if (account.getType() != null) {
+            adder(accountsByType, account.getType()).add(delta);
+        }
+        adder(accountsByStatus, statusKey(account.getStatus())).add(delta);
+    }
+
+    private static <K> LongAdder adder(Map<K, LongAdder> counters, K key) {
+        return counters.computeIfAbsent(key, k -> new LongAdder());
+    }
+
+    private static String statusKey(String status) {
+        return status != null ? status : "UNKNOWN";
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.banksystem3.server.ledger;
+
+import com.example.banksystem3.shared.Account;
+import com.example.banksystem3.shared.Customer;
+import com.example.banksystem3.shared.Money;
+import com.example.banksystem3.shared.Role;
+import com.example.banksystem3.shared.Transaction;
+import com.example.banksystem3.shared.User;
+
+import java.io.IOException;
+import java.util.Date;
+
+/**
+ * Binary encoding of the ledger's domain objects for the journal and snapshots.
+ * Enums are written as ordinals (-1 for null) and money as santim.
+ */
+public final class LedgerCodec {
+    private LedgerCodec() {}
+
+    public static void writeCustomer(BinaryWriter out, Customer customer) {
+        out.putString(customer.getCustomerId());
+        out.putString(customer.getName());
+        out.putString(customer.getPhone());
+        out.putString(customer.getAddress());
+        out.putString(customer.getDob());
+    }
+
+    public static Customer readCustomer(BinaryReader in) {
+        return new Customer(in.getString(), in.getString(), in.getString(), in.getString(), in.getString());
+    }
+
+    public static void writeAccount(BinaryWriter out, Account account) {
+        out.putString(account.getAccountId());
+        out.putString(account.getCustomerId());
+        out.putString(account.getAccountNumber());
+        out.putString(account.getAccountHolderName());
+        out.putByte(account.getType() == null ? -1 : account.getType().ordinal());
+        out.putLong(account.getBalanceMinor());
+        out.putString(account.getStatus());
+        out.putString(account.getCreatedAt());
+    }
+
+    public static Account readAccount(BinaryReader in) throws IOException {
+        Account account = new Account();
+        account.setAccountId(in.getString());
+        account.setCustomerId(in.getString());
+        account.setAccountNumber(in.getString());
+        account.setAccountHolderName(in.getString());
+        int type = in.getByte();
+        account.setType(type == -1 ? null : enumAt(Account.AccountType.values(), type));
+        account.setBalanceMinor(in.getLong());
+        account.setStatus(in.getString());
+        account.setCreatedAt(in.getString());
+        return account;
+    }
+
+    /** Field-by-field copy, so an account can be encoded after its lock is released. */
+    public static Account copyOf(Account account) {
+        Account copy = new Account();
+        copy.setAccountId(account.getAccountId());
+        copy.setCustomerId(account.getCustomerId());
+        copy.setAccountNumber(account.getAccountNumber());
+        copy.setAccountHolderName(account.getAccountHolderName());
+        copy.setType(account.getType());
+        copy.setBalanceMinor(account.getBalanceMinor());
+        copy.setStatus(account.getStatus());
+        copy.setCreatedAt(account.getCreatedAt());
+        copy.setUpdatedAt(account.getUpdatedAt());
+        return copy;
+    }
+
+    public static void writeUser(BinaryWriter out, User user) {
+        out.putString(user.getUserId());
+        out.putString(user.getUsername());
+        out.putString(user.getPassword());
+        out.putString(user.getFullName());
+        out.putByte(user.getRole() == null ? -1 : user.getRole().ordinal());
+        out.putString(user.getNationalId());
+        out.putString(user.getPhone());
+        out.putString(user.getEmail());
+        out.putString(user.getDateOfBirth());
+        out.putString(user.getGender());
+        out.putString(user.getAddress());
+        out.putString(user.getCity());
+        out.putString(user.getState());
+        out.putString(user.getCountry());
+        out.putString(user.getStreetAddress());
+        out.putString(user.getStatus());
+        out.putString(user.getRegistrationDate());
+        out.putString(user.getCustomerId());
+    }
+
+    public static User readUser(BinaryReader in) throws IOException {
+        User user = new User();
+        user.setUserId(in.getString());
+        user.setUsername(in.getString());
+        user.setPassword(in.getString());
+        user.setFullName(in.getString());
+        int role = in.getByte();
+        user.setRole(role == -1 ? null : enumAt(Role.values(), role));
+        user.setNationalId(in.getString());
+        user.setPhone(in.getString());
+        user.setEmail(in.getString());
+        user.setDateOfBirth(in.getString());
+        user.setGender(in.getString());
+        user.setAddress(in.getString());
+        user.setCity(in.getString());
+        user.setState(in.getString());
+        user.setCountry(in.getString());
+        user.setStreetAddress(in.getString());
+        user.setStatus(in.getString());
+        user.setRegistrationDate(in.getString());
+        user.setCustomerId(in.getString());
+        return user;
+    }
+
+    /**
+     * Writes one posting leg: the history entry plus the resulting balance in santim.
+     * Replaying a leg sets the balance directly, so replay never re-runs business checks.
+     */
+    public static void writePosting(BinaryWriter out, Transaction transaction, long amountMinor, long balanceAfterMinor) {
+        out.putString(transaction.getAccountId());
+        writeTransactionBody(out, transaction, amountMinor, balanceAfterMinor);
+    }
+
+    /** Writes a history entry whose account is implied by the surrounding record. */
+    public static void writeTransaction(BinaryWriter out, Transaction transaction) {
+        writeTransactionBody(out, transaction, transaction.getAmountMinor(), transaction.getBalanceAfterMinor());
+    }
+
+    private static void writeTransactionBody(BinaryWriter out, Transaction transaction, long amountMinor, long balanceAfterMinor) {
+        out.putByte(transaction.getType().ordinal());
+        out.putLong(amountMinor);
+        out.putLong(balanceAfterMinor);
+        out.putString(transaction.getTransactionId());
+        out.putLong(transaction.getTimestamp() != null ? transaction.getTimestamp().getTime() : 0L);
+        out.putString(transaction.getDescription());
+    }
+
+    /** A decoded posting leg. */
+    public static final class Posting {
+        public final long balanceAfterMinor;
+        public final Transaction transaction;
+
+        Posting(long balanceAfterMinor, Transaction transaction) {
+            this.balanceAfterMinor = balanceAfterMinor;
+            this.transaction = transaction;
+        }
+    }
+
+    public static Posting readPosting(BinaryReader in) throws IOException {
+        return readTransactionBody(in, in.getString());
+    }
+
+    public static Transaction readTransaction(BinaryReader in, String accountId) throws IOException {
+        return readTransactionBody(in, accountId).transaction;
+    }
+
+    private static Posting readTransactionBody(BinaryReader in, String accountId) throws IOException {
+        Transaction.TransactionType type = enumAt(Transaction.TransactionType.values(), in.getByte());
+        long amountMinor = in.getLong();
+        long balanceAfterMinor = in.getLong();
+        String transactionId = in.getString();
+        long timestamp = in.getLong();
+        String description = in.getString();
+
+        Transaction transaction = new Transaction(transactionId, accountId, type,
+                Money.toMajor(amountMinor), description,
+                Money.toMajor(balanceAfterMinor));
+        transaction.setTimestamp(new Date(timestamp));
+        return new Posting(balanceAfterMinor, transaction);
+    }
+
+    // A written ordinal outside the enum means the record is corrupt (or from a newer build)
+    private static <E> E enumAt(E[] values, int ordinal) throws IOException {
+        if (ordinal < 0 || ordinal >= values.length) {
+            throw new IOException("Unknown " + values.getClass().getComponentType().getSimpleName()
+                    + " ordinal " + ordinal);
+        }
+        return values[ordinal];
+    }
+}
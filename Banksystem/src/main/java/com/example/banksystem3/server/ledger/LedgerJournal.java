@@ -0,0 +1,426 @@
+package com.example.banksystem3.server.ledger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, memory-mapped write-ahead journal of ledger mutations.
+ *
+ * <p>The journal is a sequence of generation files ({@code journal-<generation>.log}); a new
+ * generation is started by {@link #rotate()} when a snapshot is taken, so older generations can
+ * be deleted once the snapshot is safely on disk. Each file is mapped in fixed-size regions and
+ * each record is laid out as {@code [int length][byte type][payload][int crc32]}, where length
+ * covers type and payload. A zero length marks the end of the data in a region; records never
+ * span regions.
+ *
+ * <p>Positions are handed out as tickets combining generation and file offset, so they keep
+ * increasing across rotations. Appends only copy into the mapping. Durability is requested
+ * separately through {@link #awaitDurable(long)}: whichever caller finds no sync in progress
+ * forces the mapping for everything appended so far, so concurrent requests share one fsync
+ * (group commit).
+ *
+ * <p>A failed force is fatal: what reached the disk is then unknown, so the journal fails stop.
+ * Every later append, sync or rotation, including callers already waiting for a sync, throws, and
+ * only a restart, which replays what is on disk, makes the journal usable again.
+ */
+public class LedgerJournal implements Closeable {
+    // Record types
+    public static final byte REGISTER_USER = 1;
+    public static final byte ADD_CUSTOMER = 2;
+    public static final byte UPDATE_CUSTOMER = 3;
+    public static final byte DELETE_CUSTOMER = 4;
+    public static final byte CREATE_ACCOUNT = 5;
+    public static final byte UPDATE_ACCOUNT = 6;
+    public static final byte CLOSE_ACCOUNT = 7;
+    public static final byte POSTING = 8;
+    public static final byte TRANSFER = 9;
+    public static final byte UPDATE_USER = 10;
+
+    private static final int DEFAULT_REGION_SIZE = 16 << 20;
+    private static final int RECORD_OVERHEAD = 4 + 1 + 4;
+    private static final int OFFSET_BITS = 40;
+    private static final String FILE_PREFIX = "journal-";
+    private static final String FILE_SUFFIX = ".log";
+
+    /** Receives records in journal order during {@link #replay}. */
+    public interface RecordHandler {
+        /**
+         * @param position ticket of the end of the record, comparable with {@link #position()}
+         */
+        void onRecord(byte type, BinaryReader payload, long position) throws IOException;
+    }
+
+    private final Path directory;
+    private final int regionSize;
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private FileChannel channel;
+    private int generation;
+    private MappedByteBuffer region;
+    private long regionBase;
+
+    private final Object syncMonitor = new Object();
+    private long durablePosition;
+    private boolean syncing;
+    private volatile IOException failure; // set once by the first failed force
+
+    private LedgerJournal(Path directory, int regionSize) {
+        this.directory = directory;
+        this.regionSize = regionSize;
+    }
+
+    public static LedgerJournal open(Path directory) throws IOException {
+        return open(directory, DEFAULT_REGION_SIZE);
+    }
+
+    public static LedgerJournal open(Path directory, int regionSize) throws IOException {
+        Files.createDirectories(directory);
+        return new LedgerJournal(directory, regionSize);
+    }
+
+    public static long ticket(int generation, long offset) {
+        return ((long) generation << OFFSET_BITS) | offset;
+    }
+
+    private Path fileFor(int gen) {
+        return directory.resolve(String.format("%s%08d%s", FILE_PREFIX, gen, FILE_SUFFIX));
+    }
+
+    private List<Integer> generations() throws IOException {
+        List<Integer> gens = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    gens.add(Integer.parseInt(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length())));
+                } catch (NumberFormatException ignored) {
+                    // Not one of ours
+                }
+            }
+        }
+        Collections.sort(gens);
+        return gens;
+    }
+
+    /**
+     * Replays every intact record from {@code fromGeneration} onwards and positions the journal
+     * for appending after the last one. A torn or corrupt tail of the newest generation is
+     * discarded. Must be called once, before the first append.
+     *
+     * @return the number of records replayed
+     */
+    public long replay(int fromGeneration, RecordHandler handler) throws IOException {
+        appendLock.lock();
+        try {
+            List<Integer> gens = new ArrayList<>();
+            for (int gen : generations()) {
+                if (gen >= fromGeneration) {
+                    gens.add(gen);
+                }
+            }
+            if (gens.isEmpty()) {
+                gens.add(Math.max(1, fromGeneration));
+            }
+
+            long count = 0;
+            for (int i = 0; i < gens.size(); i++) {
+                boolean newest = i == gens.size() - 1;
+                openGeneration(gens.get(i));
+                count += replayGeneration(handler, newest);
+                if (!newest) {
+                    channel.close();
+                }
+            }
+            // The newest generation may have just been created
+            FileSync.syncDirectory(directory.toAbsolutePath());
+            synchronized (syncMonitor) {
+                durablePosition = position();
+            }
+            return count;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void openGeneration(int gen) throws IOException {
+        generation = gen;
+        channel = FileChannel.open(fileFor(gen),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        regionBase = 0;
+        region = map(0);
+    }
+
+    private long replayGeneration(RecordHandler handler, boolean newest) throws IOException {
+        long fileSize = channel.size();
+        long count = 0;
+        while (true) {
+            while (region.remaining() >= RECORD_OVERHEAD) {
+                int start = region.position();
+                int length = region.getInt();
+                if (length == 0) {
+                    region.position(start);
+                    break;
+                }
+                if (length < 1 || length + 4 > region.remaining()) {
+                    truncateAt(start, newest);
+                    return count;
+                }
+                ByteBuffer body = region.slice();
+                body.limit(length);
+                CRC32 crc = new CRC32();
+                crc.update(body.duplicate());
+                region.position(region.position() + length);
+                if ((int) crc.getValue() != region.getInt()) {
+                    truncateAt(start, newest);
+                    return count;
+                }
+                byte type = body.get();
+                handler.onRecord(type, new BinaryReader(body), position());
+                count++;
+            }
+            long next = regionBase + regionSize;
+            if (next >= fileSize) {
+                return count;
+            }
+            regionBase = next;
+            region = map(next);
+        }
+    }
+
+    private void truncateAt(int offset, boolean newest) throws IOException {
+        if (!newest) {
+            // Older generations were forced before rotation, so damage there is real corruption
+            throw new IOException("Corrupt record in " + fileFor(generation) + " at offset " + (regionBase + offset));
+        }
+        // Wipe the damaged tail of this region and drop any regions after it
+        region.position(offset);
+        while (region.hasRemaining()) {
+            region.put((byte) 0);
+        }
+        region.force();
+        region.position(offset);
+        channel.truncate(regionBase + regionSize);
+    }
+
+    private MappedByteBuffer map(long base) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_WRITE, base, regionSize);
+    }
+
+    private long currentPosition() {
+        return ticket(generation, regionBase + region.position());
+    }
+
+    /** Whether a force failed; the journal then refuses everything until reopened. */
+    public boolean isFailed() {
+        return failure != null;
+    }
+
+    private void checkUsable() throws IOException {
+        IOException cause = failure;
+        if (cause != null) {
+            throw new IOException("Ledger journal failed and must be reopened", cause);
+        }
+    }
+
+    // Records the first failure and wakes callers waiting for a sync that will not come
+    private IOException fail(Exception cause) {
+        IOException error = cause instanceof UncheckedIOException ? ((UncheckedIOException) cause).getCause()
+                : cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        synchronized (syncMonitor) {
+            if (failure == null) {
+                failure = error;
+            }
+            syncMonitor.notifyAll();
+        }
+        return error;
+    }
+
+    /** Ticket of the current end of the journal. */
+    public long position() {
+        appendLock.lock();
+        try {
+            return currentPosition();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    public int generation() {
+        appendLock.lock();
+        try {
+            return generation;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Throws if a record with this payload could never be appended, whatever the state of the
+     * journal; {@link #append} fails for no other reason unless the journal has failed.
+     */
+    public void checkFits(BinaryWriter payload) throws IOException {
+        int total = 1 + payload.size() + 8;
+        if (total + 4 > regionSize) {
+            throw new IOException("Journal record of " + total + " bytes exceeds region size " + regionSize);
+        }
+    }
+
+    /**
+     * Appends one record. The record is visible to replay once the mapping is forced;
+     * call {@link #awaitDurable(long)} with the returned ticket before acknowledging it.
+     *
+     * @return ticket of the journal position just after the record
+     */
+    public long append(byte type, BinaryWriter payload) throws IOException {
+        checkFits(payload);
+        int length = 1 + payload.size();
+        int total = length + 8;
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(payload.array(), 0, payload.size());
+
+        appendLock.lock();
+        try {
+            if (region == null) {
+                throw new IllegalStateException("Journal must be replayed before appending");
+            }
+            checkUsable();
+            if (region.remaining() < total + 4) {
+                try {
+                    rollRegion();
+                } catch (IOException | UncheckedIOException e) {
+                    throw fail(e);
+                }
+            }
+            region.putInt(length);
+            region.put(type);
+            payload.writeTo(region);
+            region.putInt((int) crc.getValue());
+            return currentPosition();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void rollRegion() throws IOException {
+        // The old region is finished; make it durable before moving on so that
+        // awaitDurable only ever has to force the current mapping.
+        region.force();
+        regionBase += regionSize;
+        region = map(regionBase);
+    }
+
+    /**
+     * Closes the current generation and starts appending to a new one.
+     *
+     * @return the new generation number
+     */
+    public int rotate() throws IOException {
+        appendLock.lock();
+        try {
+            checkUsable();
+            try {
+                region.force();
+            } catch (UncheckedIOException e) {
+                throw fail(e);
+            }
+            channel.close();
+            openGeneration(generation + 1);
+            // Records in the new file are acknowledged once forced, which needs its directory entry
+            FileSync.syncDirectory(directory.toAbsolutePath());
+            long start = currentPosition();
+            synchronized (syncMonitor) {
+                // Everything before the new generation was just forced
+                durablePosition = Math.max(durablePosition, start);
+                syncMonitor.notifyAll();
+            }
+            return generation;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /** Deletes generation files older than {@code gen}; they must already be covered by a snapshot. */
+    public void deleteGenerationsBefore(int gen) throws IOException {
+        for (int old : generations()) {
+            if (old < gen) {
+                Files.deleteIfExists(fileFor(old));
+            }
+        }
+    }
+
+    /** Blocks until everything up to {@code ticket} has been forced to disk. */
+    public void awaitDurable(long ticket) throws IOException {
+        while (true) {
+            synchronized (syncMonitor) {
+                while (syncing && durablePosition < ticket && failure == null) {
+                    try {
+                        syncMonitor.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Interrupted while waiting for journal sync");
+                    }
+                }
+                if (durablePosition >= ticket) {
+                    return;
+                }
+                checkUsable();
+                syncing = true;
+            }
+
+            long target;
+            MappedByteBuffer toForce;
+            appendLock.lock();
+            try {
+                target = currentPosition();
+                toForce = region;
+            } finally {
+                appendLock.unlock();
+            }
+
+            boolean forced = false;
+            try {
+                toForce.force();
+                forced = true;
+            } catch (UncheckedIOException e) {
+                throw fail(e);
+            } finally {
+                synchronized (syncMonitor) {
+                    syncing = false;
+                    if (forced && target > durablePosition) {
+                        durablePosition = target;
+                    }
+                    syncMonitor.notifyAll();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        appendLock.lock();
+        try {
+            if (region != null && failure == null) {
+                region.force();
+            }
+            if (channel != null) {
+                channel.close();
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package com.example.banksystem3.server.ledger;
+
+import com.example.banksystem3.shared.Account;
+import com.example.banksystem3.shared.Customer;
+import com.example.banksystem3.shared.Transaction;
+import com.example.banksystem3.shared.User;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary point-in-time image of the ledger ({@code snapshot-<generation>.bin}).
+ *
+ * <p>A snapshot belongs to the journal generation that was started when it was taken; on startup
+ * the snapshot is loaded and only journal generations from that one onwards are replayed.
+ * Snapshots are taken while traffic continues, so each account is stored with the journal
+ * position read under its lock: journal records for that account ending at or before the
+ * position are already reflected in the snapshot and must be skipped on replay.
+ *
+ * <p>Layout: {@code [int magic][int version][int generation]}, then tagged entries
+ * (user, customer, account), an end tag and a CRC32 of everything before it. Snapshots are read
+ * through a buffer rather than mapped, as a large ledger's snapshot can exceed what one mapping
+ * holds (2 GB).
+ */
+public final class LedgerSnapshot {
+    private static final int MAGIC = 0x42534E50; // "BSNP"
+    private static final int VERSION = 1;
+    private static final String FILE_PREFIX = "snapshot-";
+    private static final String FILE_SUFFIX = ".bin";
+
+    private static final byte TAG_END = 0;
+    private static final byte TAG_USER = 1;
+    private static final byte TAG_CUSTOMER = 2;
+    private static final byte TAG_ACCOUNT = 3;
+
+    private static final int FLUSH_THRESHOLD = 64 * 1024;
+    private static final int READ_BUFFER = 1 << 20;
+    private static final int HEADER_SIZE = 12;
+
+    private LedgerSnapshot() {}
+
+    /** Receives the contents of a snapshot while it is loaded. */
+    public interface Loader {
+        void onUser(User user);
+        void onCustomer(Customer customer);
+        void onAccount(Account account, long journalPosition, List<Transaction> history);
+    }
+
+    private static Path fileFor(Path directory, int generation) {
+        return directory.resolve(String.format("%s%08d%s", FILE_PREFIX, generation, FILE_SUFFIX));
+    }
+
+    /** Generations that have a snapshot file, newest first. */
+    public static List<Integer> generations(Path directory) throws IOException {
+        List<Integer> gens = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return gens;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    gens.add(Integer.parseInt(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length())));
+                } catch (NumberFormatException ignored) {
+                    // Not one of ours
+                }
+            }
+        }
+        gens.sort(Collections.reverseOrder());
+        return gens;
+    }
+
+    /**
+     * Loads the newest snapshot that passes its checksum.
+     *
+     * @return the snapshot's generation, or 0 if there is no usable snapshot
+     */
+    public static int loadLatest(Path directory, Loader loader) throws IOException {
+        for (int gen : generations(directory)) {
+            Path file = fileFor(directory, gen);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                if (!verify(channel, gen)) {
+                    continue; // Damaged or unfinished; fall back to an older one
+                }
+                try {
+                    read(new ChannelReader(channel, HEADER_SIZE, channel.size() - 4), loader);
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                return gen;
+            }
+        }
+        return 0;
+    }
+
+    // Checks the header and the CRC over everything before it, one buffer at a time
+    private static boolean verify(FileChannel channel, int gen) throws IOException {
+        long size = channel.size();
+        if (size < HEADER_SIZE + 5) {
+            return false;
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        ByteBuffer trailer = ByteBuffer.allocate(4);
+        if (!readFully(channel, header, 0) || !readFully(channel, trailer, size - 4)
+                || header.getInt(0) != MAGIC || header.getInt(4) != VERSION || header.getInt(8) != gen) {
+            return false;
+        }
+        CRC32 crc = new CRC32();
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER);
+        long position = 0;
+        while (position < size - 4) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), size - 4 - position));
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                return false;
+            }
+            position += read;
+            buffer.flip();
+            crc.update(buffer);
+        }
+        return (int) crc.getValue() == trailer.getInt(0);
+    }
+
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                return false;
+            }
+            position += read;
+        }
+        return true;
+    }
+
+    private static void read(BinaryReader in, Loader loader) throws IOException {
+        while (true) {
+            int tag = in.getByte();
+            switch (tag) {
+                case TAG_END:
+                    return;
+                case TAG_USER:
+                    loader.onUser(LedgerCodec.readUser(in));
+                    break;
+                case TAG_CUSTOMER:
+                    loader.onCustomer(LedgerCodec.readCustomer(in));
+                    break;
+                case TAG_ACCOUNT: {
+                    long position = in.getLong();
+                    Account account = LedgerCodec.readAccount(in);
+                    int count = in.getInt();
+                    List<Transaction> history = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        history.add(LedgerCodec.readTransaction(in, account.getAccountId()));
+                    }
+                    loader.onAccount(account, position, history);
+                    break;
+                }
+                default:
+                    throw new IOException("Unknown snapshot entry tag: " + tag);
+            }
+        }
+    }
+
+    /**
+     * Reads the entries between {@code start} and {@code end} of a file, refilling its buffer as
+     * values are asked for and growing it for a value larger than the buffer. I/O errors surface
+     * as {@link UncheckedIOException}, since the codec's readers do not declare them.
+     */
+    private static final class ChannelReader extends BinaryReader {
+        private final FileChannel channel;
+        private final long end;
+        private long filePosition;
+
+        ChannelReader(FileChannel channel, long start, long end) {
+            super(ByteBuffer.allocate(READ_BUFFER).flip());
+            this.channel = channel;
+            this.filePosition = start;
+            this.end = end;
+        }
+
+        @Override
+        void require(int count) {
+            if (in.remaining() >= count) {
+                return;
+            }
+            try {
+                if (count < 0 || count - in.remaining() > end - filePosition) {
+                    throw new EOFException("Snapshot entry runs past the end of the file");
+                }
+                ByteBuffer buffer = in;
+                if (count > buffer.capacity()) {
+                    buffer = ByteBuffer.allocate(count);
+                    buffer.put(in);
+                } else {
+                    buffer.compact();
+                }
+                while (buffer.position() < count) {
+                    buffer.limit((int) Math.min(buffer.capacity(), buffer.position() + (end - filePosition)));
+                    int read = channel.read(buffer, filePosition);
+                    if (read < 0) {
+                        throw new EOFException("Snapshot file ended early");
+                    }
+                    filePosition += read;
+                }
+                buffer.flip();
+                in = buffer;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /** Deletes snapshots older than {@code generation}. */
+    public static void deleteBefore(Path directory, int generation) throws IOException {
+        for (int gen : generations(directory)) {
+            if (gen < generation) {
+                Files.deleteIfExists(fileFor(directory, gen));
+            }
+        }
+    }
+
+    /**
+     * Streams a snapshot to a temporary file; {@link #commit()} makes it visible atomically.
+     * Not thread-safe.
+     */
+    public static class Writer implements Closeable {
+        private final Path target;
+        private final Path temp;
+        private final CheckedOutputStream out;
+        private final BinaryWriter chunk = new BinaryWriter(FLUSH_THRESHOLD + 4096);
+        private boolean committed;
+
+        public Writer(Path directory, int generation) throws IOException {
+            this.target = fileFor(directory, generation);
+            this.temp = directory.resolve(target.getFileName() + ".tmp");
+            OutputStream file = Files.newOutputStream(temp,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            this.out = new CheckedOutputStream(new BufferedOutputStream(file, FLUSH_THRESHOLD), new CRC32());
+            chunk.putInt(MAGIC).putInt(VERSION).putInt(generation);
+        }
+
+        private void maybeFlush() throws IOException {
+            if (chunk.size() >= FLUSH_THRESHOLD) {
+                flushChunk();
+            }
+        }
+
+        private void flushChunk() throws IOException {
+            out.write(chunk.array(), 0, chunk.size());
+            chunk.reset();
+        }
+
+        public void writeUser(User user) throws IOException {
+            chunk.putByte(TAG_USER);
+            LedgerCodec.writeUser(chunk, user);
+            maybeFlush();
+        }
+
+        public void writeCustomer(Customer customer) throws IOException {
+            chunk.putByte(TAG_CUSTOMER);
+            LedgerCodec.writeCustomer(chunk, customer);
+            maybeFlush();
+        }
+
+        /**
+         * @param journalPosition journal position read while the account's lock was held
+         */
+        public void writeAccount(Account account, long journalPosition, List<Transaction> history) throws IOException {
+            chunk.putByte(TAG_ACCOUNT);
+            chunk.putLong(journalPosition);
+            LedgerCodec.writeAccount(chunk, account);
+            chunk.putInt(history.size());
+            for (Transaction transaction : history) {
+                LedgerCodec.writeTransaction(chunk, transaction);
+                maybeFlush();
+            }
+            maybeFlush();
+        }
+
+        /** Writes the trailer, syncs the file, moves it into place and syncs the directory. */
+        public void commit() throws IOException {
+            chunk.putByte(TAG_END);
+            flushChunk();
+            int crc = (int) out.getChecksum().getValue();
+            out.write(new BinaryWriter(4).putInt(crc).array(), 0, 4);
+            out.close();
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            // Callers delete the journal this snapshot replaces, so the rename must be durable first
+            FileSync.syncDirectory(target.toAbsolutePath().getParent());
+            committed = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                out.close();
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+}
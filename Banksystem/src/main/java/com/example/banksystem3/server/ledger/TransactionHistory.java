@@ -0,0 +1,174 @@
+package com.example.banksystem3.server.ledger;
+
+import com.example.banksystem3.shared.Transaction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Append-only, time-ordered transaction history of one account.
+ *
+ * <p>Entries live in chunks of {@value #CHUNK_SIZE}, next to a parallel array of timestamps, and a
+ * full chunk is never moved or copied. Most accounts have only a few entries, so the first chunk
+ * starts at {@value #FIRST_CHUNK_SIZE} slots and is replaced by one twice its size until it is
+ * full; the replacement goes into a new directory, so readers of the old one are unaffected.
+ * Appends are serialized (callers already hold the account lock); readers take no lock: an entry
+ * is published by the volatile write of {@code size}, and everything below a size that was read
+ * is immutable.
+ *
+ * <p>The stored time key is the transaction's timestamp, raised to the previous key if the clock
+ * stepped backwards, so keys never decrease and time lookups are binary searches. Recent-N and
+ * date-range queries therefore cost O(log n + k) and allocate only their result.
+ */
+public class TransactionHistory {
+    private static final int CHUNK_BITS = 7;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int FIRST_CHUNK_SIZE = 8;
+    private static final Chunk[] NO_CHUNKS = new Chunk[0];
+
+    private static final class Chunk {
+        final Transaction[] entries;
+        final long[] times;
+
+        Chunk(int capacity) {
+            entries = new Transaction[capacity];
+            times = new long[capacity];
+        }
+
+        // Copies in the constructor so the final fields publish the copied entries too
+        Chunk(Chunk from, int capacity) {
+            entries = Arrays.copyOf(from.entries, capacity);
+            times = Arrays.copyOf(from.times, capacity);
+        }
+    }
+
+    private volatile Chunk[] chunks = NO_CHUNKS;
+    private volatile int size;
+    private long lastTime = Long.MIN_VALUE;
+
+    public TransactionHistory() {
+    }
+
+    /** A history holding {@code transactions}, which must be in the order they were posted. */
+    public TransactionHistory(Collection<Transaction> transactions) {
+        for (Transaction transaction : transactions) {
+            add(transaction);
+        }
+    }
+
+    /** Appends {@code transaction} and returns its index, which is also its sequence number. */
+    public synchronized int add(Transaction transaction) {
+        int index = size;
+        int chunkIndex = index >>> CHUNK_BITS;
+        Chunk[] directory = chunks;
+        if (chunkIndex == directory.length) {
+            directory = Arrays.copyOf(directory, Math.max(1, directory.length * 2));
+        }
+        int offset = index & CHUNK_MASK;
+        Chunk chunk = directory[chunkIndex];
+        if (chunk == null) {
+            chunk = new Chunk(chunkIndex == 0 ? FIRST_CHUNK_SIZE : CHUNK_SIZE);
+            directory[chunkIndex] = chunk;
+        } else if (offset == chunk.entries.length) {
+            // Only the first chunk can be short; readers may still hold the directory with the old one
+            chunk = new Chunk(chunk, Math.min(CHUNK_SIZE, offset * 2));
+            if (directory == chunks) {
+                directory = directory.clone();
+            }
+            directory[chunkIndex] = chunk;
+        }
+        long time = transaction.getTimestamp() != null ? transaction.getTimestamp().getTime() : lastTime;
+        lastTime = Math.max(lastTime, time);
+        chunk.entries[offset] = transaction;
+        chunk.times[offset] = lastTime;
+        chunks = directory;
+        size = index + 1; // publishes the entry
+        return index;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Transaction get(int index) {
+        return chunks[index >>> CHUNK_BITS].entries[index & CHUNK_MASK];
+    }
+
+    private long timeAt(Chunk[] directory, int index) {
+        return directory[index >>> CHUNK_BITS].times[index & CHUNK_MASK];
+    }
+
+    /** Index of the first entry at or after {@code millis}, searching entries below {@code limit}. */
+    private int lowerBound(Chunk[] directory, int limit, long millis) {
+        int lo = 0;
+        int hi = limit;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (timeAt(directory, mid) < millis) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /** Index of the first entry at or after {@code millis}; {@link #size()} if there is none. */
+    public int indexAtOrAfter(long millis) {
+        int n = size;
+        return lowerBound(chunks, n, millis);
+    }
+
+    /** Index of the first entry after {@code millis}; {@link #size()} if there is none. */
+    public int indexAfter(long millis) {
+        int n = size;
+        return millis == Long.MAX_VALUE ? n : lowerBound(chunks, n, millis + 1);
+    }
+
+    /** Every entry, oldest first. */
+    public List<Transaction> toList() {
+        int n = size;
+        Chunk[] directory = chunks;
+        List<Transaction> result = new ArrayList<>(n);
+        for (int c = 0; c << CHUNK_BITS < n; c++) {
+            Transaction[] entries = directory[c].entries;
+            int count = Math.min(CHUNK_SIZE, n - (c << CHUNK_BITS));
+            for (int i = 0; i < count; i++) {
+                result.add(entries[i]);
+            }
+        }
+        return result;
+    }
+
+    /** Up to {@code limit} of the newest entries, newest first. */
+    public List<Transaction> recent(int limit) {
+        int n = size;
+        Chunk[] directory = chunks;
+        int count = Math.max(0, Math.min(limit, n));
+        List<Transaction> result = new ArrayList<>(count);
+        for (int i = n - 1; i >= n - count; i--) {
+            result.add(directory[i >>> CHUNK_BITS].entries[i & CHUNK_MASK]);
+        }
+        return result;
+    }
+
+    /**
+     * Up to {@code limit} of the newest entries with {@code fromMillis <= time <= toMillis},
+     * oldest first.
+     */
+    public List<Transaction> range(long fromMillis, long toMillis, int limit) {
+        int n = size;
+        Chunk[] directory = chunks;
+        int end = toMillis == Long.MAX_VALUE ? n : lowerBound(directory, n, toMillis + 1);
+        int start = lowerBound(directory, end, fromMillis);
+        start = Math.max(start, end - Math.max(0, limit));
+        List<Transaction> result = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            result.add(directory[i >>> CHUNK_BITS].entries[i & CHUNK_MASK]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.banksystem3.server.notify;
+
+import com.example.banksystem3.server.admission.RequestThreads;
+import com.example.banksystem3.shared.AccountEvent;
+import com.example.banksystem3.shared.AccountEventListener;
+import com.example.banksystem3.shared.Transaction;
+
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends {@link AccountEventListener}s an {@link AccountEvent} for each account they subscribed to
+ * that changes.
+ *
+ * <p>Request threads only record the change in each watching subscriber's slot for the account
+ * and, if that subscriber has no delivery under way, schedule one; they never wait on a client.
+ * A subscriber has at most one callback in flight. Changes that arrive meanwhile are merged into
+ * its slots: the balance and status are overwritten by newer ones (ordered by the account's
+ * history sequence, so a late notification cannot roll them back) and at most
+ * {@value #MAX_EVENT_TRANSACTIONS} transactions are kept per account, the oldest being dropped
+ * and the event marked truncated. What a slow client holds is therefore bounded by the number of
+ * accounts it watches. A subscriber whose callback fails is dropped.
+ *
+ * <p>Callbacks run on {@link RequestThreads#newUnboundedExecutor}: with at most one in flight per
+ * subscriber, a client that hangs holds one thread and never delays the others. A callback that
+ * has not returned within {@link #DELIVERY_TIMEOUT_MS} drops its subscriber; the thread is freed
+ * when the RMI call itself times out (see {@code ServerMain}).
+ */
+public class AccountChangeNotifier implements AutoCloseable {
+    static final int MAX_EVENT_TRANSACTIONS = 32;
+    public static final long DELIVERY_TIMEOUT_MS = Long.getLong("bank.notify.timeout.ms", 5000);
+
+    private final Map<String, Set<Subscriber>> watchersByAccount = new ConcurrentHashMap<>();
+    private final Map<AccountEventListener, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService deliveries = RequestThreads.newUnboundedExecutor("account-notifier-");
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "account-notifier-watchdog");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final long deliveryTimeoutNanos;
+
+    public AccountChangeNotifier() {
+        this(DELIVERY_TIMEOUT_MS);
+    }
+
+    AccountChangeNotifier(long deliveryTimeoutMs) {
+        this.deliveryTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(deliveryTimeoutMs);
+        long period = Math.max(100, deliveryTimeoutMs / 4);
+        watchdog.scheduleWithFixedDelay(this::dropOverdue, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    // Latest known state of one watched account not yet delivered to the subscriber
+    private static final class Slot {
+        long sequence = -1;
+        long balanceMinor;
+        String status;
+        final TreeMap<Long, Transaction> transactions = new TreeMap<>();
+        boolean truncated;
+        boolean dirty;
+    }
+
+    private final class Subscriber {
+        final AccountEventListener listener;
+        final Set<String> accountIds = ConcurrentHashMap.newKeySet();
+        // Guarded by this
+        final Map<String, Slot> slots = new HashMap<>();
+        boolean scheduled;
+        volatile long deliveringSince; // System.nanoTime() when the callback in flight started; 0 if none
+
+        Subscriber(AccountEventListener listener) {
+            this.listener = listener;
+        }
+
+        void update(String accountId, long sequence, long balanceMinor, String status, Transaction transaction) {
+            synchronized (this) {
+                Slot slot = slots.computeIfAbsent(accountId, k -> new Slot());
+                if (sequence >= slot.sequence) {
+                    slot.sequence = sequence;
+                    slot.balanceMinor = balanceMinor;
+                    slot.status = status;
+                }
+                if (transaction != null) {
+                    slot.transactions.put(sequence, transaction);
+                    if (slot.transactions.size() > MAX_EVENT_TRANSACTIONS) {
+                        slot.transactions.pollFirstEntry();
+                        slot.truncated = true;
+                    }
+                }
+                slot.dirty = true;
+                if (scheduled) {
+                    return;
+                }
+                scheduled = true;
+            }
+            try {
+                deliveries.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Shutting down; the change goes undelivered
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                List<AccountEvent> events = new ArrayList<>();
+                synchronized (this) {
+                    for (Map.Entry<String, Slot> entry : slots.entrySet()) {
+                        Slot slot = entry.getValue();
+                        if (slot.dirty) {
+                            events.add(new AccountEvent(entry.getKey(), slot.balanceMinor, slot.status,
+                                    new ArrayList<>(slot.transactions.values()), slot.truncated));
+                            slot.transactions.clear();
+                            slot.truncated = false;
+                            slot.dirty = false;
+                        }
+                    }
+                    if (events.isEmpty()) {
+                        scheduled = false;
+                        return;
+                    }
+                }
+                deliveringSince = System.nanoTime();
+                try {
+                    listener.onAccountEvents(events);
+                } catch (RemoteException | RuntimeException e) {
+                    unsubscribe(listener);
+                    return; // Leaves scheduled set, so nothing is queued for it again
+                } finally {
+                    deliveringSince = 0;
+                }
+                if (subscribers.get(listener) != this) {
+                    return; // Dropped by the watchdog while the callback was in flight
+                }
+            }
+        }
+    }
+
+    /** Adds {@code accountIds} to what {@code listener} is sent events for. */
+    public void subscribe(AccountEventListener listener, Collection<String> accountIds) {
+        Subscriber subscriber = subscribers.computeIfAbsent(listener, Subscriber::new);
+        for (String accountId : accountIds) {
+            subscriber.accountIds.add(accountId);
+            watchersByAccount.computeIfAbsent(accountId, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+    }
+
+    /** Stops all notifications to {@code listener}. */
+    public void unsubscribe(AccountEventListener listener) {
+        Subscriber subscriber = subscribers.remove(listener);
+        if (subscriber == null) {
+            return;
+        }
+        for (String accountId : subscriber.accountIds) {
+            watchersByAccount.computeIfPresent(accountId, (k, watchers) -> {
+                watchers.remove(subscriber);
+                return watchers.isEmpty() ? null : watchers;
+            });
+        }
+        synchronized (subscriber) {
+            subscriber.slots.clear();
+        }
+    }
+
+    /**
+     * Records that {@code transaction} was posted to {@code accountId} at position
+     * {@code sequence} of its history, leaving the given balance and status.
+     */
+    public void posted(String accountId, long sequence, long balanceMinor, String status, Transaction transaction) {
+        Set<Subscriber> watchers = watchersByAccount.get(accountId);
+        if (watchers == null) {
+            return;
+        }
+        for (Subscriber subscriber : watchers) {
+            subscriber.update(accountId, sequence, balanceMinor, status, transaction);
+        }
+    }
+
+    /**
+     * Records a change to {@code accountId} other than a posting, such as a status change;
+     * {@code sequence} is the size of its history when the change was made.
+     */
+    public void changed(String accountId, long sequence, long balanceMinor, String status) {
+        posted(accountId, sequence, balanceMinor, status, null);
+    }
+
+    // Watchdog: drops subscribers whose callback has been in flight too long
+    private void dropOverdue() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers.values()) {
+            long since = subscriber.deliveringSince;
+            if (since != 0 && now - since > deliveryTimeoutNanos) {
+                unsubscribe(subscriber.listener);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        watchdog.shutdownNow();
+        deliveries.shutdownNow();
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.banksystem3.server.onboarding;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a UTF-8 CSV file line by line through a {@link FileChannel}, decoding a large buffer at a
+ * time. Fields are split by {@link #split}; a field may be quoted to hold commas, with {@code ""}
+ * for a quote, but not line breaks. A byte order mark and {@code \r\n} endings are accepted.
+ * Not thread-safe.
+ */
+class CsvReader implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+    private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+    private final StringBuilder partial = new StringBuilder(); // a line split across buffers
+    private boolean endOfInput;
+    private boolean flushed;
+    private boolean first = true;
+
+    CsvReader(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        chars.flip(); // empty, ready for reading
+    }
+
+    /** The next line without its terminator, or {@code null} at the end of the file. */
+    String readLine() throws IOException {
+        while (true) {
+            int start = chars.position();
+            int limit = chars.limit();
+            for (int i = start; i < limit; i++) {
+                if (chars.get(i) == '\n') {
+                    int end = i > start && chars.get(i - 1) == '\r' ? i - 1 : i;
+                    String line;
+                    if (partial.length() == 0) {
+                        line = new String(chars.array(), chars.arrayOffset() + start, end - start);
+                    } else {
+                        partial.append(chars.array(), chars.arrayOffset() + start, i - start);
+                        line = stripCarriageReturn(partial);
+                        partial.setLength(0);
+                    }
+                    chars.position(i + 1);
+                    return stripBom(line);
+                }
+            }
+            partial.append(chars.array(), chars.arrayOffset() + start, limit - start);
+            chars.position(limit);
+            if (!fill()) {
+                if (partial.length() == 0) {
+                    return null;
+                }
+                String line = stripCarriageReturn(partial);
+                partial.setLength(0);
+                return stripBom(line);
+            }
+        }
+    }
+
+    // Decodes the next buffer of input; false once everything has been returned
+    private boolean fill() throws IOException {
+        if (flushed) {
+            return false;
+        }
+        chars.clear();
+        while (chars.position() == 0) {
+            if (!endOfInput && channel.read(bytes) < 0) {
+                endOfInput = true;
+            }
+            bytes.flip();
+            CoderResult result = decoder.decode(bytes, chars, endOfInput);
+            bytes.compact();
+            if (result.isError()) {
+                result.throwException();
+            }
+            if (endOfInput) {
+                decoder.flush(chars);
+                flushed = true;
+                break;
+            }
+        }
+        chars.flip();
+        return chars.hasRemaining();
+    }
+
+    private static String stripCarriageReturn(StringBuilder line) {
+        int length = line.length();
+        if (length > 0 && line.charAt(length - 1) == '\r') {
+            length--;
+        }
+        return line.substring(0, length);
+    }
+
+    private String stripBom(String line) {
+        if (first) {
+            first = false;
+            if (!line.isEmpty() && line.charAt(0) == '\uFEFF') {
+                return line.substring(1);
+            }
+        }
+        return line;
+    }
+
+    /** The fields of {@code line}, unquoted and trimmed; {@code null} if a quote is left open. */
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    /**
+     * {@code field} written so that {@link #split} reads it back: quoted if it holds a comma or a
+     * quote. A field cannot span lines here, so line breaks become spaces.
+     */
+    static String quote(String field) {
+        String value = field.replace("\r\n", " ").replace('\n', ' ').replace('\r', ' ');
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,353 @@
+package com.example.banksystem3.server.onboarding;
+
+import com.example.banksystem3.server.admission.RequestThreads;
+import com.example.banksystem3.shared.Account;
+import com.example.banksystem3.shared.ImportStatus;
+import com.example.banksystem3.shared.Money;
+import com.example.banksystem3.shared.Role;
+import com.example.banksystem3.shared.User;
+import com.example.banksystem3.shared.ValidationUtil;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Imports customers from a CSV file, creating a user, customer and account for each row.
+ *
+ * <p>The first line names the columns, in any order and case: {@code username}, {@code password},
+ * {@code fullName}, {@code phone}, {@code accountType} and {@code initialDeposit} are required;
+ * {@code email}, {@code address}, {@code dateOfBirth}, {@code nationalId} and {@code gender} may be
+ * added. Rows are checked with the same {@link ValidationUtil} rules as the registration form.
+ *
+ * <p>Three stages overlap: a reader thread cuts the file into chunks of {@value #CHUNK_ROWS} rows,
+ * a pool validates and converts chunks in parallel, and the thread running the import hands the
+ * valid rows of each chunk, in file order, to the {@link Registrar}. At most a few chunks per
+ * validator are in flight, so memory does not grow with the file. A rejected row does not stop the
+ * import; its line number and reason go to the error file next to the input, and the first
+ * {@value #MAX_ERRORS_KEPT} are also reported in {@link #status()}.
+ */
+public class CustomerImport implements Runnable {
+    static final int CHUNK_ROWS = 1000;
+    static final int MAX_ERRORS_KEPT = 100;
+    private static final String[] REQUIRED = {"username", "password", "fullname", "phone", "accounttype", "initialdeposit"};
+
+    /** Creates the rows that passed validation. */
+    public interface Registrar {
+        /**
+         * Registers each user with its account, in order, and returns once they are durable. The
+         * result has one entry per user: {@code null} if it was registered, otherwise why not.
+         */
+        List<String> registerAll(List<User> users, List<Account> accounts) throws IOException;
+    }
+
+    private static final class RowError {
+        final long line;
+        final String message;
+
+        RowError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+    }
+
+    // One chunk of rows; after validation, the valid rows as users/accounts and the rejected ones as errors
+    private static final class Chunk {
+        final long firstLine;
+        final List<String> lines;
+        final List<Long> validLines = new ArrayList<>();
+        final List<User> users = new ArrayList<>();
+        final List<Account> accounts = new ArrayList<>();
+        final List<RowError> errors = new ArrayList<>();
+
+        Chunk(long firstLine, List<String> lines) {
+            this.firstLine = firstLine;
+            this.lines = lines;
+        }
+    }
+
+    private static final Chunk END = new Chunk(0, List.of());
+
+    private final String jobId;
+    private final Path file;
+    private final Path errorFile;
+    private final Registrar registrar;
+    private final int validatorThreads;
+
+    private final long started = System.currentTimeMillis();
+    private volatile long finished;
+    private volatile ImportStatus.State state = ImportStatus.State.RUNNING;
+    private volatile String failure;
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final List<String> firstErrors = new ArrayList<>(); // guarded by itself
+
+    public CustomerImport(String jobId, Path file, Registrar registrar) {
+        this.jobId = jobId;
+        this.file = file;
+        this.errorFile = file.resolveSibling(file.getFileName() + ".errors.csv");
+        this.registrar = registrar;
+        this.validatorThreads = Math.max(1, Runtime.getRuntime().availableProcessors());
+    }
+
+    /** When the import stopped, in epoch milliseconds; 0 while it is running. */
+    public long finishedAt() {
+        return finished;
+    }
+
+    public ImportStatus status() {
+        List<String> errors;
+        synchronized (firstErrors) {
+            errors = new ArrayList<>(firstErrors);
+        }
+        long end = finished != 0 ? finished : System.currentTimeMillis();
+        return new ImportStatus(jobId, state, rowsRead.get(), imported.get(), rejected.get(), end - started,
+                errors, errorFile.toString(), failure);
+    }
+
+    @Override
+    public void run() {
+        ExecutorService validators = RequestThreads.newExecutor("import-validator-", validatorThreads);
+        BlockingQueue<Future<Chunk>> validated = new ArrayBlockingQueue<>(validatorThreads * 2);
+        Thread reader = null;
+        try (CsvReader csv = new CsvReader(file);
+             BufferedWriter errorsOut = Files.newBufferedWriter(errorFile, StandardCharsets.UTF_8)) {
+            errorsOut.write("line,error");
+            errorsOut.newLine();
+            String header = csv.readLine();
+            Map<String, Integer> columns = header != null ? columns(header) : Map.of();
+            for (String name : REQUIRED) {
+                if (!columns.containsKey(name)) {
+                    throw new IOException("Header has no " + name + " column");
+                }
+            }
+
+            reader = new Thread(() -> read(csv, columns, validators, validated), "customer-import-reader");
+            reader.setDaemon(true);
+            reader.start();
+
+            while (true) {
+                Chunk chunk = validated.take().get();
+                if (chunk == END) {
+                    break;
+                }
+                commit(chunk, errorsOut);
+            }
+            state = ImportStatus.State.COMPLETED;
+        } catch (ExecutionException e) {
+            fail(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(e);
+        } catch (IOException | RuntimeException e) {
+            fail(e);
+        } finally {
+            if (reader != null) {
+                reader.interrupt();
+            }
+            validators.shutdownNow();
+            finished = System.currentTimeMillis();
+        }
+    }
+
+    private void fail(Throwable cause) {
+        failure = cause.getMessage() != null ? cause.getMessage() : cause.toString();
+        state = ImportStatus.State.FAILED;
+    }
+
+    // Reader thread: cuts the file into chunks and queues their validation in file order
+    private void read(CsvReader csv, Map<String, Integer> columns, ExecutorService validators,
+                      BlockingQueue<Future<Chunk>> validated) {
+        try {
+            long lineNumber = 1; // the header
+            long chunkStart = 2;
+            List<String> lines = new ArrayList<>(CHUNK_ROWS);
+            String line;
+            while ((line = csv.readLine()) != null) {
+                lineNumber++;
+                if (lines.isEmpty()) {
+                    chunkStart = lineNumber;
+                }
+                lines.add(line);
+                if (lines.size() == CHUNK_ROWS) {
+                    Chunk chunk = new Chunk(chunkStart, lines);
+                    validated.put(validators.submit(() -> validate(chunk, columns)));
+                    lines = new ArrayList<>(CHUNK_ROWS);
+                }
+            }
+            if (!lines.isEmpty()) {
+                Chunk chunk = new Chunk(chunkStart, lines);
+                validated.put(validators.submit(() -> validate(chunk, columns)));
+            }
+            validated.put(CompletableFuture.completedFuture(END));
+        } catch (InterruptedException e) {
+            // The import stopped
+        } catch (IOException | RuntimeException e) {
+            // The consumer may be blocked on a full queue, so wait for room rather than drop the failure
+            try {
+                validated.put(CompletableFuture.failedFuture(e));
+            } catch (InterruptedException stopped) {
+                // The import stopped
+            }
+        }
+    }
+
+    private Chunk validate(Chunk chunk, Map<String, Integer> columns) {
+        String createdAt = LocalDate.now().toString();
+        long lineNumber = chunk.firstLine;
+        for (String line : chunk.lines) {
+            if (!line.isBlank()) {
+                String error;
+                try {
+                    error = convert(line, columns, createdAt, chunk);
+                } catch (RuntimeException e) {
+                    // Any other surprise in one row rejects that row, not the chunk
+                    error = "Invalid row: " + e.getMessage();
+                }
+                if (error == null) {
+                    chunk.validLines.add(lineNumber);
+                } else {
+                    chunk.errors.add(new RowError(lineNumber, error));
+                }
+            }
+            lineNumber++;
+        }
+        return chunk;
+    }
+
+    // Adds the row's user and account to the chunk, or returns why the row is rejected
+    private static String convert(String line, Map<String, Integer> columns, String createdAt, Chunk chunk) {
+        List<String> fields = CsvReader.split(line);
+        if (fields == null) {
+            return "Unterminated quote";
+        }
+        if (fields.size() != columns.size()) {
+            return "Expected " + columns.size() + " fields but found " + fields.size();
+        }
+        String username = field(fields, columns, "username");
+        String password = field(fields, columns, "password");
+        String fullName = field(fields, columns, "fullname");
+        String phone = field(fields, columns, "phone");
+        String email = field(fields, columns, "email");
+        String nationalId = field(fields, columns, "nationalid");
+        String accountType = field(fields, columns, "accounttype");
+        String initialDeposit = field(fields, columns, "initialdeposit");
+
+        if (username == null) {
+            return "Username is required.";
+        }
+        if (password == null) {
+            return "Password is required.";
+        }
+        if (!ValidationUtil.isValidName(fullName)) {
+            return "Full Name is required and must contain only letters and spaces.";
+        }
+        if (!ValidationUtil.isValidPhone(phone)) {
+            return "Invalid phone number (expected 07... or +251...).";
+        }
+        if (email != null && !ValidationUtil.isValidEmail(email)) {
+            return "Invalid email address.";
+        }
+        if (nationalId != null && !ValidationUtil.isValidNationalId(nationalId)) {
+            return "National ID must be between 6 and 20 digits.";
+        }
+        Account.AccountType type;
+        try {
+            type = Account.AccountType.valueOf(accountType == null ? "" : accountType.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return "Unknown account type '" + accountType + "'.";
+        }
+        if (!ValidationUtil.isPositiveDouble(initialDeposit)) {
+            return "Initial Deposit must be a valid positive number.";
+        }
+        long depositMinor;
+        try {
+            // isPositiveDouble lets through values such as "Infinity" and "1e300"
+            depositMinor = Money.ofMajor(Double.parseDouble(initialDeposit));
+        } catch (ArithmeticException e) {
+            return "Initial Deposit is not a representable amount.";
+        }
+
+        User user = new User(null, username, password, fullName, Role.CUSTOMER);
+        user.setPhone(phone);
+        user.setEmail(email);
+        user.setNationalId(nationalId);
+        user.setAddress(field(fields, columns, "address"));
+        user.setDateOfBirth(field(fields, columns, "dateofbirth"));
+        user.setGender(field(fields, columns, "gender"));
+        Account account = new Account(UUID.randomUUID().toString(), null, null, type, 0, createdAt);
+        account.setBalanceMinor(depositMinor);
+        chunk.users.add(user);
+        chunk.accounts.add(account);
+        return null;
+    }
+
+    private void commit(Chunk chunk, BufferedWriter errorsOut) throws IOException {
+        rowsRead.addAndGet(chunk.validLines.size() + chunk.errors.size());
+        List<RowError> errors = new ArrayList<>(chunk.errors);
+        if (!chunk.users.isEmpty()) {
+            List<String> rejections = registrar.registerAll(chunk.users, chunk.accounts);
+            for (int i = 0; i < rejections.size(); i++) {
+                if (rejections.get(i) != null) {
+                    errors.add(new RowError(chunk.validLines.get(i), rejections.get(i)));
+                } else {
+                    imported.incrementAndGet();
+                }
+            }
+        }
+        // Validation and registration errors of one chunk are reported in line order
+        errors.sort((a, b) -> Long.compare(a.line, b.line));
+        for (RowError error : errors) {
+            errorsOut.write(error.line + "," + CsvReader.quote(error.message));
+            errorsOut.newLine();
+            synchronized (firstErrors) {
+                if (firstErrors.size() < MAX_ERRORS_KEPT) {
+                    firstErrors.add("line " + error.line + ": " + error.message);
+                }
+            }
+        }
+        rejected.addAndGet(errors.size());
+    }
+
+    private static Map<String, Integer> columns(String header) throws IOException {
+        List<String> names = CsvReader.split(header);
+        if (names == null) {
+            throw new IOException("Malformed header line");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i).toLowerCase(Locale.ROOT).replace("_", "").replace(" ", "");
+            if (columns.put(name, i) != null) {
+                throw new IOException("Duplicate column " + names.get(i));
+            }
+        }
+        return columns;
+    }
+
+    // The trimmed field, or null when the column is absent or the field empty
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null) {
+            return null;
+        }
+        String value = fields.get(index);
+        return value.isEmpty() ? null : value;
+    }
+}
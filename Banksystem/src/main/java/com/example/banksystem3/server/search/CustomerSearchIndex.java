@@ -0,0 +1,348 @@
+package com.example.banksystem3.server.search;
+
+import com.example.banksystem3.shared.Customer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory search index over customer name, phone and customer id.
+ *
+ * <p>Two inverted indexes map to internal document numbers: one of whole tokens (each name word,
+ * the phone and the id) for exact and prefix matches, and a trigram index for matches anywhere
+ * inside a field. A query is answered from the token index first, so exact and prefix hits rank
+ * ahead of infix ones, then topped up by intersecting the trigram postings of the query,
+ * shortest list first, and checking each candidate. Every stage stops as soon as {@code limit}
+ * results are found, so the cost follows the result size rather than the number of customers.
+ * Queries shorter than three characters have no trigram, so their infix matches come from
+ * scanning the fields instead; such a query matches many customers and the scan soon reaches
+ * {@code limit}.
+ *
+ * <p>Prefix lookups need the distinct tokens in order. They are kept in a sorted array plus a
+ * small sorted set of tokens added since, merged into the array once the set grows past an
+ * eighth of it; inserting millions of mostly unique phone numbers and ids into one tree was the
+ * dominant cost of building the index.
+ *
+ * <p>Updates replace the document: the old number is left dead in the postings and skipped by
+ * queries until dead documents outnumber live ones, when the postings are rebuilt.
+ */
+public class CustomerSearchIndex {
+    private static final int GRAM = 3;
+    private static final int MIN_COMPACT = 1024;
+    private static final int MIN_MERGE = 4096;
+
+    private static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // All guarded by lock
+    private Customer[] docs = new Customer[1024]; // null once dead
+    private String[][] docFields = new String[1024][]; // lower-cased name, phone, id
+    private int docCount;
+    private int liveCount;
+    private final Map<String, Integer> docByCustomerId = new HashMap<>();
+    private final Map<String, IntList> tokens = new HashMap<>();
+    private String[] sortedTokens = new String[0];
+    private final NavigableSet<String> newTokens = new TreeSet<>(); // not yet merged into sortedTokens
+    private final Map<Long, IntList> grams = new HashMap<>();
+
+    /** Adds {@code customer}, replacing any earlier version with the same id. */
+    public void put(Customer customer) {
+        lock.writeLock().lock();
+        try {
+            kill(customer.getCustomerId());
+            index(customer);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String customerId) {
+        lock.writeLock().lock();
+        try {
+            kill(customerId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} customers whose name, phone or id contains {@code keyword} (ignoring
+     * case): exact token matches first, then token prefixes, then matches inside a field.
+     */
+    public List<Customer> search(String keyword, int limit) {
+        String query = keyword == null ? "" : keyword.trim().toLowerCase(Locale.ROOT);
+        List<Customer> results = new ArrayList<>(Math.max(0, Math.min(limit, 64)));
+        if (query.isEmpty() || limit <= 0) {
+            return results;
+        }
+        Set<Integer> found = new HashSet<>();
+        lock.readLock().lock();
+        try {
+            if (collect(tokens.get(query), limit, found, results)) {
+                return results;
+            }
+            int from = Arrays.binarySearch(sortedTokens, query);
+            for (int i = from >= 0 ? from + 1 : -from - 1; i < sortedTokens.length && sortedTokens[i].startsWith(query); i++) {
+                if (collect(tokens.get(sortedTokens[i]), limit, found, results)) {
+                    return results;
+                }
+            }
+            for (String token : newTokens.subSet(query, false, query + Character.MAX_VALUE, false)) {
+                if (collect(tokens.get(token), limit, found, results)) {
+                    return results;
+                }
+            }
+            if (query.length() >= GRAM) {
+                searchInfix(query, limit, found, results);
+            } else {
+                scanInfix(query, limit, found, results);
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Adds the live documents of {@code postings} not found yet; returns whether the limit is reached. */
+    private boolean collect(IntList postings, int limit, Set<Integer> found, List<Customer> results) {
+        for (int i = 0; postings != null && i < postings.size; i++) {
+            int doc = postings.values[i];
+            if (docs[doc] != null && found.add(doc)) {
+                results.add(docs[doc]);
+                if (results.size() == limit) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void searchInfix(String query, int limit, Set<Integer> found, List<Customer> results) {
+        Set<Long> keys = new HashSet<>();
+        for (int i = 0; i + GRAM <= query.length(); i++) {
+            keys.add(gram(query, i));
+        }
+        IntList[] lists = new IntList[keys.size()];
+        int n = 0;
+        for (Long key : keys) {
+            IntList postings = grams.get(key);
+            if (postings == null) {
+                return; // Some trigram occurs nowhere
+            }
+            lists[n++] = postings;
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+        // Postings are ascending, so one forward cursor per list suffices
+        int[] cursors = new int[lists.length];
+        IntList shortest = lists[0];
+        candidates:
+        for (int i = 0; i < shortest.size; i++) {
+            int doc = shortest.values[i];
+            if (docs[doc] == null || found.contains(doc)) {
+                continue;
+            }
+            for (int l = 1; l < lists.length; l++) {
+                cursors[l] = advance(lists[l], cursors[l], doc);
+                if (cursors[l] == lists[l].size) {
+                    return;
+                }
+                if (lists[l].values[cursors[l]] != doc) {
+                    continue candidates;
+                }
+            }
+            // Trigrams can all occur without the query occurring as a whole
+            if (contains(doc, query)) {
+                found.add(doc);
+                results.add(docs[doc]);
+                if (results.size() == limit) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void scanInfix(String query, int limit, Set<Integer> found, List<Customer> results) {
+        for (int doc = 0; doc < docCount; doc++) {
+            if (docs[doc] != null && !found.contains(doc) && contains(doc, query)) {
+                found.add(doc);
+                results.add(docs[doc]);
+                if (results.size() == limit) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean contains(int doc, String query) {
+        for (String field : docFields[doc]) {
+            if (field != null && field.contains(query)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** First position at or after {@code from} whose value is >= {@code doc}, by galloping search. */
+    private static int advance(IntList list, int from, int doc) {
+        int[] values = list.values;
+        int bound = 1;
+        while (from + bound < list.size && values[from + bound] < doc) {
+            bound <<= 1;
+        }
+        int lo = from + (bound >> 1);
+        int hi = Math.min(from + bound, list.size);
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (values[mid] < doc) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private void index(Customer customer) {
+        if (docCount == docs.length) {
+            docs = Arrays.copyOf(docs, docCount * 2);
+            docFields = Arrays.copyOf(docFields, docCount * 2);
+        }
+        int doc = docCount++;
+        String[] fields = {lower(customer.getName()), lower(customer.getPhone()), lower(customer.getCustomerId())};
+        docs[doc] = customer;
+        docFields[doc] = fields;
+        docByCustomerId.put(customer.getCustomerId(), doc);
+        liveCount++;
+
+        String name = fields[0];
+        for (int start = 0, end; name != null && start < name.length(); start = end + 1) {
+            end = name.indexOf(' ', start);
+            if (end < 0) {
+                end = name.length();
+            }
+            if (end > start) {
+                addPosting(token(name.substring(start, end)), doc);
+            }
+        }
+        for (int f = 1; f < fields.length; f++) {
+            if (fields[f] != null && !fields[f].isEmpty()) {
+                addPosting(token(fields[f]), doc);
+            }
+        }
+        for (String field : fields) {
+            for (int i = 0; field != null && i + GRAM <= field.length(); i++) {
+                addPosting(grams.computeIfAbsent(gram(field, i), k -> new IntList()), doc);
+            }
+        }
+    }
+
+    private IntList token(String token) {
+        IntList postings = tokens.get(token);
+        if (postings == null) {
+            postings = new IntList();
+            tokens.put(token, postings);
+            newTokens.add(token);
+            if (newTokens.size() > Math.max(MIN_MERGE, sortedTokens.length >> 3)) {
+                mergeNewTokens();
+            }
+        }
+        return postings;
+    }
+
+    private void mergeNewTokens() {
+        String[] merged = new String[sortedTokens.length + newTokens.size()];
+        int i = 0;
+        int m = 0;
+        for (String token : newTokens) {
+            while (i < sortedTokens.length && sortedTokens[i].compareTo(token) < 0) {
+                merged[m++] = sortedTokens[i++];
+            }
+            merged[m++] = token;
+        }
+        System.arraycopy(sortedTokens, i, merged, m, sortedTokens.length - i);
+        sortedTokens = merged;
+        newTokens.clear();
+    }
+
+    // Postings grow in document order, so a repeat within one document is always the last entry
+    private static void addPosting(IntList postings, int doc) {
+        if (postings.size == 0 || postings.values[postings.size - 1] != doc) {
+            postings.add(doc);
+        }
+    }
+
+    private void kill(String customerId) {
+        Integer doc = docByCustomerId.remove(customerId);
+        if (doc == null) {
+            return;
+        }
+        docs[doc] = null;
+        docFields[doc] = null;
+        liveCount--;
+        if (docCount - liveCount > Math.max(MIN_COMPACT, liveCount)) {
+            compact();
+        }
+    }
+
+    /** Re-indexes the live documents under fresh numbers, dropping the dead ones. */
+    private void compact() {
+        Customer[] live = new Customer[liveCount];
+        int n = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (docs[doc] != null) {
+                live[n++] = docs[doc];
+            }
+        }
+        docs = new Customer[Math.max(1024, live.length * 2)];
+        docFields = new String[docs.length][];
+        docCount = 0;
+        liveCount = 0;
+        docByCustomerId.clear();
+        tokens.clear();
+        sortedTokens = new String[0];
+        newTokens.clear();
+        grams.clear();
+        for (Customer customer : live) {
+            index(customer);
+        }
+    }
+
+    private static long gram(String text, int offset) {
+        long packed = ((long) text.charAt(offset) << 32) | ((long) text.charAt(offset + 1) << 16) | text.charAt(offset + 2);
+        // Spread the bits; Long.hashCode of the packed value collides for all-ASCII trigrams
+        return packed * 0x9E3779B97F4A7C15L;
+    }
+
+    private static String lower(String text) {
+        return text == null ? null : text.toLowerCase(Locale.ROOT);
+    }
+}
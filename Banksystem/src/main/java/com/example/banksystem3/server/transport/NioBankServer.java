@@ -0,0 +1,308 @@
+package com.example.banksystem3.server.transport;
+
+import com.example.banksystem3.server.admission.RequestThreads;
+import com.example.banksystem3.shared.BankService;
+import com.example.banksystem3.shared.ServerBusyException;
+import com.example.banksystem3.shared.wire.WireCodec;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Serves a {@link BankService} over a multiplexed binary protocol (see {@link WireCodec}).
+ *
+ * <p>One selector thread accepts connections, reads request frames and writes response frames
+ * for every client. Calls are executed on worker threads (virtual where available, see
+ * {@link RequestThreads}), so a client can pipeline many requests
+ * on one connection; responses carry the request id and are sent as soon as each call finishes,
+ * possibly out of order.
+ *
+ * <p>A call counts against its connection until its response has been written to the socket, not
+ * just queued. A connection with {@value #MAX_IN_FLIGHT} such calls, or with
+ * {@value #MAX_QUEUED_BYTES} bytes of responses waiting, stops being read until the client takes
+ * its responses, so a client that sends but does not read cannot make the server buffer without
+ * bound. The read buffer grows only as a large frame's bytes actually arrive.
+ */
+public class NioBankServer implements Closeable {
+    private static final Logger logger = Logger.getLogger(NioBankServer.class.getName());
+    private static final int READ_BUFFER = 64 * 1024;
+    private static final int MAX_IN_FLIGHT = 256;
+    private static final int MAX_QUEUED_BYTES = 8 << 20;
+
+    private final BankService service;
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final ExecutorService workers;
+    private final Queue<Connection> pendingInterest = new ConcurrentLinkedQueue<>();
+    private final Thread selectorThread;
+    private volatile boolean running = true;
+
+    private final class Connection {
+        final SocketChannel channel;
+        final SelectionKey key;
+        ByteBuffer in = ByteBuffer.allocate(READ_BUFFER); // selector thread only, kept ready for reading into
+        final ArrayDeque<ByteBuffer> out = new ArrayDeque<>(); // guarded by itself
+        long queuedBytes; // guarded by out
+        int unanswered; // selector thread only: calls read whose response is not yet fully written
+        boolean greeted;
+
+        Connection(SocketChannel channel, SelectionKey key) {
+            this.channel = channel;
+            this.key = key;
+        }
+    }
+
+    public NioBankServer(BankService service, int port, int workerThreads) throws IOException {
+        this.service = service;
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port));
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+        this.workers = RequestThreads.newExecutor("nio-worker-", workerThreads);
+        this.selectorThread = new Thread(this::selectLoop, "nio-selector");
+        selectorThread.setDaemon(true);
+    }
+
+    public void start() {
+        selectorThread.start();
+    }
+
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    private void selectLoop() {
+        while (running) {
+            try {
+                selector.select();
+                Connection changed;
+                while ((changed = pendingInterest.poll()) != null) {
+                    updateInterest(changed);
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    try {
+                        if (key.isAcceptable()) {
+                            accept();
+                        } else {
+                            Connection connection = (Connection) key.attachment();
+                            if (key.isReadable()) {
+                                read(connection);
+                            }
+                            if (key.isValid() && key.isWritable()) {
+                                write(connection);
+                            }
+                        }
+                    } catch (IOException e) {
+                        closeQuietly(key);
+                    } catch (RuntimeException | Error e) {
+                        // Drop only this connection; the selector thread serves all the others
+                        logger.log(Level.WARNING, "NIO transport dropped a connection", e);
+                        closeQuietly(key);
+                    }
+                }
+            } catch (IOException e) {
+                if (running) {
+                    logger.log(Level.SEVERE, "NIO transport selector failed", e);
+                }
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true);
+        SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+        key.attach(new Connection(channel, key));
+    }
+
+    private void read(Connection connection) throws IOException {
+        if (connection.channel.read(connection.in) < 0) {
+            closeQuietly(connection.key);
+            return;
+        }
+        dispatch(connection);
+    }
+
+    // Starts the calls whose frames are fully buffered, as far as the connection's limits allow
+    private void dispatch(Connection connection) throws IOException {
+        ByteBuffer in = connection.in;
+        in.flip();
+        if (!connection.greeted) {
+            if (in.remaining() < 8) {
+                in.compact();
+                return;
+            }
+            if (in.getInt() != WireCodec.MAGIC || in.getInt() != WireCodec.interfaceHash()) {
+                throw new IOException("Client protocol does not match this server");
+            }
+            connection.greeted = true;
+        }
+        // Every length is checked as soon as it is buffered, before anything is allocated for it
+        while (in.remaining() >= 4 && !saturated(connection)) {
+            int length = in.getInt(in.position());
+            if (length < 4 || length > WireCodec.MAX_FRAME) {
+                throw new IOException("Bad frame length " + length);
+            }
+            if (in.remaining() < 4 + length) {
+                break;
+            }
+            in.getInt();
+            int requestId = in.getInt();
+            byte[] body = new byte[length - 4];
+            in.get(body);
+            connection.unanswered++;
+            workers.execute(() -> handle(connection, requestId, body));
+        }
+        in.compact();
+        int pending = in.position() >= 4 ? in.getInt(0) + 4 : 0; // size of the frame at the front, if known
+        if (!in.hasRemaining() && pending > in.capacity()) {
+            // A frame larger than the buffer: double it, so memory follows the bytes that arrived
+            // rather than the length the peer announced
+            ByteBuffer bigger = ByteBuffer.allocate((int) Math.min(pending, 2L * in.capacity()));
+            in.flip();
+            connection.in = bigger.put(in);
+        } else if (in.capacity() > READ_BUFFER && in.position() <= READ_BUFFER && pending <= READ_BUFFER) {
+            // The large frame is done; give the memory back
+            in.flip();
+            connection.in = ByteBuffer.allocate(READ_BUFFER).put(in);
+        }
+        updateInterest(connection);
+    }
+
+    private static boolean saturated(Connection connection) {
+        if (connection.unanswered >= MAX_IN_FLIGHT) {
+            return true;
+        }
+        synchronized (connection.out) {
+            return connection.queuedBytes >= MAX_QUEUED_BYTES;
+        }
+    }
+
+    private void handle(Connection connection, int requestId, byte[] body) {
+        byte[] response;
+        try {
+            response = WireCodec.encodeResponse(WireCodec.STATUS_OK, invoke(body));
+        } catch (Throwable t) {
+            response = errorResponse(t);
+        }
+        ByteBuffer frame = ByteBuffer.allocate(8 + response.length);
+        frame.putInt(4 + response.length).putInt(requestId).put(response).flip();
+        synchronized (connection.out) {
+            connection.out.add(frame);
+            connection.queuedBytes += frame.capacity();
+        }
+        pendingInterest.add(connection);
+        selector.wakeup();
+    }
+
+    private Object invoke(byte[] body) throws Throwable {
+        DataInputStream in = WireCodec.reader(body, 0, body.length);
+        Method method = WireCodec.method(in.readUnsignedShort());
+        Object[] args = new Object[in.readUnsignedByte()];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = WireCodec.readValue(in);
+        }
+        try {
+            return method.invoke(service, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static byte[] errorResponse(Throwable t) {
+        String message = t.getMessage() != null ? t.getMessage() : t.getClass().getName();
+        byte status = t instanceof ServerBusyException ? WireCodec.STATUS_BUSY : WireCodec.STATUS_ERROR;
+        try {
+            return WireCodec.encodeResponse(status, message);
+        } catch (IOException e) {
+            return new byte[] {WireCodec.STATUS_ERROR, 0};
+        }
+    }
+
+    // Selector thread only
+    private void updateInterest(Connection connection) {
+        if (!connection.key.isValid()) {
+            return;
+        }
+        int ops = saturated(connection) ? 0 : SelectionKey.OP_READ;
+        synchronized (connection.out) {
+            if (!connection.out.isEmpty()) {
+                ops |= SelectionKey.OP_WRITE;
+            }
+        }
+        connection.key.interestOps(ops);
+    }
+
+    private void write(Connection connection) throws IOException {
+        boolean wasSaturated = saturated(connection);
+        synchronized (connection.out) {
+            ByteBuffer head;
+            while ((head = connection.out.peek()) != null) {
+                connection.channel.write(head);
+                if (head.hasRemaining()) {
+                    break; // Socket buffer full; wait for the next OP_WRITE
+                }
+                connection.out.poll();
+                connection.queuedBytes -= head.capacity();
+                connection.unanswered--;
+            }
+        }
+        if (wasSaturated && !saturated(connection)) {
+            // Frames may have been left in the buffer when the limit was reached
+            dispatch(connection);
+        } else {
+            updateInterest(connection);
+        }
+    }
+
+    private static void closeQuietly(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException ignored) {
+            // Already gone
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        selector.wakeup();
+        try {
+            selectorThread.join(2000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        workers.shutdownNow();
+        for (SelectionKey key : selector.keys()) {
+            closeQuietly(key);
+        }
+        selector.close();
+        serverChannel.close();
+    }
+}
@@ -0,0 +1,330 @@
+package com.example.banksystem3.server.utils;
+
+import com.example.banksystem3.shared.Money;
+import com.example.banksystem3.shared.Page;
+
+import java.io.PrintStream;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous server log. Request threads only claim a slot in a pre-allocated ring buffer
+ * (a CAS, no locks) and store the time, the level, a message template and its arguments; a single
+ * background thread formats entries as {@code [yyyy-MM-dd HH:mm:ss] [LEVEL] message}, prints them
+ * in batches and keeps a bounded in-memory tail for {@code getSystemLogs()}. Entries carry the
+ * time they were logged, not the time the writer reached them.
+ *
+ * <p>Templates use {@code {}} for {@code String.valueOf(arg)} and {@code {$}} for a santim
+ * amount (a {@link Number}) printed as birr. When the ring is full the entry is dropped and
+ * counted rather than blocking the caller. Amounts and counts may be passed as {@code long} through
+ * the overloads that take them, so logging a posting does not box.
+ *
+ * <p>When the ring is empty the writer parks; a caller wakes it only if it is parked, which costs
+ * one volatile read per entry otherwise.
+ */
+public class AsyncLogger implements AutoCloseable {
+    private static final int MAX_ARGS = 4;
+    private static final int DEFAULT_CAPACITY = 1 << 16;
+    private static final int DEFAULT_TAIL = 10_000;
+    private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")
+            .withZone(ZoneId.systemDefault());
+
+    private static final class Slot {
+        volatile long sequence = -1;
+        long time;
+        String level;
+        String template;
+        final Object[] args = new Object[MAX_ARGS];
+        final long[] longs = new long[MAX_ARGS];
+        int argCount;
+        int longArgs; // bit i set: argument i is longs[i] rather than args[i]
+    }
+
+    private final Slot[] ring;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final String[] tail;
+    private final String[] tailLevels;
+    private long tailWritten; // entries ever appended; entry n sits at tail[n % tail.length]
+    private int tailSize;
+
+    private final PrintStream out;
+    private final Thread writer;
+    private volatile boolean running = true;
+    private volatile boolean parked; // the writer is (about to be) parked and must be unparked
+    private long stampSecond = Long.MIN_VALUE; // writer thread only: the second stampText shows
+    private String stampText;
+
+    public AsyncLogger() {
+        this(DEFAULT_CAPACITY, DEFAULT_TAIL, System.out);
+    }
+
+    public AsyncLogger(int capacity, int tailSize, PrintStream out) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.ring = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            ring[i] = new Slot();
+        }
+        this.mask = size - 1;
+        this.tail = new String[Math.max(1, tailSize)];
+        this.tailLevels = new String[tail.length];
+        this.out = out;
+        this.writer = new Thread(this::drainLoop, "async-logger");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public void log(String level, String message) {
+        publish(level, message, 0, 0, null, null, null, null, 0, 0, 0, 0);
+    }
+
+    public void log(String level, String template, Object a0) {
+        publish(level, template, 1, 0, a0, null, null, null, 0, 0, 0, 0);
+    }
+
+    public void log(String level, String template, Object a0, Object a1) {
+        publish(level, template, 2, 0, a0, a1, null, null, 0, 0, 0, 0);
+    }
+
+    public void log(String level, String template, Object a0, Object a1, Object a2) {
+        publish(level, template, 3, 0, a0, a1, a2, null, 0, 0, 0, 0);
+    }
+
+    public void log(String level, String template, Object a0, Object a1, Object a2, Object a3) {
+        publish(level, template, 4, 0, a0, a1, a2, a3, 0, 0, 0, 0);
+    }
+
+    public void log(String level, String template, long a0, Object a1) {
+        publish(level, template, 2, 0b0001, null, a1, null, null, a0, 0, 0, 0);
+    }
+
+    public void log(String level, String template, Object a0, long a1) {
+        publish(level, template, 2, 0b0010, a0, null, null, null, 0, a1, 0, 0);
+    }
+
+    public void log(String level, String template, long a0, Object a1, Object a2) {
+        publish(level, template, 3, 0b0001, null, a1, a2, null, a0, 0, 0, 0);
+    }
+
+    public void log(String level, String template, long a0, Object a1, Object a2, Object a3) {
+        publish(level, template, 4, 0b0001, null, a1, a2, a3, a0, 0, 0, 0);
+    }
+
+    public void log(String level, String template, long a0, long a1, long a2, long a3) {
+        publish(level, template, 4, 0b1111, null, null, null, null, a0, a1, a2, a3);
+    }
+
+    private void publish(String level, String template, int argCount, int longArgs,
+                         Object a0, Object a1, Object a2, Object a3, long l0, long l1, long l2, long l3) {
+        long seq;
+        do {
+            seq = claimed.get();
+            if (seq - consumed.get() >= ring.length) {
+                dropped.incrementAndGet();
+                return;
+            }
+        } while (!claimed.compareAndSet(seq, seq + 1));
+
+        Slot slot = ring[(int) seq & mask];
+        slot.time = System.currentTimeMillis();
+        slot.level = level;
+        slot.template = template;
+        slot.argCount = argCount;
+        slot.longArgs = longArgs;
+        slot.args[0] = a0;
+        slot.args[1] = a1;
+        slot.args[2] = a2;
+        slot.args[3] = a3;
+        slot.longs[0] = l0;
+        slot.longs[1] = l1;
+        slot.longs[2] = l2;
+        slot.longs[3] = l3;
+        slot.sequence = seq; // publishes the fields above to the writer thread
+        if (parked) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private void drainLoop() {
+        StringBuilder entryText = new StringBuilder(256);
+        StringBuilder batch = new StringBuilder(8192);
+        int idle = 0;
+        while (true) {
+            long next = consumed.get();
+            Slot slot = ring[(int) next & mask];
+            if (slot.sequence != next) {
+                if (batch.length() > 0) {
+                    out.print(batch);
+                    out.flush();
+                    batch.setLength(0);
+                }
+                if (!running && claimed.get() == next) {
+                    return;
+                }
+                // Spin briefly, then sleep until a caller publishes. The flag is raised before the slot
+                // is checked again, so a caller publishing meanwhile either is seen here or sees the flag
+                if (++idle > 100) {
+                    parked = true;
+                    if (slot.sequence != next && running) {
+                        LockSupport.park(this);
+                    }
+                    parked = false;
+                } else {
+                    Thread.onSpinWait();
+                }
+                continue;
+            }
+            idle = 0;
+
+            String level = slot.level;
+            entryText.setLength(0);
+            entryText.append('[').append(stamp(slot.time)).append("] [").append(level).append("] ");
+            render(entryText, slot);
+            String entry = entryText.toString();
+            slot.level = null;
+            slot.template = null;
+            for (int i = 0; i < MAX_ARGS; i++) {
+                slot.args[i] = null;
+            }
+            consumed.lazySet(next + 1);
+
+            appendTail(level, entry);
+            batch.append(entry).append(System.lineSeparator());
+            if (batch.length() >= 8192) {
+                out.print(batch);
+                batch.setLength(0);
+            }
+        }
+    }
+
+    // Entries arrive in time order almost always, so the text is reused within a second
+    private String stamp(long millis) {
+        long second = Math.floorDiv(millis, 1000);
+        if (second != stampSecond) {
+            stampText = STAMP.format(Instant.ofEpochMilli(millis));
+            stampSecond = second;
+        }
+        return stampText;
+    }
+
+    private static void render(StringBuilder sb, Slot slot) {
+        String template = slot.template;
+        if (template == null) {
+            return;
+        }
+        int argCount = slot.argCount;
+        int arg = 0;
+        int i = 0;
+        int len = template.length();
+        while (i < len) {
+            char c = template.charAt(i);
+            if (c == '{' && arg < argCount && i + 1 < len) {
+                boolean isLong = (slot.longArgs & (1 << arg)) != 0;
+                if (template.charAt(i + 1) == '}') {
+                    if (isLong) {
+                        sb.append(slot.longs[arg++]);
+                    } else {
+                        sb.append(slot.args[arg++]);
+                    }
+                    i += 2;
+                    continue;
+                }
+                if (i + 2 < len && template.charAt(i + 1) == '$' && template.charAt(i + 2) == '}') {
+                    if (isLong) {
+                        Money.appendTo(sb, slot.longs[arg++]);
+                        i += 3;
+                        continue;
+                    }
+                    Object value = slot.args[arg++];
+                    if (value instanceof Number) {
+                        Money.appendTo(sb, ((Number) value).longValue());
+                    } else {
+                        sb.append(value);
+                    }
+                    i += 3;
+                    continue;
+                }
+            }
+            sb.append(c);
+            i++;
+        }
+    }
+
+    private synchronized void appendTail(String level, String entry) {
+        int index = (int) (tailWritten % tail.length);
+        tail[index] = entry;
+        tailLevels[index] = level;
+        tailWritten++;
+        if (tailSize < tail.length) {
+            tailSize++;
+        }
+    }
+
+    /** The most recent formatted entries, oldest first. */
+    public synchronized List<String> recent() {
+        List<String> result = new ArrayList<>(tailSize);
+        for (long n = tailWritten - tailSize; n < tailWritten; n++) {
+            result.add(tail[(int) (n % tail.length)]);
+        }
+        return result;
+    }
+
+    /**
+     * Pages through the retained entries newest first.
+     *
+     * @param cursor  {@code null} for the newest entries, otherwise a previous page's next cursor
+     * @param level   only entries logged at this level; {@code null} for any
+     * @param keyword case-insensitive substring of the formatted entry; {@code null} for any
+     */
+    public synchronized Page<String> page(String cursor, int limit, String level, String keyword) {
+        long before = tailWritten;
+        if (cursor != null) {
+            try {
+                before = Math.min(Long.parseLong(cursor), tailWritten);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid log cursor: " + cursor);
+            }
+        }
+        String needle = keyword == null || keyword.isEmpty() ? null : keyword.toLowerCase();
+        long oldest = tailWritten - tailSize;
+        List<String> items = new ArrayList<>(Math.min(limit, tailSize));
+        long n = before - 1;
+        for (; n >= oldest && items.size() < limit; n--) {
+            int index = (int) (n % tail.length);
+            if (level != null && !level.equalsIgnoreCase(tailLevels[index])) {
+                continue;
+            }
+            if (needle != null && !tail[index].toLowerCase().contains(needle)) {
+                continue;
+            }
+            items.add(tail[index]);
+        }
+        // n + 1 is the oldest entry examined; older ones remain for the next page
+        String next = n >= oldest ? String.valueOf(n + 1) : null;
+        return new Page<>(items, next, -1);
+    }
+
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    /** Stops the writer thread once everything published so far has been written. */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
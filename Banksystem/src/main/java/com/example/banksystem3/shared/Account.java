@@ -1,16 +1,21 @@
 package com.example.banksystem3.shared;
 
-import java.io.Serializable;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.ZoneOffset;
 
-public class Account implements Serializable {
+// Externalizable: see writeExternal for the compact wire format
+public class Account implements Externalizable {
     private String accountId;
     private String customerId;
     private String accountNumber;
     private String accountHolderName;
     private AccountType type;
-    private double balance;
+    private long balanceMinor; // santim, see Money
     private String status;
     private String createdAt;
     private LocalDateTime updatedAt;
@@ -20,27 +25,27 @@ public class Account implements Serializable {
         WADIAH("Wadiah Account", 0.0, 0.0);
 
         private final String displayName;
-        private final double minimumBalance;
+        private final long minimumBalanceMinor;
         private final double interestRate;
 
         AccountType(String displayName, double minimumBalance, double interestRate) {
             this.displayName = displayName;
-            this.minimumBalance = minimumBalance;
+            this.minimumBalanceMinor = Money.ofMajor(minimumBalance);
             this.interestRate = interestRate;
         }
 
         public String getDisplayName() { return displayName; }
-        public double getMinimumBalance() { return minimumBalance; }
+        public double getMinimumBalance() { return Money.toMajor(minimumBalanceMinor); }
+        public long getMinimumBalanceMinor() { return minimumBalanceMinor; }
         public double getInterestRate() { return interestRate; }
 
         @Override
         public String toString() { return displayName; }
     }
 
+    // For Externalizable and the codecs, which set every field themselves, so it leaves them unset;
+    // new accounts go through the constructor below
     public Account() {
-        this.status = "ACTIVE";
-        this.createdAt = LocalDateTime.now().format(DateTimeFormatter.ISO_DATE);
-        this.updatedAt = LocalDateTime.now();
     }
 
     public Account(String accountId, String customerId, String accountNumber,
@@ -49,7 +54,7 @@ public class Account implements Serializable {
         this.customerId = customerId;
         this.accountNumber = accountNumber;
         this.type = type;
-        this.balance = balance;
+        this.balanceMinor = Money.ofMajor(balance);
         this.status = "ACTIVE";
         this.createdAt = createdAt;
         this.updatedAt = LocalDateTime.now();
@@ -86,9 +91,14 @@ public class Account implements Serializable {
         this.updatedAt = LocalDateTime.now();
     }
 
-    public double getBalance() { return balance; }
+    public double getBalance() { return Money.toMajor(balanceMinor); }
     public void setBalance(double balance) {
-        this.balance = balance;
+        setBalanceMinor(Money.ofMajor(balance));
+    }
+
+    public long getBalanceMinor() { return balanceMinor; }
+    public void setBalanceMinor(long balanceMinor) {
+        this.balanceMinor = balanceMinor;
         this.updatedAt = LocalDateTime.now();
     }
 
@@ -109,22 +119,86 @@ public class Account implements Serializable {
 
     // Business Methods
     public boolean deposit(double amount) {
-        if (amount <= 0 || !"ACTIVE".equals(status)) return false;
-        this.balance += amount;
-        this.updatedAt = LocalDateTime.now();
+        long amountMinor = Money.ofMajor(amount);
+        if (amountMinor <= 0 || !"ACTIVE".equals(status)) return false;
+        setBalanceMinor(Money.add(balanceMinor, amountMinor));
         return true;
     }
 
     public boolean withdraw(double amount) {
-        if (amount <= 0 || !"ACTIVE".equals(status) || amount > balance) return false;
-        this.balance -= amount;
-        this.updatedAt = LocalDateTime.now();
+        long amountMinor = Money.ofMajor(amount);
+        if (amountMinor <= 0 || !"ACTIVE".equals(status) || amountMinor > balanceMinor) return false;
+        setBalanceMinor(Money.subtract(balanceMinor, amountMinor));
         return true;
     }
 
+    // Wire format: strings as length-prefixed UTF-8 (see ExternalFields), the type as its ordinal,
+    // the balance in santim, status as a small code, createdAt as an epoch day when it is an ISO
+    // date, and updatedAt as epoch milliseconds (the LocalDateTime read as UTC).
+    private static final byte STATUS_NULL = -1;
+    private static final byte STATUS_ACTIVE = 0;
+    private static final byte STATUS_CLOSED = 1;
+    private static final byte STATUS_OTHER = 2;
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        ExternalFields.writeString(out, accountId);
+        ExternalFields.writeString(out, customerId);
+        ExternalFields.writeString(out, accountNumber);
+        ExternalFields.writeString(out, accountHolderName);
+        ExternalFields.writeEnum(out, type);
+        out.writeLong(balanceMinor);
+
+        if (status == null) {
+            out.writeByte(STATUS_NULL);
+        } else if (status.equals("ACTIVE")) {
+            out.writeByte(STATUS_ACTIVE);
+        } else if (status.equals("CLOSED")) {
+            out.writeByte(STATUS_CLOSED);
+        } else {
+            out.writeByte(STATUS_OTHER);
+            ExternalFields.writeString(out, status);
+        }
+
+        ExternalFields.writeDate(out, createdAt);
+
+        out.writeLong(updatedAt == null ? Long.MIN_VALUE : updatedAt.toInstant(ZoneOffset.UTC).toEpochMilli());
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        // Fields are assigned directly so the setters do not stamp updatedAt
+        accountId = ExternalFields.readString(in);
+        customerId = ExternalFields.readString(in);
+        accountNumber = ExternalFields.readString(in);
+        accountHolderName = ExternalFields.readString(in);
+        type = ExternalFields.readEnum(in, AccountType.values());
+        balanceMinor = in.readLong();
+
+        byte statusCode = in.readByte();
+        switch (statusCode) {
+            case STATUS_NULL:
+                status = null;
+                break;
+            case STATUS_ACTIVE:
+                status = "ACTIVE";
+                break;
+            case STATUS_CLOSED:
+                status = "CLOSED";
+                break;
+            default:
+                status = ExternalFields.readString(in);
+        }
+
+        createdAt = ExternalFields.readDate(in);
+
+        long updatedMillis = in.readLong();
+        updatedAt = updatedMillis == Long.MIN_VALUE ? null
+                : LocalDateTime.ofInstant(Instant.ofEpochMilli(updatedMillis), ZoneOffset.UTC);
+    }
+
     @Override
     public String toString() {
-        return String.format("%s - %s - %.2f ETB",
-                accountNumber, accountHolderName, balance);
+        return accountNumber + " - " + accountHolderName + " - " + Money.format(balanceMinor) + " ETB";
     }
 }
\ No newline at end of file
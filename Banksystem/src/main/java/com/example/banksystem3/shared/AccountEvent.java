@@ -0,0 +1,34 @@
+package com.example.banksystem3.shared;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What changed on one account since the previous event delivered for it: the latest balance and
+ * status, and the entries posted meanwhile, oldest first. If more entries were posted than one
+ * event carries, the oldest are left out and {@link #isTruncated()} is set; fetch the history to
+ * fill the gap.
+ */
+public class AccountEvent implements Serializable {
+    private final String accountId;
+    private final long balanceMinor;
+    private final String status;
+    private final ArrayList<Transaction> transactions;
+    private final boolean truncated;
+
+    public AccountEvent(String accountId, long balanceMinor, String status, List<Transaction> transactions, boolean truncated) {
+        this.accountId = accountId;
+        this.balanceMinor = balanceMinor;
+        this.status = status;
+        this.transactions = new ArrayList<>(transactions);
+        this.truncated = truncated;
+    }
+
+    public String getAccountId() { return accountId; }
+    public double getBalance() { return Money.toMajor(balanceMinor); }
+    public long getBalanceMinor() { return balanceMinor; }
+    public String getStatus() { return status; }
+    public List<Transaction> getTransactions() { return transactions; }
+    public boolean isTruncated() { return truncated; }
+}
@@ -0,0 +1,10 @@
+package com.example.banksystem3.shared;
+
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.util.List;
+
+/** Client callback receiving changes to subscribed accounts; see {@link BankService#subscribe}. */
+public interface AccountEventListener extends Remote {
+    void onAccountEvents(List<AccountEvent> events) throws RemoteException;
+}
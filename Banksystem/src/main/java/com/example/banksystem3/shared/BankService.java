@@ -2,25 +2,45 @@ package com.example.banksystem3.shared;
 
 import java.rmi.Remote;
 import java.rmi.RemoteException;
+import java.util.Date;
 import java.util.List;
 
 public interface BankService extends Remote {
+    // Paged queries return at most limit items (capped by the server). Pass a null cursor for the
+    // first page, then the previous page's next cursor until it comes back null.
+
     // Authentication
     User login(String username, String password) throws RemoteException;
     boolean logout(String userId) throws RemoteException;
+    // Logs in and starts a session (null if the credentials are wrong). Present the token to
+    // getSessionUser and the *Session* calls instead of logging in again or passing a user id;
+    // logout(userId) and a password change also end the user's sessions.
+    LoginSession openSession(String username, String password) throws RemoteException;
+    // The session's user, or null once the token has been closed or has expired
+    User getSessionUser(String token) throws RemoteException;
+    boolean closeSession(String token) throws RemoteException;
 
     // Customer Management
     boolean addCustomer(Customer customer, User user) throws RemoteException;
     boolean updateCustomer(Customer customer) throws RemoteException;
     boolean deleteCustomer(String customerId) throws RemoteException;
     List<Customer> getAllCustomers() throws RemoteException;
+    // Ordered by customer id; keyword matches name, phone or id (null for all)
+    Page<Customer> getCustomersPage(String keyword, String cursor, int limit) throws RemoteException;
     Customer getCustomerById(String customerId) throws RemoteException;
+    // Starts importing customers with initial accounts from a CSV file in the server's import
+    // directory and returns the job id to poll with getImportStatus
+    String importCustomers(String fileName) throws RemoteException;
+    // Null for an unknown job, and for one that finished over an hour ago (bank.import.retention.minutes)
+    ImportStatus getImportStatus(String jobId) throws RemoteException;
 
     // Account Management
     boolean createAccount(Account account) throws RemoteException;
     boolean updateAccount(Account account) throws RemoteException;
     boolean closeAccount(String accountId) throws RemoteException;
     List<Account> getAllAccounts() throws RemoteException;
+    // Ordered by account id; null filters match everything
+    Page<Account> getAccountsPage(Account.AccountType type, String status, String cursor, int limit) throws RemoteException;
     Account getAccountById(String accountId) throws RemoteException;
     List<Account> getCustomerAccounts(String customerId) throws RemoteException;
     Account getAccountByNumber(String accountNumber) throws RemoteException;
@@ -31,25 +51,57 @@ public interface BankService extends Remote {
     boolean transfer(String fromAccountId, String toAccountNumber, double amount, String description) throws RemoteException;
     double getBalance(String accountId) throws RemoteException;
     boolean payBill(String accountId, String billerName, String billId, double amount) throws RemoteException;
+    // Applies each posting independently; results are in request order
+    List<PostingResult> postBatch(List<PostingRequest> postings) throws RemoteException;
     List<Transaction> getTransactionHistory(String accountId) throws RemoteException;
+    // Most recent entries with from <= time <= to (null for open-ended), oldest first
+    List<Transaction> getTransactionHistory(String accountId, Date from, Date to, int limit) throws RemoteException;
+    // Entries from position from of the account's history on, oldest first; the page's total is the
+    // history size, so a client can fetch any stretch of the history directly. A negative from counts
+    // back from the end: -n starts n entries before it, so -limit fetches the newest page
+    Page<Transaction> getTransactionHistoryPage(String accountId, int from, int limit) throws RemoteException;
+    // Newest first
     List<Transaction> getRecentTransactions(String accountId, int limit) throws RemoteException;
     List<Transaction> getAllTransactions() throws RemoteException;
+    // Ordered by account id, then oldest first; null filters match everything
+    Page<Transaction> getTransactionsPage(String accountId, Transaction.TransactionType type, Date from, Date to,
+                                          String cursor, int limit) throws RemoteException;
 
     // User Management
     List<User> getAllUsers() throws RemoteException;
+    // Ordered by user id; keyword matches username, full name or id (null for all)
+    Page<User> getUsersPage(Role role, String keyword, String cursor, int limit) throws RemoteException;
     boolean changePassword(String userId, String oldPassword, String newPassword) throws RemoteException;
+    // For the session's user; their other sessions end, this one stays open
+    boolean changeSessionPassword(String token, String oldPassword, String newPassword) throws RemoteException;
     boolean registerUser(User user, Account account) throws RemoteException;
     boolean registerUser(User user) throws RemoteException;
 
 
     // Reports & Logs
+    // Totals kept up to date by the server; cost does not grow with the ledger
+    DashboardStats getDashboardStats() throws RemoteException;
     List<String> getSystemLogs() throws RemoteException;
+    // Newest first; level (e.g. "WARN") and keyword are optional filters
+    Page<String> getSystemLogsPage(String level, String keyword, String cursor, int limit) throws RemoteException;
     List<String> getAuditTrail(String userId) throws RemoteException;
+    // Most recent entries with from <= time <= to (null for open-ended), oldest first
+    List<String> getAuditTrail(String userId, Date from, Date to, int limit) throws RemoteException;
+    // The session user's own trail, as above; null once the session has ended
+    List<String> getSessionAuditTrail(String token, Date from, Date to, int limit) throws RemoteException;
+
+    // Live updates: after a posting or update touches a subscribed account the listener is called
+    // back asynchronously with its new balance, status and postings, in batches; updates queued
+    // while it is slow are merged (see AccountEvent#isTruncated)
+    void subscribe(AccountEventListener listener, List<String> accountIds) throws RemoteException;
+    void unsubscribe(AccountEventListener listener) throws RemoteException;
 
     // Utility Methods
     String generateAccountNumber() throws RemoteException;
     String generateCustomerId() throws RemoteException;
     List<Customer> searchCustomers(String keyword) throws RemoteException;
+    // Best matches first: whole word or id, then prefixes, then anywhere in name, phone or id
+    List<Customer> searchCustomers(String keyword, int limit) throws RemoteException;
 
     List<Transaction> getTransactions(String accountId) throws RemoteException;
 
@@ -58,4 +110,7 @@ public interface BankService extends Remote {
     // Currency Exchange
     boolean buyCurrency(String userId, String currencyCode, double amount) throws RemoteException;
     boolean sellCurrency(String userId, String currencyCode, double amount) throws RemoteException;
+    // For the session's user; false once the session has ended
+    boolean buySessionCurrency(String token, String currencyCode, double amount) throws RemoteException;
+    boolean sellSessionCurrency(String token, String currencyCode, double amount) throws RemoteException;
 }
\ No newline at end of file
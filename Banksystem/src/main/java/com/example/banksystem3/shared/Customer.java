@@ -1,8 +1,11 @@
 package com.example.banksystem3.shared;
 
-import java.io.Serializable;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 
-public class Customer implements Serializable {
+public class Customer implements Externalizable {
     private String customerId;
     private String name;
     private String phone;
@@ -35,6 +38,25 @@ public class Customer implements Serializable {
     public String getDob() { return dob; }
     public void setDob(String dob) { this.dob = dob; }
 
+    // Compact wire format: the five fields in order, see ExternalFields
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        ExternalFields.writeString(out, customerId);
+        ExternalFields.writeString(out, name);
+        ExternalFields.writeString(out, phone);
+        ExternalFields.writeString(out, address);
+        ExternalFields.writeString(out, dob);
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        customerId = ExternalFields.readString(in);
+        name = ExternalFields.readString(in);
+        phone = ExternalFields.readString(in);
+        address = ExternalFields.readString(in);
+        dob = ExternalFields.readString(in);
+    }
+
     @Override
     public String toString() {
         return name + " (" + customerId + ")";
@@ -0,0 +1,67 @@
+package com.example.banksystem3.shared;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bank-wide totals for the admin dashboard, maintained by the server as postings happen so
+ * fetching them does not depend on the number of accounts or transactions.
+ */
+public class DashboardStats implements Serializable {
+    private final long totalBalanceMinor;
+    private final long customerCount;
+    private final long accountCount;
+    private final EnumMap<Account.AccountType, Long> accountsByType;
+    private final HashMap<String, Long> accountsByStatus;
+    private final ArrayList<DailyVolume> dailyVolumes; // oldest first
+    private final ArrayList<Account> topAccounts; // highest balance first
+
+    /** Posting counts and amounts of one day, by transaction type. */
+    public static class DailyVolume implements Serializable {
+        private final LocalDate date;
+        private final EnumMap<Transaction.TransactionType, Long> counts;
+        private final EnumMap<Transaction.TransactionType, Long> amountsMinor;
+
+        public DailyVolume(LocalDate date, Map<Transaction.TransactionType, Long> counts,
+                           Map<Transaction.TransactionType, Long> amountsMinor) {
+            this.date = date;
+            this.counts = new EnumMap<>(Transaction.TransactionType.class);
+            this.counts.putAll(counts);
+            this.amountsMinor = new EnumMap<>(Transaction.TransactionType.class);
+            this.amountsMinor.putAll(amountsMinor);
+        }
+
+        public LocalDate getDate() { return date; }
+        public long getCount(Transaction.TransactionType type) { return counts.getOrDefault(type, 0L); }
+        public double getAmount(Transaction.TransactionType type) { return Money.toMajor(getAmountMinor(type)); }
+        public long getAmountMinor(Transaction.TransactionType type) { return amountsMinor.getOrDefault(type, 0L); }
+    }
+
+    public DashboardStats(long totalBalanceMinor, long customerCount, long accountCount,
+                          Map<Account.AccountType, Long> accountsByType, Map<String, Long> accountsByStatus,
+                          List<DailyVolume> dailyVolumes, List<Account> topAccounts) {
+        this.totalBalanceMinor = totalBalanceMinor;
+        this.customerCount = customerCount;
+        this.accountCount = accountCount;
+        this.accountsByType = new EnumMap<>(Account.AccountType.class);
+        this.accountsByType.putAll(accountsByType);
+        this.accountsByStatus = new HashMap<>(accountsByStatus);
+        this.dailyVolumes = new ArrayList<>(dailyVolumes);
+        this.topAccounts = new ArrayList<>(topAccounts);
+    }
+
+    // Sum of all account balances
+    public double getTotalDeposits() { return Money.toMajor(totalBalanceMinor); }
+    public long getTotalDepositsMinor() { return totalBalanceMinor; }
+    public long getCustomerCount() { return customerCount; }
+    public long getAccountCount() { return accountCount; }
+    public Map<Account.AccountType, Long> getAccountsByType() { return accountsByType; }
+    public Map<String, Long> getAccountsByStatus() { return accountsByStatus; }
+    public List<DailyVolume> getDailyVolumes() { return dailyVolumes; }
+    public List<Account> getTopAccounts() { return topAccounts; }
+}
@@ -0,0 +1,195 @@
+package com.example.banksystem3.shared;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Field helpers shared by the Externalizable DTOs
+final class ExternalFields {
+    private ExternalFields() {}
+
+    // UTF-8 bytes behind a varint of (length + 1); 0 stands for null
+    static void writeString(ObjectOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeByte(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length + 1);
+        out.write(bytes);
+    }
+
+    static String readString(ObjectInput in) throws IOException {
+        int length = readVarInt(in) - 1;
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static final byte ID_NULL = 0;
+    private static final byte ID_UUID = 1;
+    private static final byte ID_TEXT = 2;
+
+    // An id in canonical UUID form as its 16 bytes; anything else is sent as text
+    static void writeId(ObjectOutput out, String id) throws IOException {
+        UUID uuid = uuidOf(id);
+        if (id == null) {
+            out.writeByte(ID_NULL);
+        } else if (uuid != null) {
+            out.writeByte(ID_UUID);
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        } else {
+            out.writeByte(ID_TEXT);
+            writeString(out, id);
+        }
+    }
+
+    static String readId(ObjectInput in) throws IOException {
+        byte kind = in.readByte();
+        if (kind == ID_UUID) {
+            return new UUID(in.readLong(), in.readLong()).toString();
+        } else if (kind == ID_TEXT) {
+            return readString(in);
+        }
+        return null;
+    }
+
+    // Only ids that read back as the same string, so upper case or short forms stay text
+    private static UUID uuidOf(String id) {
+        if (id == null || id.length() != 36 || id.charAt(8) != '-') {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(id);
+            return uuid.toString().equals(id) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static final byte DATE_NULL = 0;
+    private static final byte DATE_EPOCH_DAY = 1;
+    private static final byte DATE_TEXT = 2;
+
+    // A yyyy-MM-dd date as its epoch day; anything else is sent as text
+    static void writeDate(ObjectOutput out, String date) throws IOException {
+        long epochDay = epochDayOf(date);
+        if (date == null) {
+            out.writeByte(DATE_NULL);
+        } else if (epochDay != Long.MIN_VALUE) {
+            out.writeByte(DATE_EPOCH_DAY);
+            out.writeInt((int) epochDay);
+        } else {
+            out.writeByte(DATE_TEXT);
+            writeString(out, date);
+        }
+    }
+
+    static String readDate(ObjectInput in) throws IOException {
+        byte kind = in.readByte();
+        if (kind == DATE_EPOCH_DAY) {
+            return LocalDate.ofEpochDay(in.readInt()).toString();
+        } else if (kind == DATE_TEXT) {
+            return readString(in);
+        }
+        return null;
+    }
+
+    // Epoch day of a yyyy-MM-dd date, otherwise Long.MIN_VALUE
+    private static long epochDayOf(String date) {
+        if (date == null || date.length() != 10 || date.charAt(4) != '-' || date.charAt(7) != '-') {
+            return Long.MIN_VALUE;
+        }
+        int year = digits(date, 0, 4);
+        int month = digits(date, 5, 7);
+        int day = digits(date, 8, 10);
+        if (year < 0 || month < 0 || day < 0) {
+            return Long.MIN_VALUE;
+        }
+        try {
+            return LocalDate.of(year, month, day).toEpochDay();
+        } catch (DateTimeException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    private static int digits(String text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    // Ordinal as one byte, -1 for null
+    static void writeEnum(ObjectOutput out, Enum<?> value) throws IOException {
+        out.writeByte(value == null ? -1 : value.ordinal());
+    }
+
+    static <E extends Enum<E>> E readEnum(ObjectInput in, E[] values) throws IOException {
+        int ordinal = in.readByte();
+        if (ordinal == -1) {
+            return null;
+        }
+        if (ordinal < 0 || ordinal >= values.length) {
+            throw new InvalidObjectException("Unknown " + values.getClass().getComponentType().getSimpleName()
+                    + " ordinal " + ordinal);
+        }
+        return values[ordinal];
+    }
+
+    static void writeVarInt(ObjectOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    // Zigzag varint, so small amounts of either sign take few bytes
+    static void writeVarLong(ObjectOutput out, long value) throws IOException {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            out.writeByte((int) (zigzag & 0x7F) | 0x80);
+            zigzag >>>= 7;
+        }
+        out.writeByte((int) zigzag);
+    }
+
+    static long readVarLong(ObjectInput in) throws IOException {
+        long zigzag = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            zigzag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    static int readVarInt(ObjectInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+}
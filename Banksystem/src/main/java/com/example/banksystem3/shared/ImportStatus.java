@@ -0,0 +1,47 @@
+package com.example.banksystem3.shared;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Progress of a bulk customer import started with {@link BankService#importCustomers}. Row errors
+ * are read as "line N: reason"; only the first ones are carried here, all of them are written to
+ * {@link #getErrorFile()}.
+ */
+public class ImportStatus implements Serializable {
+    public enum State { RUNNING, COMPLETED, FAILED }
+
+    private final String jobId;
+    private final State state;
+    private final long rowsRead;
+    private final long imported;
+    private final long rejected;
+    private final long elapsedMillis;
+    private final ArrayList<String> errors;
+    private final String errorFile;
+    private final String failure; // why the whole import stopped, for FAILED
+
+    public ImportStatus(String jobId, State state, long rowsRead, long imported, long rejected, long elapsedMillis,
+                        List<String> errors, String errorFile, String failure) {
+        this.jobId = jobId;
+        this.state = state;
+        this.rowsRead = rowsRead;
+        this.imported = imported;
+        this.rejected = rejected;
+        this.elapsedMillis = elapsedMillis;
+        this.errors = new ArrayList<>(errors);
+        this.errorFile = errorFile;
+        this.failure = failure;
+    }
+
+    public String getJobId() { return jobId; }
+    public State getState() { return state; }
+    public long getRowsRead() { return rowsRead; }
+    public long getImported() { return imported; }
+    public long getRejected() { return rejected; }
+    public long getElapsedMillis() { return elapsedMillis; }
+    public List<String> getErrors() { return errors; }
+    public String getErrorFile() { return errorFile; }
+    public String getFailure() { return failure; }
+}
@@ -0,0 +1,24 @@
+package com.example.banksystem3.shared;
+
+import java.io.Serializable;
+
+/**
+ * Result of {@link BankService#openSession}: the logged-in user and the token standing for the
+ * session. The token ends with {@link BankService#closeSession}, or once unused for
+ * {@link #getIdleTimeoutMillis()}.
+ */
+public class LoginSession implements Serializable {
+    private final String token;
+    private final User user;
+    private final long idleTimeoutMillis;
+
+    public LoginSession(String token, User user, long idleTimeoutMillis) {
+        this.token = token;
+        this.user = user;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    public String getToken() { return token; }
+    public User getUser() { return user; }
+    public long getIdleTimeoutMillis() { return idleTimeoutMillis; }
+}
@@ -0,0 +1,58 @@
+package com.example.banksystem3.shared;
+
+/**
+ * Fixed-point money helpers. Amounts are held as a primitive {@code long} count of
+ * minor units (santim, 1/100 ETB) so postings add up exactly; doubles are only used
+ * at the edges where the existing API still speaks in birr.
+ */
+public final class Money {
+    public static final int MINOR_UNITS = 100;
+
+    private Money() {}
+
+    /** Converts a birr amount to santim, rounding half-up to the nearest santim. */
+    public static long ofMajor(double amount) {
+        if (Double.isNaN(amount) || Double.isInfinite(amount)) {
+            throw new ArithmeticException("Not a finite amount: " + amount);
+        }
+        double scaled = amount * MINOR_UNITS;
+        if (scaled >= Long.MAX_VALUE || scaled <= Long.MIN_VALUE) {
+            throw new ArithmeticException("Amount out of range: " + amount);
+        }
+        return Math.round(scaled);
+    }
+
+    public static double toMajor(long minor) {
+        return minor / (double) MINOR_UNITS;
+    }
+
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    /** Formats santim as birr with two decimals, e.g. {@code 123456 -> "1234.56"}. */
+    public static String format(long minor) {
+        StringBuilder sb = new StringBuilder(24);
+        appendTo(sb, minor);
+        return sb.toString();
+    }
+
+    public static StringBuilder appendTo(StringBuilder sb, long minor) {
+        if (minor < 0) {
+            sb.append('-');
+        }
+        // Work on the negative value so Long.MIN_VALUE formats correctly
+        long negative = minor < 0 ? minor : -minor;
+        long units = -(negative / MINOR_UNITS);
+        int cents = (int) -(negative % MINOR_UNITS);
+        sb.append(units).append('.');
+        if (cents < 10) {
+            sb.append('0');
+        }
+        return sb.append(cents);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.banksystem3.shared;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One page of a server-side listing. Pass {@link #getNextCursor()} back to fetch the
+ * following page; it is {@code null} once the listing is exhausted.
+ */
+public class Page<T> implements Serializable {
+    private final ArrayList<T> items;
+    private final String nextCursor;
+    private final long totalCount; // -1 when the server cannot count cheaply
+
+    public Page(List<T> items, String nextCursor, long totalCount) {
+        this.items = new ArrayList<>(items);
+        this.nextCursor = nextCursor;
+        this.totalCount = totalCount;
+    }
+
+    public List<T> getItems() { return items; }
+    public String getNextCursor() { return nextCursor; }
+    public boolean hasMore() { return nextCursor != null; }
+    public long getTotalCount() { return totalCount; }
+}
@@ -0,0 +1,73 @@
+package com.example.banksystem3.shared;
+
+import java.io.Serializable;
+
+/**
+ * One money movement in a {@link BankService#postBatch} call. Build with the static factories;
+ * each carries the same parameters as the corresponding single {@link BankService} call.
+ */
+public class PostingRequest implements Serializable {
+    public enum Kind { DEPOSIT, WITHDRAWAL, TRANSFER, BILL_PAYMENT }
+
+    private Kind kind;
+    private String accountId;
+    private double amount;
+    private String description;
+    private String targetAccountNumber; // TRANSFER only
+    private String billerName; // BILL_PAYMENT only
+    private String billId; // BILL_PAYMENT only
+
+    public PostingRequest() {}
+
+    public static PostingRequest deposit(String accountId, double amount, String description) {
+        PostingRequest request = new PostingRequest();
+        request.kind = Kind.DEPOSIT;
+        request.accountId = accountId;
+        request.amount = amount;
+        request.description = description;
+        return request;
+    }
+
+    public static PostingRequest withdrawal(String accountId, double amount, String description) {
+        PostingRequest request = deposit(accountId, amount, description);
+        request.kind = Kind.WITHDRAWAL;
+        return request;
+    }
+
+    public static PostingRequest transfer(String fromAccountId, String toAccountNumber, double amount, String description) {
+        PostingRequest request = deposit(fromAccountId, amount, description);
+        request.kind = Kind.TRANSFER;
+        request.targetAccountNumber = toAccountNumber;
+        return request;
+    }
+
+    public static PostingRequest billPayment(String accountId, String billerName, String billId, double amount) {
+        PostingRequest request = deposit(accountId, amount, null);
+        request.kind = Kind.BILL_PAYMENT;
+        request.billerName = billerName;
+        request.billId = billId;
+        return request;
+    }
+
+    // Getters and setters
+    public Kind getKind() { return kind; }
+    public void setKind(Kind kind) { this.kind = kind; }
+
+    public String getAccountId() { return accountId; }
+    public void setAccountId(String accountId) { this.accountId = accountId; }
+
+    public double getAmount() { return amount; }
+    public void setAmount(double amount) { this.amount = amount; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public String getTargetAccountNumber() { return targetAccountNumber; }
+    public void setTargetAccountNumber(String targetAccountNumber) { this.targetAccountNumber = targetAccountNumber; }
+
+    public String getBillerName() { return billerName; }
+    public void setBillerName(String billerName) { this.billerName = billerName; }
+
+    public String getBillId() { return billId; }
+    public void setBillId(String billId) { this.billId = billId; }
+}
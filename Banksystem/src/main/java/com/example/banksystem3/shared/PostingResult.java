@@ -0,0 +1,28 @@
+package com.example.banksystem3.shared;
+
+import java.io.Serializable;
+
+/** Outcome of one {@link PostingRequest}, at the same position as the request in the batch. */
+public class PostingResult implements Serializable {
+    public enum Status { APPLIED, INVALID, ACCOUNT_NOT_FOUND, INSUFFICIENT_FUNDS }
+
+    private final Status status;
+    private final String transactionId; // entry posted to the request's account; null unless APPLIED
+    private final String message;
+
+    public PostingResult(Status status, String transactionId, String message) {
+        this.status = status;
+        this.transactionId = transactionId;
+        this.message = message;
+    }
+
+    public Status getStatus() { return status; }
+    public boolean isApplied() { return status == Status.APPLIED; }
+    public String getTransactionId() { return transactionId; }
+    public String getMessage() { return message; }
+
+    @Override
+    public String toString() {
+        return status + (message != null ? ": " + message : "");
+    }
+}
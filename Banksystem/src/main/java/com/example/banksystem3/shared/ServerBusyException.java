@@ -0,0 +1,14 @@
+package com.example.banksystem3.shared;
+
+import java.rmi.RemoteException;
+
+/**
+ * Thrown instead of queueing a call when the server is saturated for that kind of operation.
+ * Nothing was executed; the call can be retried later. Over RMI it arrives as the cause of a
+ * {@link java.rmi.ServerException}; the NIO transport throws it directly.
+ */
+public class ServerBusyException extends RemoteException {
+    public ServerBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.banksystem3.shared;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+// Externalizable: see writeExternal for the compact wire format
+public class Transaction implements Externalizable {
+    private String transactionId;
+    private String accountId;
+    private TransactionType type;
+    private long amountMinor; // santim, see Money
+    private Date timestamp;
+    private String description;
+    private long balanceAfterMinor;
+
+    public enum TransactionType {
+        DEPOSIT("Deposit"),
+        WITHDRAWAL("Withdrawal"),
+        TRANSFER_SENT("Transfer Sent"),
+        TRANSFER_RECEIVED("Transfer Received"),
+        INTEREST("Interest");
+
+        private final String displayName;
+
+        TransactionType(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() { return displayName; }
+    }
+
+    public Transaction() {
+    }
+
+    public Transaction(String transactionId, String accountId, TransactionType type,
+                       double amount, String description, double balanceAfter) {
+        this.transactionId = transactionId;
+        this.accountId = accountId;
+        this.type = type;
+        this.amountMinor = Money.ofMajor(amount);
+        this.timestamp = new Date();
+        this.description = description;
+        this.balanceAfterMinor = Money.ofMajor(balanceAfter);
+    }
+
+    // Getters and Setters
+    public String getTransactionId() { return transactionId; }
+    public void setTransactionId(String transactionId) { this.transactionId = transactionId; }
+
+    public String getAccountId() { return accountId; }
+    public void setAccountId(String accountId) { this.accountId = accountId; }
+
+    public TransactionType getType() { return type; }
+    public void setType(TransactionType type) { this.type = type; }
+
+    public double getAmount() { return Money.toMajor(amountMinor); }
+    public void setAmount(double amount) { this.amountMinor = Money.ofMajor(amount); }
+
+    public long getAmountMinor() { return amountMinor; }
+    public void setAmountMinor(long amountMinor) { this.amountMinor = amountMinor; }
+
+    public Date getTimestamp() { return timestamp; }
+    public void setTimestamp(Date timestamp) { this.timestamp = timestamp; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public double getBalanceAfter() { return Money.toMajor(balanceAfterMinor); }
+    public void setBalanceAfter(double balanceAfter) { this.balanceAfterMinor = Money.ofMajor(balanceAfter); }
+
+    public long getBalanceAfterMinor() { return balanceAfterMinor; }
+    public void setBalanceAfterMinor(long balanceAfterMinor) { this.balanceAfterMinor = balanceAfterMinor; }
+
+    public String getFormattedTimestamp() {
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        return sdf.format(timestamp);
+    }
+
+    // Wire format: the id as 16 bytes when it is a UUID, other strings as length-prefixed UTF-8
+    // (see ExternalFields), the type as its ordinal, and the santim amounts and epoch-millisecond
+    // timestamp as varints.
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        ExternalFields.writeId(out, transactionId);
+        ExternalFields.writeString(out, accountId);
+        ExternalFields.writeEnum(out, type);
+        ExternalFields.writeVarLong(out, amountMinor);
+        ExternalFields.writeVarLong(out, balanceAfterMinor);
+        ExternalFields.writeVarLong(out, timestamp == null ? Long.MIN_VALUE : timestamp.getTime());
+        ExternalFields.writeString(out, description);
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        transactionId = ExternalFields.readId(in);
+        accountId = ExternalFields.readString(in);
+        type = ExternalFields.readEnum(in, TransactionType.values());
+        amountMinor = ExternalFields.readVarLong(in);
+        balanceAfterMinor = ExternalFields.readVarLong(in);
+        long millis = ExternalFields.readVarLong(in);
+        timestamp = millis == Long.MIN_VALUE ? null : new Date(millis);
+        description = ExternalFields.readString(in);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s | %s | $%.2f | Balance: $%.2f",
+                getFormattedTimestamp(), type.getDisplayName(), getAmount(), getBalanceAfter());
+    }
+}
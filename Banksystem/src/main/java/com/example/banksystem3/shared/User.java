@@ -0,0 +1,203 @@
+package com.example.banksystem3.shared;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.time.LocalDate;
+
+// Externalizable: see writeExternal for the compact wire format
+public class User implements Externalizable {
+    private String userId;
+    private String fullName;
+    private String nationalId;
+    private String phone;
+    private String email;
+    private String dateOfBirth;
+    private String gender;
+    private String address;
+    private String city;
+    private String state;
+    private String country;
+    private String streetAddress;
+    private String accountType;
+    private Double balance;
+    private String username;
+    private String password;
+    private Role role;
+    private String status;
+    private String registrationDate;
+    private String customerId;
+
+    // For Externalizable and the codecs, which set every field themselves, so it leaves them unset;
+    // new users go through the constructor below
+    public User() {
+    }
+
+    public User(String userId, String username, String password, String fullName, Role role) {
+        this.userId = userId;
+        this.username = username;
+        this.password = password;
+        this.fullName = fullName;
+        this.role = role;
+        this.status = "ACTIVE";
+        this.registrationDate = LocalDate.now().toString();
+    }
+
+    // Getters and Setters
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    public String getFullName() { return fullName; }
+    public void setFullName(String fullName) { this.fullName = fullName; }
+
+    public String getNationalId() { return nationalId; }
+    public void setNationalId(String nationalId) { this.nationalId = nationalId != null ? nationalId : ""; }
+
+    public String getPhone() { return phone; }
+    public void setPhone(String phone) { this.phone = phone; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public String getDateOfBirth() { return dateOfBirth; }
+    public void setDateOfBirth(String dateOfBirth) { this.dateOfBirth = dateOfBirth; }
+
+    public String getGender() { return gender; }
+    public void setGender(String gender) { this.gender = gender; }
+
+    public String getAddress() { return address; }
+    public void setAddress(String address) { this.address = address; }
+
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+
+    public String getState() { return state; }
+    public void setState(String state) { this.state = state; }
+
+    public String getCountry() { return country; }
+    public void setCountry(String country) { this.country = country; }
+
+    public String getStreetAddress() { return streetAddress; }
+    public void setStreetAddress(String streetAddress) { this.streetAddress = streetAddress; }
+
+    public String getAccountType() { return accountType; }
+    public void setAccountType(String accountType) { this.accountType = accountType; }
+
+    public Double getBalance() { return balance; }
+    public void setBalance(Double balance) { this.balance = balance; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public String getPassword() { return password; }
+    public void setPassword(String password) { this.password = password; }
+
+    public Role getRole() { return role; }
+    public void setRole(Role role) { this.role = role; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getRegistrationDate() { return registrationDate; }
+    public void setRegistrationDate(String registrationDate) { this.registrationDate = registrationDate; }
+
+    public String getCustomerId() { return customerId; }
+    public void setCustomerId(String customerId) { this.customerId = customerId; }
+
+    public boolean isActive() {
+        return "ACTIVE".equals(status);
+    }
+
+    public boolean isCustomer() {
+        return role == Role.CUSTOMER;
+    }
+
+    public boolean isAdmin() {
+        return role == Role.ADMIN;
+    }
+
+    // Wire format: strings as length-prefixed UTF-8 (see ExternalFields), the role as its ordinal,
+    // status as a small code, the two dates as epoch days when they are ISO dates, and the
+    // balance behind a presence flag.
+    private static final byte STATUS_NULL = -1;
+    private static final byte STATUS_ACTIVE = 0;
+    private static final byte STATUS_OTHER = 1;
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        ExternalFields.writeString(out, userId);
+        ExternalFields.writeString(out, username);
+        ExternalFields.writeString(out, password);
+        ExternalFields.writeString(out, fullName);
+        ExternalFields.writeEnum(out, role);
+        ExternalFields.writeString(out, nationalId);
+        ExternalFields.writeString(out, phone);
+        ExternalFields.writeString(out, email);
+        ExternalFields.writeDate(out, dateOfBirth);
+        ExternalFields.writeString(out, gender);
+        ExternalFields.writeString(out, address);
+        ExternalFields.writeString(out, city);
+        ExternalFields.writeString(out, state);
+        ExternalFields.writeString(out, country);
+        ExternalFields.writeString(out, streetAddress);
+        ExternalFields.writeString(out, accountType);
+        out.writeBoolean(balance != null);
+        if (balance != null) {
+            out.writeDouble(balance);
+        }
+
+        if (status == null) {
+            out.writeByte(STATUS_NULL);
+        } else if (status.equals("ACTIVE")) {
+            out.writeByte(STATUS_ACTIVE);
+        } else {
+            out.writeByte(STATUS_OTHER);
+            ExternalFields.writeString(out, status);
+        }
+
+        ExternalFields.writeDate(out, registrationDate);
+        ExternalFields.writeString(out, customerId);
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        userId = ExternalFields.readString(in);
+        username = ExternalFields.readString(in);
+        password = ExternalFields.readString(in);
+        fullName = ExternalFields.readString(in);
+        role = ExternalFields.readEnum(in, Role.values());
+        nationalId = ExternalFields.readString(in);
+        phone = ExternalFields.readString(in);
+        email = ExternalFields.readString(in);
+        dateOfBirth = ExternalFields.readDate(in);
+        gender = ExternalFields.readString(in);
+        address = ExternalFields.readString(in);
+        city = ExternalFields.readString(in);
+        state = ExternalFields.readString(in);
+        country = ExternalFields.readString(in);
+        streetAddress = ExternalFields.readString(in);
+        accountType = ExternalFields.readString(in);
+        balance = in.readBoolean() ? in.readDouble() : null;
+
+        byte statusCode = in.readByte();
+        switch (statusCode) {
+            case STATUS_NULL:
+                status = null;
+                break;
+            case STATUS_ACTIVE:
+                status = "ACTIVE";
+                break;
+            default:
+                status = ExternalFields.readString(in);
+        }
+
+        registrationDate = ExternalFields.readDate(in);
+        customerId = ExternalFields.readString(in);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s - %s (%s)", userId, fullName, role);
+    }
+}
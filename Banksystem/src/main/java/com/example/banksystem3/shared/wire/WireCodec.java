@@ -0,0 +1,472 @@
+package com.example.banksystem3.shared.wire;
+
+import com.example.banksystem3.shared.Account;
+import com.example.banksystem3.shared.BankService;
+import com.example.banksystem3.shared.Customer;
+import com.example.banksystem3.shared.Page;
+import com.example.banksystem3.shared.PostingRequest;
+import com.example.banksystem3.shared.PostingResult;
+import com.example.banksystem3.shared.Role;
+import com.example.banksystem3.shared.Transaction;
+import com.example.banksystem3.shared.User;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Compact binary encoding of {@link BankService} calls for the NIO transport.
+ *
+ * <p>Frames are {@code [int length][int requestId][body]}. A request body is
+ * {@code [short method][byte argCount][values]}; a response body is {@code [byte status][value]}
+ * where the value is the result or, for {@link #STATUS_ERROR}, the error message. Each value
+ * starts with a one-byte tag. The domain objects exchanged by {@code BankService} are written
+ * field by field; anything else falls back to Java serialization, restricted by
+ * {@link #SERIALIZED_FILTER} to the shared value classes. Every length read from a frame is checked
+ * against the bytes left in it, so a malformed frame fails with an {@code IOException} instead of
+ * allocating what it claims.
+ *
+ * <p>Methods are numbered by their position in {@link #methods()}, which both ends derive from
+ * the same {@code BankService} class. The client opens a connection with {@link #MAGIC} and
+ * {@link #interfaceHash()}, so mismatched builds are refused instead of calling the wrong method.
+ */
+public final class WireCodec {
+    public static final int MAGIC = 0x424E494F; // "BNIO"
+    public static final int MAX_FRAME = 64 << 20;
+    public static final byte STATUS_OK = 0;
+    public static final byte STATUS_ERROR = 1;
+    public static final byte STATUS_BUSY = 2; // rejected by admission control; nothing was executed
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte BOOLEAN = 2;
+    private static final byte INT = 3;
+    private static final byte LONG = 4;
+    private static final byte DOUBLE = 5;
+    private static final byte DATE = 6;
+    private static final byte ACCOUNT_TYPE = 7;
+    private static final byte TRANSACTION_TYPE = 8;
+    private static final byte ROLE = 9;
+    private static final byte LIST = 10;
+    private static final byte ACCOUNT = 11;
+    private static final byte CUSTOMER = 12;
+    private static final byte USER = 13;
+    private static final byte TRANSACTION = 14;
+    private static final byte PAGE = 15;
+    private static final byte POSTING_REQUEST = 16;
+    private static final byte POSTING_RESULT = 17;
+    private static final byte SERIALIZED = 127;
+
+    // Serialized values may only be the shared value classes and the JDK types they hold
+    private static final ObjectInputFilter SERIALIZED_FILTER = ObjectInputFilter.Config.createFilter(
+            "maxdepth=20;maxrefs=100000;com.example.banksystem3.shared.*;java.lang.*;java.util.*;java.time.*;!*");
+
+    private static final Method[] METHODS = sortedMethods();
+    private static final int INTERFACE_HASH = Arrays.stream(METHODS).map(WireCodec::signature)
+            .reduce("", String::concat).hashCode();
+
+    private WireCodec() {}
+
+    private static Method[] sortedMethods() {
+        Method[] methods = BankService.class.getMethods();
+        Arrays.sort(methods, Comparator.comparing(WireCodec::signature));
+        return methods;
+    }
+
+    private static String signature(Method method) {
+        return method.getName() + Arrays.toString(method.getParameterTypes());
+    }
+
+    /** {@code BankService} methods in wire order. */
+    public static Method[] methods() {
+        return METHODS.clone();
+    }
+
+    public static int methodIndex(Method method) {
+        for (int i = 0; i < METHODS.length; i++) {
+            if (METHODS[i].equals(method)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Not a BankService method: " + method);
+    }
+
+    public static Method method(int index) throws IOException {
+        if (index < 0 || index >= METHODS.length) {
+            throw new IOException("Unknown method index " + index);
+        }
+        return METHODS[index];
+    }
+
+    public static int interfaceHash() {
+        return INTERFACE_HASH;
+    }
+
+    // Request / response bodies
+
+    public static byte[] encodeRequest(int methodIndex, Object[] args) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeShort(methodIndex);
+        int count = args == null ? 0 : args.length;
+        out.writeByte(count);
+        for (int i = 0; i < count; i++) {
+            writeValue(out, args[i]);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static byte[] encodeResponse(byte status, Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(status);
+        writeValue(out, value);
+        return bytes.toByteArray();
+    }
+
+    /** Values must be read through one of these, which the length checks rely on. */
+    public static DataInputStream reader(byte[] body, int offset, int length) {
+        return new DataInputStream(new ByteArrayInputStream(body, offset, length));
+    }
+
+    // Values
+
+    public static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String) {
+            out.writeByte(STRING);
+            writeString(out, (String) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(INT);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Date) {
+            out.writeByte(DATE);
+            out.writeLong(((Date) value).getTime());
+        } else if (value instanceof Account.AccountType) {
+            out.writeByte(ACCOUNT_TYPE);
+            out.writeByte(((Account.AccountType) value).ordinal());
+        } else if (value instanceof Transaction.TransactionType) {
+            out.writeByte(TRANSACTION_TYPE);
+            out.writeByte(((Transaction.TransactionType) value).ordinal());
+        } else if (value instanceof Role) {
+            out.writeByte(ROLE);
+            out.writeByte(((Role) value).ordinal());
+        } else if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            out.writeByte(LIST);
+            out.writeInt(list.size());
+            for (Object item : list) {
+                writeValue(out, item);
+            }
+        } else if (value instanceof Account) {
+            out.writeByte(ACCOUNT);
+            writeAccount(out, (Account) value);
+        } else if (value instanceof Customer) {
+            out.writeByte(CUSTOMER);
+            writeCustomer(out, (Customer) value);
+        } else if (value instanceof User) {
+            out.writeByte(USER);
+            writeUser(out, (User) value);
+        } else if (value instanceof Transaction) {
+            out.writeByte(TRANSACTION);
+            writeTransaction(out, (Transaction) value);
+        } else if (value instanceof Page) {
+            Page<?> page = (Page<?>) value;
+            out.writeByte(PAGE);
+            writeValue(out, page.getItems());
+            writeString(out, page.getNextCursor());
+            out.writeLong(page.getTotalCount());
+        } else if (value instanceof PostingRequest) {
+            out.writeByte(POSTING_REQUEST);
+            writePostingRequest(out, (PostingRequest) value);
+        } else if (value instanceof PostingResult) {
+            PostingResult result = (PostingResult) value;
+            out.writeByte(POSTING_RESULT);
+            out.writeByte(result.getStatus().ordinal());
+            writeString(out, result.getTransactionId());
+            writeString(out, result.getMessage());
+        } else if (value instanceof Serializable) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream objects = new ObjectOutputStream(bytes)) {
+                objects.writeObject(value);
+            }
+            out.writeByte(SERIALIZED);
+            out.writeInt(bytes.size());
+            bytes.writeTo(out);
+        } else {
+            throw new IOException("Cannot encode " + value.getClass().getName());
+        }
+    }
+
+    public static Object readValue(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case STRING:
+                return readString(in);
+            case BOOLEAN:
+                return in.readBoolean();
+            case INT:
+                return in.readInt();
+            case LONG:
+                return in.readLong();
+            case DOUBLE:
+                return in.readDouble();
+            case DATE:
+                return new Date(in.readLong());
+            case ACCOUNT_TYPE:
+                return readEnum(in, Account.AccountType.values());
+            case TRANSACTION_TYPE:
+                return readEnum(in, Transaction.TransactionType.values());
+            case ROLE:
+                return readEnum(in, Role.values());
+            case LIST: {
+                int size = readLength(in); // every item takes at least its tag byte
+                List<Object> list = new ArrayList<>(Math.min(size, 1 << 16));
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in));
+                }
+                return list;
+            }
+            case ACCOUNT:
+                return readAccount(in);
+            case CUSTOMER:
+                return new Customer(readString(in), readString(in), readString(in), readString(in), readString(in));
+            case USER:
+                return readUser(in);
+            case TRANSACTION:
+                return readTransaction(in);
+            case PAGE: {
+                List<?> items = (List<?>) readValue(in);
+                return new Page<>(items, readString(in), in.readLong());
+            }
+            case POSTING_REQUEST:
+                return readPostingRequest(in);
+            case POSTING_RESULT:
+                return new PostingResult(readEnum(in, PostingResult.Status.values()), readString(in), readString(in));
+            case SERIALIZED: {
+                byte[] bytes = new byte[readLength(in)];
+                in.readFully(bytes);
+                try (ObjectInputStream objects = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                    objects.setObjectInputFilter(SERIALIZED_FILTER);
+                    return objects.readObject();
+                } catch (ClassNotFoundException e) {
+                    throw new IOException("Unknown class in serialized value", e);
+                }
+            }
+            default:
+                throw new IOException("Unknown value tag: " + tag);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length == -1) {
+            return null;
+        }
+        checkLength(in, length);
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int readLength(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        checkLength(in, length);
+        return length;
+    }
+
+    private static void checkLength(DataInputStream in, int length) throws IOException {
+        if (length < 0 || length > in.available()) {
+            throw new IOException("Bad length " + length + " with " + in.available() + " bytes left in frame");
+        }
+    }
+
+    private static <E extends Enum<E>> E readEnum(DataInputStream in, E[] values) throws IOException {
+        E value = readNullableEnum(in, values);
+        if (value == null) {
+            throw new IOException("Missing " + values.getClass().getComponentType().getSimpleName());
+        }
+        return value;
+    }
+
+    // Enum fields written by writeEnum, where -1 stands for null
+    private static <E extends Enum<E>> E readNullableEnum(DataInputStream in, E[] values) throws IOException {
+        int ordinal = in.readByte();
+        if (ordinal == -1) {
+            return null;
+        }
+        if (ordinal < 0 || ordinal >= values.length) {
+            throw new IOException("Bad " + values.getClass().getComponentType().getSimpleName() + " ordinal " + ordinal);
+        }
+        return values[ordinal];
+    }
+
+    private static void writeEnum(DataOutputStream out, Enum<?> value) throws IOException {
+        out.writeByte(value == null ? -1 : value.ordinal());
+    }
+
+    private static void writeAccount(DataOutputStream out, Account account) throws IOException {
+        writeString(out, account.getAccountId());
+        writeString(out, account.getCustomerId());
+        writeString(out, account.getAccountNumber());
+        writeString(out, account.getAccountHolderName());
+        writeEnum(out, account.getType());
+        out.writeLong(account.getBalanceMinor());
+        writeString(out, account.getStatus());
+        writeString(out, account.getCreatedAt());
+        writeString(out, account.getUpdatedAt() != null ? account.getUpdatedAt().toString() : null);
+    }
+
+    private static Account readAccount(DataInputStream in) throws IOException {
+        Account account = new Account();
+        account.setAccountId(readString(in));
+        account.setCustomerId(readString(in));
+        account.setAccountNumber(readString(in));
+        account.setAccountHolderName(readString(in));
+        account.setType(readNullableEnum(in, Account.AccountType.values()));
+        account.setBalanceMinor(in.readLong());
+        account.setStatus(readString(in));
+        account.setCreatedAt(readString(in));
+        String updatedAt = readString(in);
+        account.setUpdatedAt(updatedAt != null ? LocalDateTime.parse(updatedAt) : null);
+        return account;
+    }
+
+    private static void writeCustomer(DataOutputStream out, Customer customer) throws IOException {
+        writeString(out, customer.getCustomerId());
+        writeString(out, customer.getName());
+        writeString(out, customer.getPhone());
+        writeString(out, customer.getAddress());
+        writeString(out, customer.getDob());
+    }
+
+    private static void writeUser(DataOutputStream out, User user) throws IOException {
+        writeString(out, user.getUserId());
+        writeString(out, user.getUsername());
+        writeString(out, user.getPassword());
+        writeString(out, user.getFullName());
+        writeEnum(out, user.getRole());
+        writeString(out, user.getNationalId());
+        writeString(out, user.getPhone());
+        writeString(out, user.getEmail());
+        writeString(out, user.getDateOfBirth());
+        writeString(out, user.getGender());
+        writeString(out, user.getAddress());
+        writeString(out, user.getCity());
+        writeString(out, user.getState());
+        writeString(out, user.getCountry());
+        writeString(out, user.getStreetAddress());
+        writeString(out, user.getStatus());
+        writeString(out, user.getRegistrationDate());
+        writeString(out, user.getCustomerId());
+        writeString(out, user.getAccountType());
+        writeValue(out, user.getBalance());
+    }
+
+    private static User readUser(DataInputStream in) throws IOException {
+        User user = new User();
+        user.setUserId(readString(in));
+        user.setUsername(readString(in));
+        user.setPassword(readString(in));
+        user.setFullName(readString(in));
+        user.setRole(readNullableEnum(in, Role.values()));
+        user.setNationalId(readString(in));
+        user.setPhone(readString(in));
+        user.setEmail(readString(in));
+        user.setDateOfBirth(readString(in));
+        user.setGender(readString(in));
+        user.setAddress(readString(in));
+        user.setCity(readString(in));
+        user.setState(readString(in));
+        user.setCountry(readString(in));
+        user.setStreetAddress(readString(in));
+        user.setStatus(readString(in));
+        user.setRegistrationDate(readString(in));
+        user.setCustomerId(readString(in));
+        user.setAccountType(readString(in));
+        Object balance = readValue(in);
+        if (balance != null) {
+            user.setBalance((Double) balance);
+        }
+        return user;
+    }
+
+    private static void writeTransaction(DataOutputStream out, Transaction transaction) throws IOException {
+        writeString(out, transaction.getTransactionId());
+        writeString(out, transaction.getAccountId());
+        writeEnum(out, transaction.getType());
+        out.writeDouble(transaction.getAmount());
+        writeString(out, transaction.getDescription());
+        out.writeDouble(transaction.getBalanceAfter());
+        out.writeLong(transaction.getTimestamp() != null ? transaction.getTimestamp().getTime() : Long.MIN_VALUE);
+    }
+
+    private static Transaction readTransaction(DataInputStream in) throws IOException {
+        String transactionId = readString(in);
+        String accountId = readString(in);
+        Transaction.TransactionType type = readNullableEnum(in, Transaction.TransactionType.values());
+        Transaction transaction = new Transaction(transactionId, accountId, type,
+                in.readDouble(), readString(in), in.readDouble());
+        long timestamp = in.readLong();
+        transaction.setTimestamp(timestamp == Long.MIN_VALUE ? null : new Date(timestamp));
+        return transaction;
+    }
+
+    private static void writePostingRequest(DataOutputStream out, PostingRequest request) throws IOException {
+        writeEnum(out, request.getKind());
+        writeString(out, request.getAccountId());
+        out.writeDouble(request.getAmount());
+        writeString(out, request.getDescription());
+        writeString(out, request.getTargetAccountNumber());
+        writeString(out, request.getBillerName());
+        writeString(out, request.getBillId());
+    }
+
+    private static PostingRequest readPostingRequest(DataInputStream in) throws IOException {
+        PostingRequest request = new PostingRequest();
+        request.setKind(readNullableEnum(in, PostingRequest.Kind.values()));
+        request.setAccountId(readString(in));
+        request.setAmount(in.readDouble());
+        request.setDescription(readString(in));
+        request.setTargetAccountNumber(readString(in));
+        request.setBillerName(readString(in));
+        request.setBillId(readString(in));
+        return request;
+    }
+}
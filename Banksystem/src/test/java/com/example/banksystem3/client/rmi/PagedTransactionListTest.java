@@ -0,0 +1,72 @@
+package com.example.banksystem3.client.rmi;
+
+import com.example.banksystem3.shared.Page;
+import com.example.banksystem3.shared.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PagedTransactionListTest {
+
+    @Test
+    void showsTheNewestEntriesFirst() {
+        // Not a whole number of pages, so the oldest page is a short one
+        int size = PagedTransactionList.PAGE_SIZE * 2 + 37;
+        List<Transaction> history = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            history.add(new Transaction("tx-" + i, "acc-1", Transaction.TransactionType.DEPOSIT, 1, "Deposit", i + 1));
+        }
+        List<int[]> fetched = new ArrayList<>();
+        PagedTransactionList.PageSource source = (from, limit) -> {
+            fetched.add(new int[] {from, limit});
+            // As the server answers: a negative position counts back from the end
+            int start = Math.max(0, Math.min(from < 0 ? size + from : from, size));
+            int end = Math.min(size, start + limit);
+            return CompletableFuture.completedFuture(new Page<>(new ArrayList<>(history.subList(start, end)), null, size));
+        };
+
+        List<PagedTransactionList> opened = new ArrayList<>();
+        PagedTransactionList.open(source, opened::add, e -> { throw new AssertionError(e); });
+        PagedTransactionList list = opened.get(0);
+        assertEquals(size, list.size());
+        assertEquals(1, fetched.size(), "the newest page comes with the size in one call");
+        assertEquals("tx-" + (size - 1), list.get(0).getTransactionId());
+
+        for (int row = 0; row < size; row++) {
+            Transaction transaction = list.get(row);
+            if (transaction == null) {
+                // Fetched synchronously here, so the second read finds the page
+                transaction = list.get(row);
+            }
+            assertEquals("tx-" + (size - 1 - row), transaction.getTransactionId());
+        }
+        assertEquals("tx-0", list.get(size - 1).getTransactionId());
+        assertEquals(3, fetched.size(), "each page is fetched once");
+    }
+
+    @Test
+    void returnsNullForARowStillBeingFetched() {
+        int size = PagedTransactionList.PAGE_SIZE * 3;
+        CompletableFuture<Page<Transaction>> pending = new CompletableFuture<>();
+        List<PagedTransactionList> opened = new ArrayList<>();
+        PagedTransactionList.open((from, limit) -> from < 0
+                        ? CompletableFuture.completedFuture(new Page<>(new ArrayList<>(), null, size))
+                        : pending,
+                opened::add, e -> { throw new AssertionError(e); });
+
+        PagedTransactionList list = opened.get(0);
+        assertNull(list.get(size - 1));
+        List<Transaction> oldest = new ArrayList<>();
+        for (int i = 0; i < PagedTransactionList.PAGE_SIZE; i++) {
+            oldest.add(new Transaction("tx-" + i, "acc-1", Transaction.TransactionType.DEPOSIT, 1, "Deposit", i + 1));
+        }
+        pending.complete(new Page<>(oldest, null, size));
+        assertEquals("tx-0", list.get(size - 1).getTransactionId());
+        assertEquals("tx-" + (PagedTransactionList.PAGE_SIZE - 1), list.get(size - PagedTransactionList.PAGE_SIZE).getTransactionId());
+    }
+}
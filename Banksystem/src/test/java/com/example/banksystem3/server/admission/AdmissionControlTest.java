@@ -0,0 +1,141 @@
+package com.example.banksystem3.server.admission;
+
+import com.example.banksystem3.shared.BankService;
+import com.example.banksystem3.shared.ServerBusyException;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.rmi.RemoteException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdmissionControlTest {
+
+    @Test
+    void mapsOperationsToTheirGroups() {
+        for (String name : new String[] {"login", "openSession", "changePassword", "changeSessionPassword", "registerUser"}) {
+            assertEquals(AdmissionControl.Group.AUTH, AdmissionControl.groupOf(name), name);
+        }
+        // Ending or looking up a session checks no password, so it is not shed with a login storm
+        for (String name : new String[] {"logout", "closeSession", "getSessionUser", "getBalance", "getDashboardStats"}) {
+            assertEquals(AdmissionControl.Group.DEFAULT, AdmissionControl.groupOf(name), name);
+        }
+        for (String name : new String[] {"deposit", "withdraw", "transfer", "payBill"}) {
+            assertEquals(AdmissionControl.Group.POSTING, AdmissionControl.groupOf(name), name);
+        }
+        for (String name : new String[] {"postBatch", "importCustomers"}) {
+            assertEquals(AdmissionControl.Group.BATCH, AdmissionControl.groupOf(name), name);
+        }
+        for (String name : new String[] {"getAllUsers", "getAllTransactions", "getAccountsPage", "getSystemLogsPage",
+                "searchCustomers", "getSystemLogs", "getAuditTrail", "getSessionAuditTrail"}) {
+            assertEquals(AdmissionControl.Group.BULK, AdmissionControl.groupOf(name), name);
+        }
+        for (Method method : BankService.class.getMethods()) {
+            assertNotNull(AdmissionControl.groupOf(method.getName()), method.getName());
+        }
+    }
+
+    @Test
+    void bulkheadQueuesUpToItsBoundAndRejectsTheRest() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("TEST", 1, 1, 5_000);
+        bulkhead.acquire();
+
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Void> waiter = CompletableFuture.runAsync(() -> {
+            started.countDown();
+            try {
+                bulkhead.acquire();
+            } catch (ServerBusyException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Thread.sleep(200); // for the waiter to take the only queue slot
+
+        ServerBusyException rejected = assertThrows(ServerBusyException.class, bulkhead::acquire);
+        assertTrue(rejected.getMessage().contains("TEST: queue full"), rejected.getMessage());
+        assertEquals(1, bulkhead.getRejectedCount());
+
+        // The queued caller gets the permit once it is released
+        bulkhead.release();
+        waiter.get(5, TimeUnit.SECONDS);
+        bulkhead.release();
+        bulkhead.acquire();
+        bulkhead.release();
+        assertEquals(1, bulkhead.getRejectedCount());
+    }
+
+    @Test
+    void bulkheadGivesUpAfterTheMaximumWait() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("TEST", 1, 4, 100);
+        bulkhead.acquire();
+
+        long start = System.nanoTime();
+        ServerBusyException e = assertThrows(ServerBusyException.class, bulkhead::acquire);
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(e.getMessage().contains("timed out after 100 ms"), e.getMessage());
+        assertEquals(1, bulkhead.getRejectedCount());
+
+        bulkhead.release();
+        bulkhead.acquire();
+        bulkhead.release();
+    }
+
+    @Test
+    void shedsOneGroupWithoutBlockingTheOthers() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BankService target = (BankService) Proxy.newProxyInstance(BankService.class.getClassLoader(),
+                new Class<?>[] {BankService.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "login":
+                            entered.countDown();
+                            release.await();
+                            return null;
+                        case "getBalance":
+                            return 42.0;
+                        case "deposit":
+                            throw new RemoteException("ledger down");
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+
+        System.setProperty("bank.limit.auth.concurrency", "1");
+        System.setProperty("bank.limit.auth.queue", "0");
+        BankService service;
+        try {
+            service = AdmissionControl.wrap(target);
+        } finally {
+            System.clearProperty("bank.limit.auth.concurrency");
+            System.clearProperty("bank.limit.auth.queue");
+        }
+
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> {
+            try {
+                service.login("alice", "pw");
+            } catch (RemoteException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        try {
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+            assertThrows(ServerBusyException.class, () -> service.openSession("bob", "pw"));
+            assertEquals(42.0, service.getBalance("ACC1"));
+            RemoteException failure = assertThrows(RemoteException.class, () -> service.deposit("ACC1", 1, "x"));
+            assertEquals("ledger down", failure.getMessage());
+        } finally {
+            release.countDown();
+        }
+        first.get(5, TimeUnit.SECONDS);
+        assertNull(service.login("carol", "pw"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.banksystem3.server.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuditStoreTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void keepsSpilledHistoryAcrossRestarts() throws IOException {
+        Path file = dir.resolve("audit.spill");
+        AuditStore store = new AuditStore(file);
+        for (int i = 0; i < 100; i++) {
+            store.record("alice", AuditAction.CURRENCY_BOUGHT, String.valueOf(i), "USD");
+            store.record("bob", AuditAction.LOGIN);
+        }
+        List<String> before = store.query("alice", Long.MIN_VALUE, Long.MAX_VALUE, Integer.MAX_VALUE);
+        assertEquals(100, before.size());
+        store.close();
+
+        AuditStore reopened = new AuditStore(file);
+        assertEquals(before, reopened.query("alice", Long.MIN_VALUE, Long.MAX_VALUE, Integer.MAX_VALUE));
+        assertEquals(100, reopened.query("bob", Long.MIN_VALUE, Long.MAX_VALUE, Integer.MAX_VALUE).size());
+        assertEquals(before.subList(90, 100), reopened.query("alice", Long.MIN_VALUE, Long.MAX_VALUE, 10));
+        reopened.close();
+    }
+
+    @Test
+    void dropsATailLeftZeroFilledOrCutShortByACrash() throws IOException {
+        Path file = dir.resolve("audit.spill");
+        AuditStore store = new AuditStore(file);
+        for (int i = 0; i < 50; i++) {
+            store.record("alice", AuditAction.CURRENCY_SOLD, String.valueOf(i), "EUR");
+        }
+        List<String> before = store.query("alice", Long.MIN_VALUE, Long.MAX_VALUE, Integer.MAX_VALUE);
+        store.close();
+        long intact = Files.size(file);
+
+        // A record whose start reached the disk but whose end did not, then blocks the file
+        // system extended with zeros
+        byte[] firstRecord = Arrays.copyOfRange(Files.readAllBytes(file), 8, 8 + 30);
+        Files.write(file, firstRecord, StandardOpenOption.APPEND);
+        Files.write(file, new byte[4096], StandardOpenOption.APPEND);
+
+        AuditStore reopened = new AuditStore(file);
+        assertEquals(intact, Files.size(file), "the damaged tail is truncated");
+        assertEquals(before, reopened.query("alice", Long.MIN_VALUE, Long.MAX_VALUE, Integer.MAX_VALUE));
+        reopened.record("alice", AuditAction.LOGIN);
+        reopened.close();
+
+        AuditStore again = new AuditStore(file);
+        List<String> after = again.query("alice", Long.MIN_VALUE, Long.MAX_VALUE, Integer.MAX_VALUE);
+        assertEquals(51, after.size());
+        assertEquals(before, after.subList(0, 50));
+        again.close();
+    }
+
+    @Test
+    void dropsARecordThatFailsItsChecksum() throws IOException {
+        Path file = dir.resolve("audit.spill");
+        AuditStore store = new AuditStore(file);
+        for (int i = 0; i < 40; i++) {
+            store.record("alice", AuditAction.LOGIN);
+        }
+        store.close();
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 6] ^= 1; // inside the last record
+        Files.write(file, bytes);
+
+        AuditStore reopened = new AuditStore(file);
+        assertEquals(39, reopened.query("alice", Long.MIN_VALUE, Long.MAX_VALUE, Integer.MAX_VALUE).size());
+        assertTrue(Files.size(file) < bytes.length);
+        reopened.close();
+    }
+}
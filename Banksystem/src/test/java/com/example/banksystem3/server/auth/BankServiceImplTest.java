@@ -0,0 +1,270 @@
+package com.example.banksystem3.server.auth;
+
+import com.example.banksystem3.server.ledger.LedgerCodec;
+import com.example.banksystem3.shared.Account;
+import com.example.banksystem3.shared.Customer;
+import com.example.banksystem3.shared.PostingRequest;
+import com.example.banksystem3.shared.PostingResult;
+import com.example.banksystem3.shared.Transaction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.rmi.NoSuchObjectException;
+import java.rmi.RemoteException;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BankServiceImplTest {
+    private static final int THREADS = 8;
+
+    @TempDir
+    Path dataDir;
+
+    private final List<BankServiceImpl> services = new ArrayList<>();
+
+    @AfterEach
+    void shutDown() throws NoSuchObjectException {
+        for (BankServiceImpl service : services) {
+            service.shutdown();
+            UnicastRemoteObject.unexportObject(service, true);
+        }
+    }
+
+    private BankServiceImpl open(Path dataDir) throws RemoteException {
+        BankServiceImpl service = new BankServiceImpl(dataDir);
+        services.add(service);
+        return service;
+    }
+
+    @Test
+    void concurrentTransfersConserveTheTotalBalance() throws Exception {
+        BankServiceImpl service = open(null);
+        List<Account> accounts = service.getAllAccounts();
+        assertTrue(accounts.size() >= 2, "sample data should have accounts to transfer between");
+        long before = totalMinor(service);
+
+        int applied = 0;
+        for (Future<Integer> result : runConcurrently(seed -> {
+            Random random = new Random(seed);
+            int done = 0;
+            for (int i = 0; i < 2_000; i++) {
+                Account from = accounts.get(random.nextInt(accounts.size()));
+                Account to = accounts.get(random.nextInt(accounts.size()));
+                double amount = (1 + random.nextInt(50_000)) / 100.0;
+                if (service.transfer(from.getAccountId(), to.getAccountNumber(), amount, "Test transfer")) {
+                    done++;
+                }
+            }
+            return done;
+        })) {
+            applied += result.get();
+        }
+
+        assertTrue(applied > 0, "some transfers should have been applied");
+        assertEquals(before, totalMinor(service), "transfers must move money, never create or lose it");
+        for (Account account : service.getAllAccounts()) {
+            assertTrue(account.getBalanceMinor() >= 0, "overdrawn: " + account.getAccountNumber());
+            assertLastEntryMatchesBalance(service, account);
+        }
+    }
+
+    @Test
+    void concurrentPostingsOnOneAccountLoseNoUpdate() throws Exception {
+        BankServiceImpl service = open(null);
+        Account account = service.getAllAccounts().get(0);
+        long before = service.getAccountById(account.getAccountId()).getBalanceMinor();
+        int rounds = 1_000;
+
+        for (Future<Integer> result : runConcurrently(seed -> {
+            for (int i = 0; i < rounds; i++) {
+                // Each thread deposits before it withdraws, so the balance never drops below its start
+                assertTrue(service.deposit(account.getAccountId(), 1.00, "Test deposit"));
+                assertTrue(service.withdraw(account.getAccountId(), 0.50, "Test withdrawal"));
+            }
+            return rounds;
+        })) {
+            result.get();
+        }
+
+        Account after = service.getAccountById(account.getAccountId());
+        assertEquals(before + THREADS * rounds * 50L, after.getBalanceMinor());
+        assertLastEntryMatchesBalance(service, after);
+    }
+
+    @Test
+    void findsAccountsByNumberAfterTheNumberChanges() throws Exception {
+        BankServiceImpl service = open(null);
+        List<Account> accounts = service.getAllAccounts();
+        Account account = accounts.get(0);
+        Account other = accounts.get(1);
+        String oldNumber = account.getAccountNumber();
+        assertEquals(account.getAccountId(), service.getAccountByNumber(oldNumber).getAccountId());
+
+        Account renumbered = LedgerCodec.copyOf(account);
+        renumbered.setAccountNumber(service.generateAccountNumber());
+        assertTrue(service.updateAccount(renumbered));
+        assertNull(service.getAccountByNumber(oldNumber));
+        assertEquals(account.getAccountId(), service.getAccountByNumber(renumbered.getAccountNumber()).getAccountId());
+
+        // Taking a number another account holds is refused and leaves both entries as they were
+        Account clash = LedgerCodec.copyOf(other);
+        clash.setAccountNumber(renumbered.getAccountNumber());
+        assertFalse(service.updateAccount(clash));
+        assertEquals(account.getAccountId(), service.getAccountByNumber(renumbered.getAccountNumber()).getAccountId());
+        assertEquals(other.getAccountId(), service.getAccountByNumber(other.getAccountNumber()).getAccountId());
+    }
+
+    @Test
+    void appliesEachPostingOfABatchOnItsOwn() throws Exception {
+        BankServiceImpl service = open(null);
+        List<Account> accounts = service.getAllAccounts();
+        Account payer = accounts.get(0);
+        Account payee = accounts.get(1);
+        long payerBefore = payer.getBalanceMinor();
+        long payeeBefore = payee.getBalanceMinor();
+
+        List<PostingResult> results = service.postBatch(Arrays.asList(
+                PostingRequest.deposit(payer.getAccountId(), 100.00, "Payroll"),
+                PostingRequest.withdrawal(payer.getAccountId(), 1_000_000_000.00, "Too much"),
+                PostingRequest.transfer(payer.getAccountId(), payee.getAccountNumber(), 40.00, "Rent"),
+                PostingRequest.deposit("no-such-account", 5.00, "Lost"),
+                PostingRequest.deposit(payer.getAccountId(), -1.00, "Negative")));
+
+        List<PostingResult.Status> statuses = new ArrayList<>();
+        for (PostingResult result : results) {
+            statuses.add(result.getStatus());
+        }
+        assertEquals(List.of(PostingResult.Status.APPLIED, PostingResult.Status.INSUFFICIENT_FUNDS,
+                PostingResult.Status.APPLIED, PostingResult.Status.ACCOUNT_NOT_FOUND, PostingResult.Status.INVALID),
+                statuses);
+        assertEquals(payerBefore + 10_000 - 4_000, service.getAccountById(payer.getAccountId()).getBalanceMinor());
+        assertEquals(payeeBefore + 4_000, service.getAccountById(payee.getAccountId()).getBalanceMinor());
+    }
+
+    @Test
+    void recoversPostingsFromTheJournalAfterACrash() throws Exception {
+        BankServiceImpl crashed = open(dataDir);
+        List<Account> accounts = crashed.getAllAccounts();
+        Account first = accounts.get(0);
+        Account second = accounts.get(1);
+        assertTrue(crashed.deposit(first.getAccountId(), 125.50, "Salary"));
+        assertTrue(crashed.withdraw(first.getAccountId(), 20.25, "Cash"));
+        assertTrue(crashed.transfer(first.getAccountId(), second.getAccountNumber(), 30.00, "Rent"));
+
+        // The first server is never shut down, so the second only sees what each call made durable
+        BankServiceImpl recovered = open(dataDir);
+        assertSameLedger(crashed, recovered);
+    }
+
+    @Test
+    void recoversFromTheSnapshotAndTheJournalWrittenAfterIt() throws Exception {
+        BankServiceImpl first = open(dataDir);
+        Account account = first.getAllAccounts().get(0);
+        long start = account.getBalanceMinor();
+        assertTrue(first.deposit(account.getAccountId(), 10.00, "Before the snapshot"));
+        first.shutdown(); // writes a snapshot and deletes the journal it covers
+        services.remove(first);
+        UnicastRemoteObject.unexportObject(first, true);
+        assertTrue(Files.exists(dataDir.resolve("snapshot-00000002.bin")));
+        assertFalse(Files.exists(dataDir.resolve("journal-00000001.log")));
+
+        BankServiceImpl second = open(dataDir);
+        assertTrue(second.deposit(account.getAccountId(), 5.00, "After the snapshot"));
+        BankServiceImpl recovered = open(dataDir);
+        assertEquals(start + 1500, recovered.getAccountById(account.getAccountId()).getBalanceMinor());
+        assertSameLedger(second, recovered);
+    }
+
+    @Test
+    void refusesACustomerChangeTooLargeToJournalBeforeApplyingIt() throws Exception {
+        BankServiceImpl service = open(dataDir);
+        String oversized = "x".repeat(17 << 20); // more than a journal region
+        Customer added = new Customer("C-big", "Big Record", "0911000001", oversized, "1990-01-01");
+        assertThrows(RemoteException.class, () -> service.addCustomer(added, null));
+        assertNull(service.getCustomerById("C-big"));
+
+        Customer existing = service.getAllCustomers().get(0);
+        Customer updated = new Customer(existing.getCustomerId(), existing.getName(), existing.getPhone(),
+                oversized, existing.getDob());
+        assertThrows(RemoteException.class, () -> service.updateCustomer(updated));
+        assertEquals(existing.getAddress(), service.getCustomerById(existing.getCustomerId()).getAddress());
+
+        // The journal is still usable afterwards
+        assertTrue(service.addCustomer(new Customer("C-small", "Small Record", "0911000002", "Bole", "1990-01-01"), null));
+        assertEquals("Small Record", open(dataDir).getCustomerById("C-small").getName());
+    }
+
+    private interface Worker {
+        int run(long seed) throws Exception;
+    }
+
+    private static List<Future<Integer>> runConcurrently(Worker worker) {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                long seed = t;
+                results.add(pool.submit(() -> worker.run(seed)));
+            }
+            return results;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static long totalMinor(BankServiceImpl service) throws RemoteException {
+        long total = 0;
+        for (Account account : service.getAllAccounts()) {
+            total += account.getBalanceMinor();
+        }
+        return total;
+    }
+
+    private static void assertSameLedger(BankServiceImpl expected, BankServiceImpl actual) throws RemoteException {
+        Map<String, Account> actualById = new HashMap<>();
+        for (Account account : actual.getAllAccounts()) {
+            actualById.put(account.getAccountId(), account);
+        }
+        List<Account> expectedAccounts = expected.getAllAccounts();
+        assertEquals(expectedAccounts.size(), actualById.size(), "account count");
+        for (Account account : expectedAccounts) {
+            Account recovered = actualById.get(account.getAccountId());
+            assertTrue(recovered != null, "missing account " + account.getAccountNumber());
+            assertEquals(account.getAccountNumber(), recovered.getAccountNumber());
+            assertEquals(account.getBalanceMinor(), recovered.getBalanceMinor(), "balance of " + account.getAccountNumber());
+            assertEquals(account.getStatus(), recovered.getStatus());
+            List<Transaction> history = expected.getTransactionHistory(account.getAccountId());
+            List<Transaction> recoveredHistory = actual.getTransactionHistory(account.getAccountId());
+            assertEquals(history.size(), recoveredHistory.size(), "history of " + account.getAccountNumber());
+            for (int i = 0; i < history.size(); i++) {
+                assertEquals(history.get(i).getTransactionId(), recoveredHistory.get(i).getTransactionId());
+            }
+        }
+    }
+
+    // The newest history entry was written under the same lock as the balance it reports
+    private static void assertLastEntryMatchesBalance(BankServiceImpl service, Account account) throws RemoteException {
+        List<Transaction> recent = service.getRecentTransactions(account.getAccountId(), 1);
+        if (!recent.isEmpty()) {
+            assertEquals(account.getBalanceMinor(), Math.round(recent.get(0).getBalanceAfter() * 100),
+                    "history of " + account.getAccountNumber());
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.banksystem3.server.auth;
+
+import com.example.banksystem3.shared.Role;
+import com.example.banksystem3.shared.User;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SessionTableTest {
+    // Well below the sweeper's one second minimum period, so only the test sweeps
+    private static final long IDLE_TIMEOUT_MS = 200;
+
+    private static User user(String userId) {
+        return new User(userId, "user" + userId, null, "Test User", Role.CUSTOMER);
+    }
+
+    @Test
+    void touchKeepsALiveSessionAndDropsAnExpiredOne() throws InterruptedException {
+        SessionTable table = new SessionTable(IDLE_TIMEOUT_MS);
+        try {
+            User alice = user("1");
+            String token = table.open(alice);
+            assertSame(alice, table.touch(token));
+            assertNull(table.touch("not-a-token"));
+            assertNull(table.touch(null));
+
+            Thread.sleep(IDLE_TIMEOUT_MS * 2);
+            assertNull(table.touch(token));
+            assertEquals(0, table.size());
+            assertFalse(table.hasSessions("1"));
+        } finally {
+            table.close();
+        }
+    }
+
+    @Test
+    void sweepDropsSessionsThatWereNotUsedAgain() throws InterruptedException {
+        SessionTable table = new SessionTable(IDLE_TIMEOUT_MS);
+        try {
+            String idle = table.open(user("1"));
+            String busy = table.open(user("2"));
+            for (int i = 0; i < 6; i++) {
+                Thread.sleep(IDLE_TIMEOUT_MS / 4);
+                assertNotNull(table.touch(busy));
+            }
+
+            table.sweep();
+            assertEquals(1, table.size());
+            assertFalse(table.hasSessions("1"));
+            assertTrue(table.hasSessions("2"));
+            assertNull(table.close(idle));
+        } finally {
+            table.close();
+        }
+    }
+
+    @Test
+    void closeAllKeepsTheGivenToken() {
+        SessionTable table = new SessionTable(60_000);
+        try {
+            User alice = user("1");
+            String kept = table.open(alice);
+            String other = table.open(alice);
+            String third = table.open(alice);
+            String bob = table.open(user("2"));
+            assertNotEquals(kept, other);
+            assertEquals(4, table.size());
+
+            table.closeAll("1", kept);
+            assertSame(alice, table.touch(kept));
+            assertNull(table.touch(other));
+            assertNull(table.touch(third));
+            assertNotNull(table.touch(bob));
+            assertEquals(2, table.size());
+
+            // Closing the last one ends the user's sessions; closing it twice is a no-op
+            assertSame(alice, table.close(kept));
+            assertNull(table.close(kept));
+            assertFalse(table.hasSessions("1"));
+
+            table.closeAll("2", null);
+            assertEquals(0, table.size());
+            assertFalse(table.hasSessions("2"));
+        } finally {
+            table.close();
+        }
+    }
+}
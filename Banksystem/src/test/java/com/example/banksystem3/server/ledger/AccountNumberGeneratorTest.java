@@ -0,0 +1,106 @@
+package com.example.banksystem3.server.ledger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccountNumberGeneratorTest {
+    @TempDir
+    Path dir;
+
+    private AccountNumberGenerator open(Set<String> taken) throws IOException {
+        IdSequence serials = new IdSequence(dir.resolve("account-serials.seq"), AccountNumberGenerator.FIRST_SERIAL, 50);
+        return new AccountNumberGenerator(serials, taken::contains);
+    }
+
+    @Test
+    void numbersAreValidAndNeverRepeatAcrossRestarts() throws IOException {
+        Set<String> issued = new HashSet<>();
+        AccountNumberGenerator generator = open(issued);
+        for (int i = 0; i < 120; i++) {
+            assertTrue(issued.add(generator.next()));
+        }
+        for (String number : generator.next(30)) {
+            assertTrue(issued.add(number));
+        }
+
+        // The restarted generator knows nothing of the numbers in use, only its own sequence file
+        AccountNumberGenerator restarted = open(Set.of());
+        for (int i = 0; i < 100; i++) {
+            assertTrue(issued.add(restarted.next()));
+        }
+        assertEquals(250, issued.size());
+        for (String number : issued) {
+            assertTrue(AccountNumberGenerator.isValid(number), number);
+        }
+    }
+
+    @Test
+    void concurrentCallersGetDistinctNumbers() throws Exception {
+        AccountNumberGenerator generator = open(Set.of());
+        Set<String> issued = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(pool.submit(() -> {
+                    for (int i = 0; i < 2_000; i++) {
+                        assertTrue(issued.add(generator.next()));
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(16_000, issued.size());
+    }
+
+    @Test
+    void skipsNumbersAlreadyTaken() throws IOException {
+        Set<String> taken = Set.of(AccountNumberGenerator.format(2));
+        assertEquals(AccountNumberGenerator.format(1), open(taken).next());
+
+        AccountNumberGenerator generator = new AccountNumberGenerator(
+                new IdSequence(null, AccountNumberGenerator.FIRST_SERIAL, 10), taken::contains);
+        assertEquals(List.of(AccountNumberGenerator.format(1), AccountNumberGenerator.format(3)), generator.next(2));
+        assertEquals(AccountNumberGenerator.format(4), generator.next());
+    }
+
+    @Test
+    void failsOnceTheSerialsRunOut() throws IOException {
+        AccountNumberGenerator generator = new AccountNumberGenerator(new IdSequence(null, 99_999_999, 10), n -> false);
+        assertEquals(AccountNumberGenerator.format(99_999_999), generator.next());
+        assertThrows(IllegalStateException.class, generator::next);
+    }
+
+    @Test
+    void validatesPrefixLengthAndCheckDigit() {
+        String number = AccountNumberGenerator.format(12_345);
+        assertTrue(AccountNumberGenerator.isValid(number));
+
+        char check = number.charAt(number.length() - 1);
+        String wrongCheck = number.substring(0, number.length() - 1) + (char) ('0' + (check - '0' + 1) % 10);
+        assertFalse(AccountNumberGenerator.isValid(wrongCheck));
+        assertFalse(AccountNumberGenerator.isValid("2" + number.substring(1)));
+        assertFalse(AccountNumberGenerator.isValid(number.substring(1)));
+        assertFalse(AccountNumberGenerator.isValid(null));
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.banksystem3.server.ledger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdSequenceTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void resumesAboveEveryIssuedIdAfterRestart() throws IOException {
+        Path file = dir.resolve("ids.seq");
+        IdSequence sequence = new IdSequence(file, 1000, 10);
+        long last = 0;
+        for (int i = 0; i < 25; i++) {
+            last = sequence.next();
+        }
+        assertEquals(1024, last);
+        assertFalse(Files.exists(dir.resolve("ids.seq.tmp")));
+
+        // Reserved but unissued IDs are skipped, never reissued
+        IdSequence restarted = new IdSequence(file, 1000, 10);
+        assertTrue(restarted.next() > last);
+    }
+
+    @Test
+    void concurrentCallersNeverShareAnId() throws Exception {
+        Path file = dir.resolve("ids.seq");
+        IdSequence sequence = new IdSequence(file, 1, 7);
+        Set<Long> issued = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                boolean reserving = t % 2 == 0;
+                results.add(pool.submit(() -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        if (reserving) {
+                            long first = sequence.reserve(3);
+                            for (long id = first; id < first + 3; id++) {
+                                assertTrue(issued.add(id));
+                            }
+                        } else {
+                            assertTrue(issued.add(sequence.next()));
+                        }
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(4 * 3_000 + 4 * 1_000, issued.size());
+
+        long next = new IdSequence(file, 1, 7).next();
+        assertTrue(next > Collections.max(issued));
+    }
+
+    @Test
+    void observedIdsAreSkipped() throws IOException {
+        IdSequence sequence = new IdSequence(null, 1, 10);
+        sequence.observe("41");
+        assertEquals(42, sequence.next());
+
+        sequence.observe(10);
+        sequence.observe("CUST-99");
+        sequence.observe("-5");
+        sequence.observe((String) null);
+        sequence.observe("1234567890123456789"); // too long to be one of ours
+        assertEquals(43, sequence.next());
+    }
+
+    @Test
+    void refusesACorruptSequenceFile() throws IOException {
+        Path file = dir.resolve("ids.seq");
+        new IdSequence(file, 1, 10).next();
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[3] ^= 1;
+        Files.write(file, bytes);
+
+        assertThrows(IOException.class, () -> new IdSequence(file, 1, 10));
+    }
+}
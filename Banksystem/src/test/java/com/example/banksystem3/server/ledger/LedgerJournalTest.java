@@ -0,0 +1,78 @@
+package com.example.banksystem3.server.ledger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class LedgerJournalTest {
+    private static final int REGION_SIZE = 4096;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void replaysRecordsInOrderAcrossRegionsAndGenerations() throws IOException {
+        List<String> written = new ArrayList<>();
+        try (LedgerJournal journal = LedgerJournal.open(dir, REGION_SIZE)) {
+            journal.replay(1, (type, payload, position) -> fail("a new journal has no records"));
+            long ticket = 0;
+            for (int i = 0; i < 1000; i++) {
+                if (i == 500) {
+                    journal.rotate();
+                }
+                String text = "record " + i;
+                ticket = journal.append(LedgerJournal.POSTING, new BinaryWriter().putString(text).putLong(i));
+                written.add(text);
+            }
+            journal.awaitDurable(ticket);
+        }
+
+        assertEquals(written, replay(1));
+        assertEquals(written.subList(500, 1000), replay(2));
+    }
+
+    @Test
+    void dropsATornTailAndAppendsAfterTheLastIntactRecord() throws IOException {
+        long intactEnd;
+        try (LedgerJournal journal = LedgerJournal.open(dir, REGION_SIZE)) {
+            journal.replay(1, (type, payload, position) -> fail("a new journal has no records"));
+            journal.append(LedgerJournal.POSTING, new BinaryWriter().putString("first"));
+            intactEnd = journal.append(LedgerJournal.POSTING, new BinaryWriter().putString("second"));
+            journal.awaitDurable(journal.append(LedgerJournal.POSTING, new BinaryWriter().putString("torn")));
+        }
+
+        // Damage the last record's payload, as if the crash came while it was being written
+        long tornOffset = intactEnd - LedgerJournal.ticket(1, 0);
+        try (FileChannel file = FileChannel.open(dir.resolve("journal-00000001.log"), StandardOpenOption.WRITE)) {
+            file.write(ByteBuffer.wrap(new byte[] {(byte) 0xFF}), tornOffset + 4 + 1 + 2);
+        }
+
+        try (LedgerJournal journal = LedgerJournal.open(dir, REGION_SIZE)) {
+            assertEquals(2, journal.replay(1, (type, payload, position) -> { }));
+            assertEquals(intactEnd, journal.position());
+            journal.awaitDurable(journal.append(LedgerJournal.POSTING, new BinaryWriter().putString("third")));
+        }
+        assertEquals(List.of("first", "second", "third"), replay(1));
+    }
+
+    private List<String> replay(int fromGeneration) throws IOException {
+        List<String> records = new ArrayList<>();
+        try (LedgerJournal journal = LedgerJournal.open(dir, REGION_SIZE)) {
+            journal.replay(fromGeneration, (type, payload, position) -> {
+                assertEquals(LedgerJournal.POSTING, type);
+                records.add(payload.getString());
+            });
+        }
+        return records;
+    }
+}
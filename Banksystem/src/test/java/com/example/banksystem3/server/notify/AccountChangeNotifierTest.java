@@ -0,0 +1,156 @@
+package com.example.banksystem3.server.notify;
+
+import com.example.banksystem3.shared.AccountEvent;
+import com.example.banksystem3.shared.AccountEventListener;
+import com.example.banksystem3.shared.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccountChangeNotifierTest {
+    private static final String ACCOUNT = "ACC1001";
+
+    // Hands each batch to the test; the first callback waits until released
+    private static final class BlockingListener implements AccountEventListener {
+        final BlockingQueue<List<AccountEvent>> batches = new LinkedBlockingQueue<>();
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public void onAccountEvents(List<AccountEvent> events) {
+            if (calls.incrementAndGet() == 1) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            batches.add(events);
+        }
+
+        AccountEvent next() throws InterruptedException {
+            List<AccountEvent> batch = batches.poll(5, TimeUnit.SECONDS);
+            assertNotNull(batch, "no callback");
+            assertEquals(1, batch.size());
+            return batch.get(0);
+        }
+    }
+
+    private static Transaction deposit(long sequence) {
+        return new Transaction("T" + sequence, ACCOUNT, Transaction.TransactionType.DEPOSIT, 1, "Deposit", sequence);
+    }
+
+    private static List<String> ids(AccountEvent event) {
+        return event.getTransactions().stream().map(Transaction::getTransactionId).collect(Collectors.toList());
+    }
+
+    @Test
+    void mergesChangesPostedWhileACallbackIsInFlight() throws Exception {
+        try (AccountChangeNotifier notifier = new AccountChangeNotifier()) {
+            BlockingListener listener = new BlockingListener();
+            notifier.subscribe(listener, List.of(ACCOUNT));
+
+            notifier.posted(ACCOUNT, 0, 100, "ACTIVE", deposit(0));
+            assertTrue(listener.entered.await(5, TimeUnit.SECONDS));
+            for (long sequence = 1; sequence <= 40; sequence++) {
+                notifier.posted(ACCOUNT, sequence, 100 + sequence * 100, "ACTIVE", deposit(sequence));
+            }
+            notifier.changed(ACCOUNT, 41, 4100, "FROZEN");
+            listener.release.countDown();
+
+            AccountEvent first = listener.next();
+            assertEquals(100, first.getBalanceMinor());
+            assertEquals(List.of("T0"), ids(first));
+
+            // Everything posted meanwhile arrives as one event: the latest state and the newest
+            // transactions, marked truncated
+            AccountEvent merged = listener.next();
+            assertEquals(4100, merged.getBalanceMinor());
+            assertEquals("FROZEN", merged.getStatus());
+            assertEquals(AccountChangeNotifier.MAX_EVENT_TRANSACTIONS, merged.getTransactions().size());
+            assertEquals("T9", merged.getTransactions().get(0).getTransactionId());
+            assertEquals("T40", merged.getTransactions().get(merged.getTransactions().size() - 1).getTransactionId());
+            assertTrue(merged.isTruncated());
+
+            assertNull(listener.batches.poll(200, TimeUnit.MILLISECONDS));
+            assertEquals(2, listener.calls.get());
+        }
+    }
+
+    @Test
+    void aLateLowerSequenceDoesNotRollBackTheBalance() throws Exception {
+        try (AccountChangeNotifier notifier = new AccountChangeNotifier()) {
+            BlockingListener listener = new BlockingListener();
+            notifier.subscribe(listener, List.of(ACCOUNT));
+
+            notifier.posted(ACCOUNT, 0, 100, "ACTIVE", deposit(0));
+            assertTrue(listener.entered.await(5, TimeUnit.SECONDS));
+            // Posting 5 is reported before posting 3, whose request thread was slower
+            notifier.posted(ACCOUNT, 5, 500, "ACTIVE", deposit(5));
+            notifier.posted(ACCOUNT, 3, 300, "ACTIVE", deposit(3));
+            listener.release.countDown();
+
+            listener.next();
+            AccountEvent merged = listener.next();
+            assertEquals(500, merged.getBalanceMinor());
+            assertEquals(List.of("T3", "T5"), ids(merged));
+            assertFalse(merged.isTruncated());
+
+            // Also once the newer state has been delivered: the transaction still arrives
+            notifier.posted(ACCOUNT, 4, 400, "ACTIVE", deposit(4));
+            AccountEvent late = listener.next();
+            assertEquals(500, late.getBalanceMinor());
+            assertEquals(List.of("T4"), ids(late));
+        }
+    }
+
+    @Test
+    void dropsAHungListenerWithoutBlockingPosted() throws Exception {
+        try (AccountChangeNotifier notifier = new AccountChangeNotifier(200)) {
+            BlockingListener hung = new BlockingListener();
+            BlockingListener healthy = new BlockingListener();
+            healthy.release.countDown();
+            notifier.subscribe(hung, List.of(ACCOUNT));
+            notifier.subscribe(healthy, List.of(ACCOUNT));
+
+            notifier.posted(ACCOUNT, 0, 100, "ACTIVE", deposit(0));
+            assertTrue(hung.entered.await(5, TimeUnit.SECONDS));
+
+            long start = System.nanoTime();
+            for (long sequence = 1; sequence <= 1000; sequence++) {
+                notifier.posted(ACCOUNT, sequence, 100 + sequence, "ACTIVE", deposit(sequence));
+            }
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1), "posted waited on the hung listener");
+
+            // The other subscriber keeps getting events
+            long balance = 0;
+            while (balance != 1100) {
+                List<AccountEvent> batch = healthy.batches.poll(5, TimeUnit.SECONDS);
+                assertNotNull(batch, "healthy listener starved");
+                balance = batch.get(0).getBalanceMinor();
+            }
+
+            // Past the timeout the watchdog drops it, so nothing more is delivered once it returns
+            Thread.sleep(1000);
+            hung.release.countDown();
+            notifier.posted(ACCOUNT, 1001, 2000, "ACTIVE", deposit(1001));
+            assertEquals(2000, healthy.next().getBalanceMinor());
+            Thread.sleep(200);
+            assertEquals(1, hung.calls.get());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.banksystem3.server.onboarding;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CsvReaderTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void splitsQuotedFieldsHoldingCommasAndQuotes() {
+        assertEquals(List.of("alice", "Bole, Addis Ababa", "say \"hi\"", ""),
+                CsvReader.split(" alice ,\"Bole, Addis Ababa\",\"say \"\"hi\"\"\","));
+        assertEquals(List.of(""), CsvReader.split(""));
+        assertNull(CsvReader.split("alice,\"Bole, Addis"));
+    }
+
+    @Test
+    void quotesWhatSplitWouldOtherwiseCut() {
+        for (String field : List.of("plain", "a, b", "say \"hi\"", "Unknown account type 'GOLD, PLUS'.")) {
+            assertEquals(List.of("7", field), CsvReader.split("7," + CsvReader.quote(field)));
+        }
+        assertEquals("plain", CsvReader.quote("plain"));
+        assertEquals("one two three", CsvReader.quote("one\ntwo\r\nthree"));
+    }
+
+    @Test
+    void readsLinesAcrossBufferBoundaries() throws IOException {
+        // A byte order mark, \r\n endings, a line longer than the decode buffer with a two-byte
+        // character straddling its end, and no newline after the last line
+        String head = "\uFEFFusername,fullName\r\n" + "alice,\"Alice, A\"\r\n";
+        int headBytes = head.getBytes(StandardCharsets.UTF_8).length;
+        StringBuilder longLine = new StringBuilder();
+        while (headBytes + longLine.length() < (1 << 20) - 1) {
+            longLine.append('x');
+        }
+        longLine.append("é").append("tail");
+        String text = head + longLine + "\n\nlast";
+        Path file = dir.resolve("in.csv");
+        Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+
+        try (CsvReader reader = new CsvReader(file)) {
+            assertEquals("username,fullName", reader.readLine());
+            assertEquals("alice,\"Alice, A\"", reader.readLine());
+            assertEquals(longLine.toString(), reader.readLine());
+            assertEquals("", reader.readLine());
+            assertEquals("last", reader.readLine());
+            assertNull(reader.readLine());
+            assertNull(reader.readLine());
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.banksystem3.server.onboarding;
+
+import com.example.banksystem3.shared.Account;
+import com.example.banksystem3.shared.ImportStatus;
+import com.example.banksystem3.shared.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CustomerImportTest {
+    @TempDir
+    Path dir;
+
+    // Registers like the server does: a username that is already taken is rejected
+    private static final class FakeRegistrar implements CustomerImport.Registrar {
+        final Set<String> usernames = new HashSet<>();
+        final List<User> users = new ArrayList<>();
+        final List<Account> accounts = new ArrayList<>();
+
+        @Override
+        public List<String> registerAll(List<User> batch, List<Account> batchAccounts) {
+            List<String> rejections = new ArrayList<>();
+            for (int i = 0; i < batch.size(); i++) {
+                User user = batch.get(i);
+                if (!usernames.add(user.getUsername())) {
+                    rejections.add("Username '" + user.getUsername() + "' already exists.");
+                } else {
+                    users.add(user);
+                    accounts.add(batchAccounts.get(i));
+                    rejections.add(null);
+                }
+            }
+            return rejections;
+        }
+    }
+
+    private ImportStatus runImport(String csv, FakeRegistrar registrar) throws IOException {
+        Path file = dir.resolve("customers.csv");
+        Files.writeString(file, csv, StandardCharsets.UTF_8);
+        CustomerImport job = new CustomerImport("job-1", file, registrar);
+        job.run();
+        assertTrue(job.finishedAt() > 0);
+        return job.status();
+    }
+
+    private List<String> errorLines(ImportStatus status) throws IOException {
+        List<String> lines = Files.readAllLines(Path.of(status.getErrorFile()), StandardCharsets.UTF_8);
+        assertEquals("line,error", lines.get(0));
+        return lines.subList(1, lines.size());
+    }
+
+    @Test
+    void readsColumnsInAnyOrderAndCase() throws IOException {
+        FakeRegistrar registrar = new FakeRegistrar();
+        ImportStatus status = runImport(
+                "Initial_Deposit,PHONE,Address,username,Full Name,accountType,password\n"
+                        + "250.50,0911000001,\"Bole, Addis Ababa\",alice,Alice Abebe,savings,secret1\n"
+                        + "\n"
+                        + "1000,+251911000002,,bob,Bob Kebede,WADIAH,secret2\n",
+                registrar);
+
+        assertEquals(ImportStatus.State.COMPLETED, status.getState());
+        assertEquals(2, status.getRowsRead());
+        assertEquals(2, status.getImported());
+        assertEquals(0, status.getRejected());
+        User alice = registrar.users.get(0);
+        assertEquals("alice", alice.getUsername());
+        assertEquals("secret1", alice.getPassword());
+        assertEquals("Alice Abebe", alice.getFullName());
+        assertEquals("0911000001", alice.getPhone());
+        assertEquals("Bole, Addis Ababa", alice.getAddress());
+        assertEquals(Account.AccountType.SAVINGS, registrar.accounts.get(0).getType());
+        assertEquals(25050, registrar.accounts.get(0).getBalanceMinor());
+        assertEquals(null, registrar.users.get(1).getAddress());
+        assertEquals(Account.AccountType.WADIAH, registrar.accounts.get(1).getType());
+        assertTrue(errorLines(status).isEmpty());
+    }
+
+    @Test
+    void failsWithoutARequiredColumn() throws IOException {
+        ImportStatus status = runImport("username,password,fullName,phone,accountType\n", new FakeRegistrar());
+        assertEquals(ImportStatus.State.FAILED, status.getState());
+        assertEquals("Header has no initialdeposit column", status.getFailure());
+    }
+
+    @Test
+    void reportsValidationAndDuplicateRejectionsInLineOrder() throws IOException {
+        FakeRegistrar registrar = new FakeRegistrar();
+        registrar.usernames.add("taken");
+        ImportStatus status = runImport(
+                "username,password,fullName,phone,accountType,initialDeposit\n"
+                        + "alice,pw,Alice Abebe,0911000001,SAVINGS,100\n"       // 2
+                        + "bob,pw,Bob Kebede,12345,SAVINGS,100\n"               // 3: bad phone
+                        + "alice,pw,Alice Again,0911000003,SAVINGS,100\n"       // 4: duplicate in the file
+                        + "carol,pw,Carol Tesfaye,0911000004,\"GOLD, PLUS\",100\n" // 5: type with a comma
+                        + "taken,pw,Dawit Alemu,0911000005,WADIAH,100\n"        // 6: already registered
+                        + "eve,pw,\"Eve \"\"E\"\" Bekele\",0911000006,WADIAH,100\n" // 7: quote in the name
+                        + "frank,pw,Frank Hailu,0911000007,WADIAH,\"50\n"       // 8: open quote
+                        + "gina,pw,Gina Girma,0911000008,WADIAH,75\n",          // 9
+                registrar);
+
+        assertEquals(ImportStatus.State.COMPLETED, status.getState());
+        assertEquals(8, status.getRowsRead());
+        assertEquals(2, status.getImported());
+        assertEquals(6, status.getRejected());
+        assertEquals(List.of("alice", "gina"), registrar.users.stream().map(User::getUsername).toList());
+
+        List<String> errors = errorLines(status);
+        assertEquals(List.of(
+                "3,Invalid phone number (expected 07... or +251...).",
+                "4,Username 'alice' already exists.",
+                "5,\"Unknown account type 'GOLD, PLUS'.\"",
+                "6,Username 'taken' already exists.",
+                "7,Full Name is required and must contain only letters and spaces.",
+                "8,Unterminated quote"), errors);
+        for (String error : errors) {
+            assertEquals(2, CsvReader.split(error).size(), error);
+        }
+        assertEquals("line 5: Unknown account type 'GOLD, PLUS'.", status.getErrors().get(2));
+    }
+
+    @Test
+    void keepsLineOrderAcrossChunks() throws IOException {
+        int rows = CustomerImport.CHUNK_ROWS * 3 + 17;
+        StringBuilder csv = new StringBuilder("username,password,fullName,phone,accountType,initialDeposit\n");
+        int expectedRejected = 0;
+        for (int i = 0; i < rows; i++) {
+            // Every seventh row fails validation and every eleventh repeats the first username
+            String username = i % 11 == 10 ? "user0" : "user" + i;
+            String phone = i % 7 == 6 ? "bad" : "09" + (11_000_000 + i);
+            if (i % 7 == 6 || i % 11 == 10) {
+                expectedRejected++;
+            }
+            csv.append(username).append(",pw,Test User,").append(phone).append(",SAVINGS,10\n");
+        }
+        FakeRegistrar registrar = new FakeRegistrar();
+        ImportStatus status = runImport(csv.toString(), registrar);
+
+        assertEquals(ImportStatus.State.COMPLETED, status.getState());
+        assertEquals(rows, status.getRowsRead());
+        assertEquals(expectedRejected, status.getRejected());
+        assertEquals(rows - expectedRejected, status.getImported());
+        List<String> errors = errorLines(status);
+        assertEquals(expectedRejected, errors.size());
+        long previous = 0;
+        for (String error : errors) {
+            long line = Long.parseLong(error.substring(0, error.indexOf(',')));
+            assertTrue(line > previous, "out of order at line " + line);
+            previous = line;
+        }
+        assertEquals(CustomerImport.MAX_ERRORS_KEPT, status.getErrors().size());
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.banksystem3.server.search;
+
+import com.example.banksystem3.shared.Customer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CustomerSearchIndexTest {
+    private static final String[] SYLLABLES = {"a", "be", "ke", "le", "mi", "ta", "se", "ye", "ru", "ho", "n", "th"};
+
+    private static Customer customer(String id, String name, String phone) {
+        return new Customer(id, name, phone, "Addis Ababa", "1990-01-01");
+    }
+
+    private static List<String> ids(List<Customer> customers) {
+        return customers.stream().map(Customer::getCustomerId).collect(Collectors.toList());
+    }
+
+    @Test
+    void ranksExactMatchesThenPrefixesThenMatchesInsideAField() {
+        CustomerSearchIndex index = new CustomerSearchIndex();
+        // Added in the reverse of the expected order, so the ranking is not insertion order
+        index.put(customer("C3", "Natalia Kebede", "0911000003"));
+        index.put(customer("C2", "Alice Abebe", "0911000002"));
+        index.put(customer("C1", "Ali Tesfaye", "0911000001"));
+
+        assertEquals(List.of("C1", "C2", "C3"), ids(index.search("ali", 10)));
+        assertEquals(List.of("C1", "C2"), ids(index.search("ALI", 2)));
+        assertEquals(List.of("C2"), ids(index.search("0911000002", 10)));
+        assertEquals(List.of("C1", "C2", "C3"), ids(index.search("c", 10)));
+    }
+
+    @Test
+    void matchesAQueryContainingASpaceAgainstTheWholeName() {
+        CustomerSearchIndex index = new CustomerSearchIndex();
+        index.put(customer("C1", "Abebe Kebede", "0911000001"));
+        index.put(customer("C2", "Kebede Abebe", "0911000002"));
+
+        assertEquals(List.of("C1"), ids(index.search("abebe kebede", 10)));
+        assertEquals(List.of("C1"), ids(index.search("be keb", 10)));
+        assertEquals(List.of("C2"), ids(index.search(" de ab ", 10)));
+        assertTrue(index.search("abebe  kebede", 10).isEmpty());
+    }
+
+    @Test
+    void shortQueriesMatchInsideAField() {
+        CustomerSearchIndex index = new CustomerSearchIndex();
+        index.put(customer("C1", "Mike Smith", "0911000001"));
+        index.put(customer("C2", "John Smith", "0911000002"));
+        index.put(customer("C3", "Sara Abebe", "0911000003"));
+
+        assertEquals(List.of("C1", "C2"), ids(index.search("mi", 10)));
+        assertEquals(Set.of("C1", "C2"), new HashSet<>(ids(index.search("h", 10))));
+        assertEquals(List.of("C3"), ids(index.search("3", 10)));
+    }
+
+    @Test
+    void followsUpdatesAndRemovalsAcrossCompaction() {
+        CustomerSearchIndex index = new CustomerSearchIndex();
+        int count = 3000;
+        for (int i = 0; i < count; i++) {
+            index.put(customer("C" + i, "Old Name" + i, "0911" + (100000 + i)));
+        }
+        // Replacing every customer twice leaves more dead documents than live ones, so the
+        // postings are rebuilt at least once along the way
+        for (int round = 1; round <= 2; round++) {
+            for (int i = 0; i < count; i++) {
+                index.put(customer("C" + i, "Round" + round + " Name" + i, "0922" + (100000 + i)));
+            }
+        }
+        for (int i = 0; i < count; i += 3) {
+            index.remove("C" + i);
+        }
+
+        assertEquals(count - count / 3, index.size());
+        assertTrue(index.search("old", 10).isEmpty());
+        assertTrue(index.search("round1", 10).isEmpty());
+        assertTrue(index.search("0911100005", 10).isEmpty());
+        assertEquals(List.of("C1"), ids(index.search("name1", 1)));
+        assertTrue(index.search("C3", 10).stream().noneMatch(c -> c.getCustomerId().equals("C3")));
+        assertEquals(List.of("C4"), ids(index.search("0922100004", 10)));
+        assertEquals(count - count / 3, index.search("round2", Integer.MAX_VALUE).size());
+
+        // Still updates normally after the rebuild
+        index.put(customer("C4", "Renamed", "0933000004"));
+        assertEquals(List.of("C4"), ids(index.search("renamed", 10)));
+        assertTrue(index.search("0922100004", 10).isEmpty());
+    }
+
+    @Test
+    void findsWhatAContainsScanFindsOnARandomCorpus() {
+        Random random = new Random(7);
+        CustomerSearchIndex index = new CustomerSearchIndex();
+        Map<String, Customer> customers = new LinkedHashMap<>();
+        for (int step = 0; step < 20_000; step++) {
+            String id = "C" + random.nextInt(5000);
+            if (random.nextInt(10) == 0) {
+                customers.remove(id);
+                index.remove(id);
+            } else {
+                Customer customer = customer(id, randomWord(random) + " " + randomWord(random), randomPhone(random));
+                customers.put(id, customer);
+                index.put(customer);
+            }
+        }
+        assertEquals(customers.size(), index.size());
+
+        List<String> queries = new ArrayList<>();
+        List<Customer> all = new ArrayList<>(customers.values());
+        for (int i = 0; i < 500; i++) {
+            Customer customer = all.get(random.nextInt(all.size()));
+            String field = new String[]{customer.getName(), customer.getPhone(), customer.getCustomerId()}[random.nextInt(3)];
+            int start = random.nextInt(field.length());
+            int end = start + 1 + random.nextInt(Math.min(8, field.length() - start));
+            queries.add(field.substring(start, end));
+        }
+        for (int i = 0; i < 100; i++) {
+            queries.add(randomWord(random).substring(0, 1 + random.nextInt(2)) + randomWord(random));
+        }
+
+        for (String query : queries) {
+            String keyword = query.trim();
+            if (keyword.isEmpty()) {
+                continue;
+            }
+            // The scan searchCustomers did before the index
+            String lowerKeyword = keyword.toLowerCase(Locale.ROOT);
+            Set<String> expected = customers.values().stream()
+                    .filter(c -> c.getName().toLowerCase(Locale.ROOT).contains(lowerKeyword)
+                            || c.getPhone().contains(keyword)
+                            || c.getCustomerId().toLowerCase(Locale.ROOT).contains(lowerKeyword))
+                    .map(Customer::getCustomerId)
+                    .collect(Collectors.toSet());
+            List<String> found = ids(index.search(query, Integer.MAX_VALUE));
+            assertEquals(expected, new HashSet<>(found), query);
+            assertEquals(found.size(), new HashSet<>(found).size(), "no duplicates for " + query);
+        }
+    }
+
+    private static String randomWord(Random random) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0, n = 2 + random.nextInt(3); i < n; i++) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        word.setCharAt(0, Character.toUpperCase(word.charAt(0)));
+        return word.toString();
+    }
+
+    private static String randomPhone(Random random) {
+        return "09" + (10_000_000 + random.nextInt(90_000_000));
+    }
+}
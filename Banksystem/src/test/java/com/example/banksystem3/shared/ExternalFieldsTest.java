@@ -0,0 +1,154 @@
+package com.example.banksystem3.shared;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.LocalDateTime;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExternalFieldsTest {
+
+    @Test
+    void roundTripsAccountsInEveryStatusAndDateForm() throws Exception {
+        String[][] statusAndCreatedAt = {
+                {"ACTIVE", "2026-01-02"},  // coded status, date as epoch day
+                {"CLOSED", "02/01/2026"},  // coded status, date kept as text
+                {"FROZEN", null},          // status kept as text, no date
+                {null, "2026-02-30"},      // no status, impossible date kept as text
+        };
+        for (String[] fields : statusAndCreatedAt) {
+            Account account = new Account("acc-1", "cust-1", "1000000000018", Account.AccountType.SAVINGS, 0, fields[1]);
+            account.setAccountHolderName("Almaz Tesfaye");
+            account.setBalanceMinor(-42);
+            account.setStatus(fields[0]);
+            account.setUpdatedAt(LocalDateTime.of(2026, 3, 4, 5, 6, 7, 8_000_000));
+
+            Account copy = roundTrip(account);
+            assertEquals(account.getAccountId(), copy.getAccountId());
+            assertEquals(account.getCustomerId(), copy.getCustomerId());
+            assertEquals(account.getAccountNumber(), copy.getAccountNumber());
+            assertEquals(account.getAccountHolderName(), copy.getAccountHolderName());
+            assertEquals(account.getType(), copy.getType());
+            assertEquals(account.getBalanceMinor(), copy.getBalanceMinor());
+            assertEquals(account.getStatus(), copy.getStatus());
+            assertEquals(account.getCreatedAt(), copy.getCreatedAt());
+            assertEquals(account.getUpdatedAt(), copy.getUpdatedAt());
+        }
+    }
+
+    @Test
+    void roundTripsNullAndMultiByteLengthStrings() throws Exception {
+        // 200 characters of 2-byte UTF-8 need a two-byte length varint
+        String longName = "አበበ ".repeat(50);
+        Customer customer = new Customer("2001", longName, null, "", null);
+
+        Customer copy = roundTrip(customer);
+        assertEquals("2001", copy.getCustomerId());
+        assertEquals(longName, copy.getName());
+        assertNull(copy.getPhone());
+        assertEquals("", copy.getAddress());
+        assertNull(copy.getDob());
+    }
+
+    @Test
+    void roundTripsTransactionsWithAndWithoutATimestamp() throws Exception {
+        Transaction transaction = new Transaction("TXN-1", "acc-1", Transaction.TransactionType.TRANSFER_SENT,
+                1234.56, "Rent", -0.01);
+        transaction.setTimestamp(new Date(1_767_225_600_123L));
+
+        Transaction copy = roundTrip(transaction);
+        assertEquals("TXN-1", copy.getTransactionId());
+        assertEquals("acc-1", copy.getAccountId());
+        assertEquals(Transaction.TransactionType.TRANSFER_SENT, copy.getType());
+        assertEquals(123_456, copy.getAmountMinor());
+        assertEquals(-1, copy.getBalanceAfterMinor());
+        assertEquals(transaction.getTimestamp(), copy.getTimestamp());
+        assertEquals("Rent", copy.getDescription());
+
+        transaction.setTimestamp(null);
+        transaction.setDescription(null);
+        copy = roundTrip(transaction);
+        assertNull(copy.getTimestamp());
+        assertNull(copy.getDescription());
+
+        // Canonical UUIDs go as 16 bytes, other spellings as text; extreme amounts survive the varints
+        for (String id : new String[] {"0f8fad5b-d9cb-469f-a165-70867728950e", "0F8FAD5B-D9CB-469F-A165-70867728950E", null}) {
+            transaction.setTransactionId(id);
+            transaction.setAmountMinor(Long.MIN_VALUE);
+            transaction.setBalanceAfterMinor(Long.MAX_VALUE);
+            copy = roundTrip(transaction);
+            assertEquals(id, copy.getTransactionId());
+            assertEquals(Long.MIN_VALUE, copy.getAmountMinor());
+            assertEquals(Long.MAX_VALUE, copy.getBalanceAfterMinor());
+        }
+    }
+
+    @Test
+    void roundTripsUsersWithCodedAndTextFields() throws Exception {
+        User user = new User("u-1", "almaz", "secret", "Almaz Tesfaye", Role.CUSTOMER);
+        user.setDateOfBirth("1990-05-06");
+        user.setRegistrationDate("06/05/2026"); // not an ISO date, kept as text
+        user.setCity("Addis Ababa");
+        user.setBalance(15.5);
+        user.setCustomerId("2001");
+
+        User copy = roundTrip(user);
+        assertEquals("u-1", copy.getUserId());
+        assertEquals("almaz", copy.getUsername());
+        assertEquals("secret", copy.getPassword());
+        assertEquals(Role.CUSTOMER, copy.getRole());
+        assertEquals("1990-05-06", copy.getDateOfBirth());
+        assertEquals("06/05/2026", copy.getRegistrationDate());
+        assertEquals("Addis Ababa", copy.getCity());
+        assertEquals(Double.valueOf(15.5), copy.getBalance());
+        assertEquals("ACTIVE", copy.getStatus());
+        assertEquals("2001", copy.getCustomerId());
+        assertNull(copy.getEmail());
+
+        user.setStatus("LOCKED");
+        user.setRole(null);
+        user.setBalance(null);
+        copy = roundTrip(user);
+        assertEquals("LOCKED", copy.getStatus());
+        assertNull(copy.getRole());
+        assertNull(copy.getBalance());
+    }
+
+    @Test
+    void rejectsAnEnumOrdinalOutsideTheEnum() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeByte(-1);
+            out.writeByte(1);
+            out.writeByte(Account.AccountType.values().length);
+            out.writeByte(-2);
+        }
+        try (ObjectInput in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertNull(ExternalFields.readEnum(in, Account.AccountType.values()));
+            assertEquals(Account.AccountType.WADIAH, ExternalFields.readEnum(in, Account.AccountType.values()));
+            assertThrows(InvalidObjectException.class, () -> ExternalFields.readEnum(in, Account.AccountType.values()));
+            assertThrows(InvalidObjectException.class, () -> ExternalFields.readEnum(in, Account.AccountType.values()));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T roundTrip(T value) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (T) in.readObject();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.banksystem3.shared;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTest {
+
+    @Test
+    void convertsBirrToWholeSantim() {
+        assertEquals(1999, Money.ofMajor(19.99));
+        assertEquals(30, Money.ofMajor(0.1) + Money.ofMajor(0.2));
+        assertEquals(-1, Money.ofMajor(-0.006));
+        assertEquals(19.99, Money.toMajor(1999));
+    }
+
+    @Test
+    void sumsStayExactWhereDoublesDrift() {
+        long minor = 0;
+        double major = 0;
+        for (int i = 0; i < 1_000; i++) {
+            minor = Money.add(minor, Money.ofMajor(0.10));
+            major += 0.10;
+        }
+        assertEquals(10_000, minor);
+        assertEquals("100.00", Money.format(minor));
+        assertNotEquals(100.0, major);
+    }
+
+    @Test
+    void refusesAmountsThatCannotBeHeld() {
+        assertThrows(ArithmeticException.class, () -> Money.ofMajor(Double.NaN));
+        assertThrows(ArithmeticException.class, () -> Money.ofMajor(Double.POSITIVE_INFINITY));
+        assertThrows(ArithmeticException.class, () -> Money.ofMajor(1e17));
+        assertThrows(ArithmeticException.class, () -> Money.add(Long.MAX_VALUE, 1));
+        assertThrows(ArithmeticException.class, () -> Money.subtract(Long.MIN_VALUE, 1));
+    }
+
+    @Test
+    void formatsWithTwoDecimals() {
+        assertEquals("1234.56", Money.format(123_456));
+        assertEquals("0.05", Money.format(5));
+        assertEquals("-0.05", Money.format(-5));
+        assertEquals("-12.30", Money.format(-1_230));
+        assertEquals("92233720368547758.07", Money.format(Long.MAX_VALUE));
+        assertEquals("-92233720368547758.08", Money.format(Long.MIN_VALUE));
+        assertEquals("Paid 7.00 ETB", Money.appendTo(new StringBuilder("Paid "), 700).append(" ETB").toString());
+    }
+}
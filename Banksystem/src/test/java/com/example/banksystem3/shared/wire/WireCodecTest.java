@@ -0,0 +1,189 @@
+package com.example.banksystem3.shared.wire;
+
+import com.example.banksystem3.shared.Account;
+import com.example.banksystem3.shared.BankService;
+import com.example.banksystem3.shared.Customer;
+import com.example.banksystem3.shared.ImportStatus;
+import com.example.banksystem3.shared.Page;
+import com.example.banksystem3.shared.PostingRequest;
+import com.example.banksystem3.shared.PostingResult;
+import com.example.banksystem3.shared.Role;
+import com.example.banksystem3.shared.Transaction;
+import com.example.banksystem3.shared.User;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WireCodecTest {
+
+    @Test
+    void roundTripsScalars() throws IOException {
+        for (Object value : new Object[] {null, "", "Addis Ababa ✓", true, false, 42, Integer.MIN_VALUE,
+                Long.MAX_VALUE, -0.5, new Date(1_700_000_000_123L), Account.AccountType.SAVINGS,
+                Transaction.TransactionType.TRANSFER_RECEIVED, Role.CUSTOMER}) {
+            assertEquals(value, roundTrip(value));
+        }
+    }
+
+    @Test
+    void roundTripsNestedLists() throws IOException {
+        List<Object> list = Arrays.asList("a", null, 7L, List.of(1, List.of("deep")));
+        assertEquals(list, roundTrip(list));
+    }
+
+    @Test
+    void roundTripsAccounts() throws IOException {
+        Account account = new Account("acc-1", "cust-1", "1000000000018", Account.AccountType.WADIAH, 0, "2026-01-02");
+        account.setAccountHolderName("Almaz Tesfaye");
+        account.setBalanceMinor(1_234_567L);
+        account.setStatus("ACTIVE");
+        account.setUpdatedAt(LocalDateTime.of(2026, 3, 4, 5, 6, 7));
+
+        Account copy = (Account) roundTrip(account);
+        assertEquals(account.getAccountId(), copy.getAccountId());
+        assertEquals(account.getCustomerId(), copy.getCustomerId());
+        assertEquals(account.getAccountNumber(), copy.getAccountNumber());
+        assertEquals(account.getAccountHolderName(), copy.getAccountHolderName());
+        assertEquals(account.getType(), copy.getType());
+        assertEquals(account.getBalanceMinor(), copy.getBalanceMinor());
+        assertEquals(account.getStatus(), copy.getStatus());
+        assertEquals(account.getCreatedAt(), copy.getCreatedAt());
+        assertEquals(account.getUpdatedAt(), copy.getUpdatedAt());
+    }
+
+    @Test
+    void roundTripsCustomersAndUsers() throws IOException {
+        Customer customer = new Customer("2001", "Dawit Bekele", "0911223344", "Bole", "1990-05-06");
+        Customer customerCopy = (Customer) roundTrip(customer);
+        assertEquals(customer.getCustomerId(), customerCopy.getCustomerId());
+        assertEquals(customer.getName(), customerCopy.getName());
+        assertEquals(customer.getPhone(), customerCopy.getPhone());
+        assertEquals(customer.getAddress(), customerCopy.getAddress());
+        assertEquals(customer.getDob(), customerCopy.getDob());
+
+        User user = new User("2001", "dawit", null, "Dawit Bekele", Role.CUSTOMER);
+        user.setEmail("dawit@example.com");
+        user.setCustomerId("2001");
+        user.setBalance(12.5);
+        User userCopy = (User) roundTrip(user);
+        assertEquals(user.getUserId(), userCopy.getUserId());
+        assertEquals(user.getUsername(), userCopy.getUsername());
+        assertNull(userCopy.getPassword());
+        assertEquals(user.getFullName(), userCopy.getFullName());
+        assertEquals(user.getRole(), userCopy.getRole());
+        assertEquals(user.getEmail(), userCopy.getEmail());
+        assertNull(userCopy.getPhone());
+        assertEquals(user.getCustomerId(), userCopy.getCustomerId());
+        assertEquals(user.getBalance(), userCopy.getBalance());
+    }
+
+    @Test
+    void roundTripsTransactionsInPages() throws IOException {
+        Transaction transaction = new Transaction("tx-1", "acc-1", Transaction.TransactionType.DEPOSIT,
+                250.75, "Salary", 1_000.25);
+        transaction.setTimestamp(new Date(1_700_000_000_000L));
+        Page<Transaction> page = new Page<>(List.of(transaction), "cursor-2", 41);
+
+        @SuppressWarnings("unchecked")
+        Page<Transaction> copy = (Page<Transaction>) roundTrip(page);
+        assertEquals("cursor-2", copy.getNextCursor());
+        assertEquals(41, copy.getTotalCount());
+        assertEquals(1, copy.getItems().size());
+        Transaction transactionCopy = copy.getItems().get(0);
+        assertEquals(transaction.getTransactionId(), transactionCopy.getTransactionId());
+        assertEquals(transaction.getAccountId(), transactionCopy.getAccountId());
+        assertEquals(transaction.getType(), transactionCopy.getType());
+        assertEquals(transaction.getAmount(), transactionCopy.getAmount());
+        assertEquals(transaction.getDescription(), transactionCopy.getDescription());
+        assertEquals(transaction.getBalanceAfter(), transactionCopy.getBalanceAfter());
+        assertEquals(transaction.getTimestamp(), transactionCopy.getTimestamp());
+    }
+
+    @Test
+    void roundTripsPostings() throws IOException {
+        PostingRequest request = PostingRequest.billPayment("acc-1", "Ethio Telecom", "B-77", 99.99);
+        PostingRequest requestCopy = (PostingRequest) roundTrip(request);
+        assertEquals(request.getKind(), requestCopy.getKind());
+        assertEquals(request.getAccountId(), requestCopy.getAccountId());
+        assertEquals(request.getAmount(), requestCopy.getAmount());
+        assertEquals(request.getBillerName(), requestCopy.getBillerName());
+        assertEquals(request.getBillId(), requestCopy.getBillId());
+        assertNull(requestCopy.getTargetAccountNumber());
+
+        PostingResult result = new PostingResult(PostingResult.Status.APPLIED, "tx-9", null);
+        PostingResult resultCopy = (PostingResult) roundTrip(result);
+        assertEquals(result.getStatus(), resultCopy.getStatus());
+        assertEquals(result.getTransactionId(), resultCopy.getTransactionId());
+        assertNull(resultCopy.getMessage());
+    }
+
+    @Test
+    void roundTripsRequests() throws Exception {
+        Method transfer = BankService.class.getMethod("transfer", String.class, String.class, double.class, String.class);
+        Object[] args = {"acc-1", "1000000000018", 12.5, "Rent"};
+        byte[] body = WireCodec.encodeRequest(WireCodec.methodIndex(transfer), args);
+
+        DataInputStream in = WireCodec.reader(body, 0, body.length);
+        assertEquals(transfer, WireCodec.method(in.readUnsignedShort()));
+        assertEquals(args.length, in.readUnsignedByte());
+        for (Object arg : args) {
+            assertEquals(arg, WireCodec.readValue(in));
+        }
+        assertEquals(0, in.available());
+    }
+
+    @Test
+    void passesAllowedSerializableValuesAndRefusesOthers() throws IOException {
+        ImportStatus status = new ImportStatus("job-1", ImportStatus.State.COMPLETED, 10, 9, 1, 250,
+                List.of("line 4: Invalid phone number"), "customers.csv.errors.csv", null);
+        ImportStatus copy = (ImportStatus) roundTrip(status);
+        assertEquals(status.getJobId(), copy.getJobId());
+        assertEquals(status.getState(), copy.getState());
+        assertEquals(status.getImported(), copy.getImported());
+        assertEquals(status.getErrors(), copy.getErrors());
+
+        assertThrows(IOException.class, () -> roundTrip(new File("/etc/passwd")));
+    }
+
+    @Test
+    void rejectsLengthsBeyondTheFrame() throws IOException {
+        byte[] list = encode(List.of("a", "b"));
+        // [tag][int size]...: claim more items than the frame could hold
+        list[1] = 0x7F;
+        list[2] = (byte) 0xFF;
+        list[3] = (byte) 0xFF;
+        list[4] = (byte) 0xFF;
+        assertThrows(IOException.class, () -> WireCodec.readValue(WireCodec.reader(list, 0, list.length)));
+
+        byte[] string = encode("abc");
+        // The string's bytes are cut off, so its length points past the end of the frame
+        assertThrows(IOException.class, () -> WireCodec.readValue(WireCodec.reader(string, 0, string.length - 1)));
+    }
+
+    private static byte[] encode(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        WireCodec.writeValue(new DataOutputStream(bytes), value);
+        return bytes.toByteArray();
+    }
+
+    private static Object roundTrip(Object value) throws IOException {
+        byte[] body = encode(value);
+        DataInputStream in = WireCodec.reader(body, 0, body.length);
+        Object copy = WireCodec.readValue(in);
+        assertEquals(0, in.available(), "bytes left after reading " + value);
+        return copy;
+    }
+}
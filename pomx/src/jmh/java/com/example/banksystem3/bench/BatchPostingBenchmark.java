@@ -0,0 +1,109 @@
+package com.example.banksystem3.bench;
+
+import com.example.banksystem3.server.admission.AdmissionControl;
+import com.example.banksystem3.server.auth.BankServiceImpl;
+import com.example.banksystem3.shared.Account;
+import com.example.banksystem3.shared.BankService;
+import com.example.banksystem3.shared.PostingRequest;
+import com.example.banksystem3.shared.PostingResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Postings per second through {@code postBatch} against one {@code deposit} call per posting,
+ * both over an RMI stub on loopback as a payroll run would see them.
+ *
+ * <p>{@code storage=disk} journals to a temporary data directory, so each single call waits for
+ * its own sync while a batch waits once; {@code storage=memory} leaves only the round trips.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchPostingBenchmark {
+    private static final int POSTINGS = 1000;
+
+    @Param({"memory", "disk"})
+    public String storage;
+
+    private Path dataDir;
+    private BankServiceImpl impl;
+    private BankService service;
+    private BankService stub;
+    private List<PostingRequest> payroll;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dataDir = storage.equals("disk") ? Files.createTempDirectory("bank-batch") : null;
+        impl = new BankServiceImpl(dataDir);
+        UnicastRemoteObject.unexportObject(impl, true);
+        service = AdmissionControl.wrap(impl);
+        stub = (BankService) UnicastRemoteObject.exportObject(service, 0);
+
+        List<Account> accounts = impl.getAllAccounts();
+        payroll = new ArrayList<>(POSTINGS);
+        for (int i = 0; i < POSTINGS; i++) {
+            payroll.add(PostingRequest.deposit(accounts.get(i % accounts.size()).getAccountId(), 1.0, "Payroll"));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        UnicastRemoteObject.unexportObject(service, true);
+        impl.shutdown();
+        if (dataDir != null) {
+            try (Stream<Path> files = Files.walk(dataDir)) {
+                for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POSTINGS)
+    public int singleCalls() throws Exception {
+        int applied = 0;
+        for (PostingRequest posting : payroll) {
+            if (stub.deposit(posting.getAccountId(), posting.getAmount(), posting.getDescription())) {
+                applied++;
+            }
+        }
+        return applied;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POSTINGS)
+    public int batch() throws Exception {
+        int applied = 0;
+        for (PostingResult result : stub.postBatch(payroll)) {
+            if (result.getStatus() == PostingResult.Status.APPLIED) {
+                applied++;
+            }
+        }
+        return applied;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.banksystem3.bench;
+
+import com.example.banksystem3.shared.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A 100k-transaction history as RMI ships it (an ArrayList through object streams), in the
+ * compact Externalizable form of {@link Transaction} against a default-Serializable copy of the
+ * class as it was before.
+ *
+ * <p>Time is measured per whole history; the encoded sizes are printed once by {@link #setUp()}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HistorySerializationBenchmark {
+    private static final int TRANSACTIONS = 100_000;
+    private static final String ACCOUNT_ID = "ACC1001";
+
+    // Transaction's fields before it was Externalizable, encoded by default serialization
+    static class SerializableTransaction implements Serializable {
+        private String transactionId;
+        private String accountId;
+        private Transaction.TransactionType type;
+        private double amount;
+        private Date timestamp;
+        private String description;
+        private double balanceAfter;
+    }
+
+    private final ArrayList<Transaction> history = new ArrayList<>(TRANSACTIONS);
+    private final ArrayList<SerializableTransaction> serializableHistory = new ArrayList<>(TRANSACTIONS);
+    private byte[] encoded;
+    private byte[] serializableEncoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        Transaction.TransactionType[] types = Transaction.TransactionType.values();
+        long balance = 0;
+        long time = 1_700_000_000_000L;
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            long amountMinor = 1 + random.nextInt(5_000_000);
+            balance += amountMinor;
+            time += random.nextInt(3_600_000);
+
+            Transaction transaction = new Transaction();
+            // Ids, account ids and descriptions are separate strings per posting, as on the server
+            transaction.setTransactionId(new UUID(random.nextLong(), random.nextLong()).toString());
+            transaction.setAccountId(new String(ACCOUNT_ID));
+            transaction.setType(types[random.nextInt(types.length)]);
+            transaction.setAmountMinor(amountMinor);
+            transaction.setBalanceAfterMinor(balance);
+            transaction.setTimestamp(new Date(time));
+            transaction.setDescription("Transfer to " + (1_000_000_000_000L + random.nextInt(1_000_000)));
+            history.add(transaction);
+
+            SerializableTransaction copy = new SerializableTransaction();
+            copy.transactionId = transaction.getTransactionId();
+            copy.accountId = transaction.getAccountId();
+            copy.type = transaction.getType();
+            copy.amount = transaction.getAmount();
+            copy.timestamp = transaction.getTimestamp();
+            copy.description = transaction.getDescription();
+            copy.balanceAfter = transaction.getBalanceAfter();
+            serializableHistory.add(copy);
+        }
+        encoded = write(history);
+        serializableEncoded = write(serializableHistory);
+        System.out.printf("%,d transactions: Externalizable %,d bytes, default Serializable %,d bytes%n",
+                TRANSACTIONS, encoded.length, serializableEncoded.length);
+    }
+
+    private static byte[] write(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 20);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object read(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        }
+    }
+
+    @Benchmark
+    public byte[] writeExternalizable() throws IOException {
+        return write(history);
+    }
+
+    @Benchmark
+    public byte[] writeSerializable() throws IOException {
+        return write(serializableHistory);
+    }
+
+    @Benchmark
+    public Object readExternalizable() throws Exception {
+        return read(encoded);
+    }
+
+    @Benchmark
+    public Object readSerializable() throws Exception {
+        return read(serializableEncoded);
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.banksystem3.bench;
+
+import com.example.banksystem3.shared.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Long santim ({@link Money}) against the double birr path it replaced: applying postings with a
+ * minimum-balance check, formatting an amount, and building a posting log line.
+ *
+ * <p>The double variants repeat what Account and BankServiceImpl did before: {@code balance +=
+ * amount} and {@code String.format("%.2f")}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+    private static final int AMOUNTS = 1024;
+    private static final double MINIMUM = 100.0;
+    private static final long MINIMUM_MINOR = Money.ofMajor(MINIMUM);
+
+    private final double[] amounts = new double[AMOUNTS];
+    private final long[] amountsMinor = new long[AMOUNTS];
+    private String accountNumber;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < AMOUNTS; i++) {
+            amountsMinor[i] = 1 + random.nextInt(5_000_000); // up to 50,000.00 ETB
+            amounts[i] = Money.toMajor(amountsMinor[i]);
+        }
+        accountNumber = "1000000000017";
+    }
+
+    // Alternating deposits and withdrawals, a withdrawal only when it keeps the minimum
+    @Benchmark
+    @OperationsPerInvocation(AMOUNTS)
+    public double postDouble() {
+        double balance = 1_000_000.0;
+        for (int i = 0; i < AMOUNTS; i++) {
+            double amount = amounts[i];
+            if ((i & 1) == 0) {
+                balance += amount;
+            } else if (balance - amount >= MINIMUM) {
+                balance -= amount;
+            }
+        }
+        return balance;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(AMOUNTS)
+    public long postLong() {
+        long balance = 100_000_000L;
+        for (int i = 0; i < AMOUNTS; i++) {
+            long amount = amountsMinor[i];
+            if ((i & 1) == 0) {
+                balance = Money.add(balance, amount);
+            } else if (balance - amount >= MINIMUM_MINOR) {
+                balance = Money.subtract(balance, amount);
+            }
+        }
+        return balance;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(AMOUNTS)
+    public int formatDouble() {
+        int length = 0;
+        for (int i = 0; i < AMOUNTS; i++) {
+            length += String.format("%.2f", amounts[i]).length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(AMOUNTS)
+    public int formatLong() {
+        int length = 0;
+        for (int i = 0; i < AMOUNTS; i++) {
+            length += Money.format(amountsMinor[i]).length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(AMOUNTS)
+    public int logLineDouble() {
+        int length = 0;
+        for (int i = 0; i < AMOUNTS; i++) {
+            length += String.format("Deposit: %.2f ETB to account %s", amounts[i], accountNumber).length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(AMOUNTS)
+    public int logLineLong() {
+        StringBuilder line = new StringBuilder(64);
+        int length = 0;
+        for (int i = 0; i < AMOUNTS; i++) {
+            line.setLength(0);
+            line.append("Deposit: ");
+            Money.appendTo(line, amountsMinor[i]).append(" ETB to account ").append(accountNumber);
+            length += line.length();
+        }
+        return length;
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.banksystem3.bench;
+
+import com.example.banksystem3.server.auth.BankServiceImpl;
+import com.example.banksystem3.shared.Account;
+import com.example.banksystem3.shared.Customer;
+import com.example.banksystem3.shared.PostingRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Server startup time with 1M accounts on disk: {@code new BankServiceImpl(dataDir)} loading the
+ * latest snapshot and replaying the journal tail written after it.
+ *
+ * <p>The data directory is built once per trial (accounts, a snapshot, then {@code tail} deposits
+ * journaled after it) and copied afresh before every invocation, since opening it and shutting
+ * down rewrites it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx8g"})
+public class StartupBenchmark {
+    private static final int SEED_THREADS = 32;
+    private static final int BATCH = 10_000;
+
+    @Param({"1000000"})
+    public int accounts;
+
+    @Param({"0", "100000"})
+    public int tail;
+
+    private Path source;
+    private Path work;
+    private BankServiceImpl opened;
+
+    @Setup(Level.Trial)
+    public void buildDataDir() throws Exception {
+        source = Files.createTempDirectory("bank-startup-source");
+        Path seed = Files.createTempDirectory("bank-startup-seed");
+        BankServiceImpl service = new BankServiceImpl(seed);
+        String customerId = service.generateCustomerId();
+        service.addCustomer(new Customer(customerId, "Benchmark Customer", "0911000000", "Addis Ababa", "1990-01-01"), null);
+
+        // Concurrent creates share journal syncs through group commit
+        ExecutorService pool = Executors.newFixedThreadPool(SEED_THREADS);
+        List<Future<?>> created = new ArrayList<>();
+        for (int t = 0; t < SEED_THREADS; t++) {
+            int first = t;
+            created.add(pool.submit(() -> {
+                for (int i = first; i < accounts; i += SEED_THREADS) {
+                    service.createAccount(new Account("BENCH" + i, customerId, service.generateAccountNumber(),
+                            Account.AccountType.WADIAH, 1_000.0, "2024-01-01"));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> result : created) {
+            result.get();
+        }
+        pool.shutdown();
+        service.takeSnapshot();
+
+        List<PostingRequest> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < tail; i++) {
+            batch.add(PostingRequest.deposit("BENCH" + (i % accounts), 1.0, "Benchmark deposit"));
+            if (batch.size() == BATCH || i == tail - 1) {
+                service.postBatch(batch);
+                batch.clear();
+            }
+        }
+
+        // Copied while open: shutting down would snapshot again and drop the tail
+        copy(seed, source);
+        service.shutdown();
+        UnicastRemoteObject.unexportObject(service, true);
+        delete(seed);
+    }
+
+    @Setup(Level.Invocation)
+    public void copyDataDir() throws IOException {
+        work = Files.createTempDirectory("bank-startup-work");
+        copy(source, work);
+    }
+
+    @Benchmark
+    public BankServiceImpl startup() throws Exception {
+        opened = new BankServiceImpl(work);
+        return opened;
+    }
+
+    @TearDown(Level.Invocation)
+    public void close() throws IOException {
+        opened.shutdown();
+        UnicastRemoteObject.unexportObject(opened, true);
+        delete(work);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteDataDir() throws IOException {
+        delete(source);
+    }
+
+    private static void copy(Path from, Path to) throws IOException {
+        try (Stream<Path> files = Files.walk(from)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Path target = to.resolve(from.relativize(file).toString());
+                if (Files.isDirectory(file)) {
+                    Files.createDirectories(target);
+                } else {
+                    Files.copy(file, target);
+                }
+            }
+        }
+    }
+
+    private static void delete(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.banksystem3.bench;
+
+import com.example.banksystem3.server.auth.BankServiceImpl;
+import com.example.banksystem3.shared.Account;
+import com.example.banksystem3.shared.Customer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.rmi.server.UnicastRemoteObject;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transfer latency as the number of accounts grows, on an in-memory {@link BankServiceImpl}.
+ *
+ * <p>{@code transfer} resolves the target through the account-number index and should stay flat
+ * across {@code accounts}; {@code scanByNumber} repeats the stream over every account that
+ * getAccountByNumber did before the index, for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class TransferLatencyBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int accounts;
+
+    private BankServiceImpl service;
+    private String[] accountIds;
+    private String[] accountNumbers;
+    private final Map<String, Account> byId = new ConcurrentHashMap<>();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        service = new BankServiceImpl();
+        String customerId = service.generateCustomerId();
+        service.addCustomer(new Customer(customerId, "Benchmark Customer", "0911000000", "Addis Ababa", "1990-01-01"), null);
+
+        accountIds = new String[accounts];
+        accountNumbers = new String[accounts];
+        for (int i = 0; i < accounts; i++) {
+            Account account = new Account("BENCH" + i, customerId, service.generateAccountNumber(),
+                    Account.AccountType.WADIAH, 1_000_000.0, "2024-01-01");
+            service.createAccount(account);
+            accountIds[i] = account.getAccountId();
+            accountNumbers[i] = account.getAccountNumber();
+            byId.put(account.getAccountId(), account);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        service.shutdown();
+        UnicastRemoteObject.unexportObject(service, true);
+    }
+
+    @Benchmark
+    public boolean transfer() throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(accounts);
+        int to = random.nextInt(accounts);
+        return service.transfer(accountIds[from], accountNumbers[to], 1.0, "Benchmark transfer");
+    }
+
+    @Benchmark
+    public Optional<Account> scanByNumber() {
+        String number = accountNumbers[ThreadLocalRandom.current().nextInt(accounts)];
+        return byId.values().stream()
+                .filter(account -> number.equals(account.getAccountNumber()))
+                .findFirst();
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.banksystem3.bench;
+
+import com.example.banksystem3.client.rmi.NioBankClient;
+import com.example.banksystem3.server.admission.AdmissionControl;
+import com.example.banksystem3.server.auth.BankServiceImpl;
+import com.example.banksystem3.server.transport.NioBankServer;
+import com.example.banksystem3.shared.Account;
+import com.example.banksystem3.shared.BankService;
+import com.example.banksystem3.shared.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.Closeable;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RMI against the NIO transport over loopback, with 16 client threads sharing one connection
+ * (NIO) or one stub (RMI), as the client's {@code bank.transport} switch would pick them.
+ *
+ * <p>The server side mirrors ServerMain: an in-memory {@link BankServiceImpl} behind
+ * {@link AdmissionControl}, exported once over RMI and once through {@link NioBankServer}.
+ * {@code balance} is a small call; {@code recentTransactions} returns a list of 50 transactions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(16)
+public class TransportBenchmark {
+
+    @Param({"rmi", "nio"})
+    public String transport;
+
+    private BankServiceImpl impl;
+    private BankService exported;
+    private NioBankServer nioServer;
+    private BankService client;
+    private String[] accountIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        impl = new BankServiceImpl();
+        UnicastRemoteObject.unexportObject(impl, true);
+        BankService service = AdmissionControl.wrap(impl);
+
+        List<Account> accounts = impl.getAllAccounts();
+        accountIds = new String[accounts.size()];
+        for (int i = 0; i < accountIds.length; i++) {
+            accountIds[i] = accounts.get(i).getAccountId();
+            // Enough history for recentTransactions to return full lists
+            for (int j = 0; j < 50; j++) {
+                impl.deposit(accountIds[i], 10.0, "Benchmark deposit");
+            }
+        }
+
+        if (transport.equals("nio")) {
+            nioServer = new NioBankServer(service, 0, 32);
+            nioServer.start();
+            client = NioBankClient.connect("localhost", nioServer.getPort());
+        } else {
+            exported = service;
+            client = (BankService) UnicastRemoteObject.exportObject(service, 0);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (client instanceof Closeable) {
+            ((Closeable) client).close();
+        }
+        if (nioServer != null) {
+            nioServer.close();
+        }
+        if (exported != null) {
+            UnicastRemoteObject.unexportObject(exported, true);
+        }
+        impl.shutdown();
+    }
+
+    private String anyAccount() {
+        return accountIds[ThreadLocalRandom.current().nextInt(accountIds.length)];
+    }
+
+    @Benchmark
+    public double balance() throws Exception {
+        return client.getBalance(anyAccount());
+    }
+
+    @Benchmark
+    public List<Transaction> recentTransactions() throws Exception {
+        return client.getRecentTransactions(anyAccount(), 50);
+    }
+}